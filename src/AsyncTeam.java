@@ -0,0 +1,231 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Runs the operations of a TeamModel asynchronously. All changes of the team run one after
+ * another on a dedicated executor, in the order they were submitted, so writes never wait for
+ * a lock held by another writer. Reads run concurrently on a shared executor; Team serves them
+ * from its current immutable version of the roster, so they are not blocked by the writes.
+ */
+public class AsyncTeam implements AsyncTeamModel, AutoCloseable {
+  private final TeamModel model;
+  private final ExecutorService writeExecutor;
+  private final Executor readExecutor;
+  private final boolean ownsWriteExecutor;
+
+  /**
+   * Constructs a new AsyncTeam with its own writer thread, reading on the common pool.
+   *
+   * @param model The team to run the operations on.
+   */
+  public AsyncTeam(TeamModel model) {
+    this(model, Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "team-writer");
+      thread.setDaemon(true);
+      return thread;
+    }), ForkJoinPool.commonPool(), true);
+  }
+
+  /**
+   * Constructs a new AsyncTeam with the given executors.
+   *
+   * @param model         The team to run the operations on.
+   * @param writeExecutor The executor for the changes, which must run one task at a time.
+   * @param readExecutor  The executor for the reads.
+   */
+  public AsyncTeam(TeamModel model, ExecutorService writeExecutor, Executor readExecutor) {
+    this(model, writeExecutor, readExecutor, false);
+  }
+
+  private AsyncTeam(TeamModel model, ExecutorService writeExecutor, Executor readExecutor,
+      boolean ownsWriteExecutor) {
+    this.model = model;
+    this.writeExecutor = writeExecutor;
+    this.readExecutor = readExecutor;
+    this.ownsWriteExecutor = ownsWriteExecutor;
+  }
+
+  @Override
+  public CompletableFuture<Void> addPlayer(String firstName, String lastName, int year, int month,
+      int day, String preferredPosition, int skilledLevel) {
+    return write(() -> {
+      model.addPlayer(firstName, lastName, year, month, day, preferredPosition, skilledLevel);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<String> removePlayer(int jerseyNumber) {
+    return write(() -> model.removePlayer(jerseyNumber));
+  }
+
+  @Override
+  public CompletableFuture<PlayerInterface> getPlayerByJerseyNumber(int jerseyNumber) {
+    return read(() -> model.getPlayerByJerseyNumber(jerseyNumber));
+  }
+
+  @Override
+  public CompletableFuture<Integer> getTeamSize() {
+    return read(model::getTeamSize);
+  }
+
+  @Override
+  public CompletableFuture<String> getAllPlayersInTheTeam() {
+    return read(model::getAllPlayersInTheTeam);
+  }
+
+  @Override
+  public CompletableFuture<LineupAssignment> computeStartingLineup() {
+    return read(model::computeStartingLineup);
+  }
+
+  @Override
+  public CompletableFuture<String> getStartingLineupList() {
+    return read(model::getStartingLineupList);
+  }
+
+  @Override
+  public CompletableFuture<String> getBenchPlayers() {
+    return read(model::getBenchPlayers);
+  }
+
+  /**
+   * Gets the team the operations run on.
+   *
+   * @return The blocking team model.
+   */
+  public TeamModel getModel() {
+    return model;
+  }
+
+  /**
+   * Stops the writer thread if it was created by this AsyncTeam. Changes that have
+   * already been submitted are still carried out.
+   */
+  @Override
+  public void close() {
+    if (ownsWriteExecutor) {
+      writeExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Submits a change of the team to the writer.
+   */
+  private <T> CompletableFuture<T> write(Supplier<T> operation) {
+    return CompletableFuture.supplyAsync(operation, writeExecutor);
+  }
+
+  /**
+   * Submits a read of the team to the readers.
+   */
+  private <T> CompletableFuture<T> read(Supplier<T> operation) {
+    return CompletableFuture.supplyAsync(operation, readExecutor);
+  }
+
+  /**
+   * Runs the same calls through the blocking team, with a thread per caller, and through an
+   * AsyncTeam, with a chain of futures per caller, and prints the throughput of both. Of every
+   * ten calls of a caller, eight look up a player, one lists the starting lineup and one removes
+   * a player who is not in the team, a change that goes through the writer.
+   *
+   * @param args The number of concurrent callers, 10000 by default, and the number of calls
+   *             of every caller, 20 by default.
+   * @throws InterruptedException If interrupted while waiting for the callers.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int callers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int calls = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    Clock clock = Clock.systemDefaultZone();
+    int birthYear = LocalDate.now(clock).getYear() - 7;
+    String[] positions = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+    TeamModel team = new Team(clock);
+    for (int p = 0; p < 15; p++) {
+      team.addPlayer("Player" + p, "Team", birthYear, 1 + p % 12, 1 + p,
+          positions[p % positions.length], 1 + p % 5);
+    }
+    int[] jerseyNumbers = team.getPlayers().keySet().stream().mapToInt(Integer::intValue)
+        .toArray();
+
+    try (AsyncTeam asyncTeam = new AsyncTeam(team)) {
+      for (int round = 0; round < 2; round++) { // the first round warms up the JIT
+        Thread[] threads = new Thread[callers];
+        CountDownLatch go = new CountDownLatch(1);
+        for (int c = 0; c < callers; c++) {
+          int caller = c;
+          threads[c] = new Thread(() -> {
+            try {
+              go.await();
+            } catch (InterruptedException e) {
+              return;
+            }
+            for (int i = 0; i < calls; i++) {
+              int call = caller + i;
+              if (call % 10 == 8) {
+                team.getStartingLineupList();
+              } else if (call % 10 == 9) {
+                team.removePlayer(0);
+              } else {
+                team.getPlayerByJerseyNumber(jerseyNumbers[call % jerseyNumbers.length]);
+              }
+            }
+          }, "caller-" + c);
+          threads[c].start();
+        }
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread thread : threads) {
+          thread.join();
+        }
+        report(round, "Blocking, a thread per caller", callers * (long) calls,
+            System.nanoTime() - start);
+
+        start = System.nanoTime();
+        CompletableFuture<?>[] chains = new CompletableFuture<?>[callers];
+        for (int c = 0; c < callers; c++) {
+          chains[c] = chain(asyncTeam, jerseyNumbers, c, calls);
+        }
+        CompletableFuture.allOf(chains).join();
+        report(round, "AsyncTeam, a chain of futures per caller", callers * (long) calls,
+            System.nanoTime() - start);
+      }
+    }
+  }
+
+  /**
+   * Makes the remaining calls of a caller one after another, each once the previous one
+   * has completed.
+   *
+   * @return A future that completes after the last call.
+   */
+  private static CompletableFuture<?> chain(AsyncTeamModel team, int[] jerseyNumbers, int call,
+      int remaining) {
+    CompletableFuture<?> result;
+    if (call % 10 == 8) {
+      result = team.getStartingLineupList();
+    } else if (call % 10 == 9) {
+      result = team.removePlayer(0);
+    } else {
+      result = team.getPlayerByJerseyNumber(jerseyNumbers[call % jerseyNumbers.length]);
+    }
+    return remaining == 1 ? result
+        : result.thenCompose(ignored -> chain(team, jerseyNumbers, call + 1, remaining - 1));
+  }
+
+  /**
+   * Prints the throughput of a mode, skipping the warm-up round.
+   */
+  private static void report(int round, String mode, long calls, long elapsed) {
+    if (round > 0) {
+      System.out.println(String.format("%s: %,d calls in %,d ms, %,.0f calls/s", mode, calls,
+          elapsed / 1_000_000, calls / (elapsed / 1e9)));
+    }
+  }
+}
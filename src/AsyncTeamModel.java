@@ -0,0 +1,75 @@
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The asynchronous counterpart of TeamModel. Every operation returns immediately with a future
+ * that completes once the operation has run, so callers do not block a thread while waiting.
+ * Errors such as an invalid player complete the future exceptionally, with the exception
+ * the blocking TeamModel would have thrown as the cause.
+ */
+public interface AsyncTeamModel {
+  /**
+   * Adds a new player to the team.
+   *
+   * @param firstName          The first name of the player.
+   * @param lastName           The last name of the player.
+   * @param year               The birth year of the player.
+   * @param month              The birth month of the player.
+   * @param day                The birthday of the player.
+   * @param preferredPosition  The preferred position of the player.
+   * @param skilledLevel       The skill level of the player.
+   * @return A future that completes when the player has been added.
+   */
+  CompletableFuture<Void> addPlayer(String firstName, String lastName, int year, int month,
+      int day, String preferredPosition, int skilledLevel);
+
+  /**
+   * Removes a player from the team based on the jersey number.
+   *
+   * @param jerseyNumber The jersey number of the player to be removed.
+   * @return A future of the message describing the result of the removal.
+   */
+  CompletableFuture<String> removePlayer(int jerseyNumber);
+
+  /**
+   * Retrieves a player from the team based on the jersey number.
+   *
+   * @param jerseyNumber The jersey number of the player to retrieve.
+   * @return A future of the player, or of null if not found.
+   */
+  CompletableFuture<PlayerInterface> getPlayerByJerseyNumber(int jerseyNumber);
+
+  /**
+   * Gets the current size of the team.
+   *
+   * @return A future of the number of players in the team.
+   */
+  CompletableFuture<Integer> getTeamSize();
+
+  /**
+   * Retrieves a formatted list of all players in the team.
+   *
+   * @return A future of the formatted list.
+   */
+  CompletableFuture<String> getAllPlayersInTheTeam();
+
+  /**
+   * Computes the starting lineup of the team without changing any player.
+   *
+   * @return A future of the lineup.
+   */
+  CompletableFuture<LineupAssignment> computeStartingLineup();
+
+  /**
+   * Retrieves a formatted list of players in the starting lineup.
+   *
+   * @return A future of the formatted list.
+   */
+  CompletableFuture<String> getStartingLineupList();
+
+  /**
+   * Retrieves a formatted list of players on the bench.
+   *
+   * @return A future of the formatted list.
+   */
+  CompletableFuture<String> getBenchPlayers();
+}
@@ -0,0 +1,154 @@
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the availability of the players of a team for every date of a season.
+ * The availability of each player is stored as a compact bitset with one bit per day of
+ * the season, where a set bit means the player is not available on that day.
+ * Players are available on every day unless they are marked otherwise.
+ * For lineup generation the calendar is turned into masks of available jersey numbers,
+ * bit j of a mask belongs to jersey number j, so candidates can be filtered with bitwise operations.
+ */
+public class AvailabilityCalendar {
+  private final LocalDate firstDate;
+  private final int days;
+  private final Map<Integer, BitSet> unavailableDays; // jersey number -> days the player is missing
+
+  /**
+   * Constructs a new AvailabilityCalendar for the season between the given dates.
+   *
+   * @param firstDate The first date of the season.
+   * @param lastDate  The last date of the season, inclusive.
+   * @throws IllegalArgumentException If the last date is before the first date.
+   */
+  public AvailabilityCalendar(LocalDate firstDate, LocalDate lastDate) {
+    if (lastDate.isBefore(firstDate)) {
+      throw new IllegalArgumentException("The season must end after it starts.");
+    }
+    this.firstDate = firstDate;
+    this.days = (int) ChronoUnit.DAYS.between(firstDate, lastDate) + 1;
+    this.unavailableDays = new HashMap<>();
+  }
+
+  /**
+   * Sets whether a player is available on a given date.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param date         The date within the season.
+   * @param available    True if the player is available on that date.
+   * @throws IllegalArgumentException If the date is outside the season,
+   *                                  or the jersey number cannot be represented in a mask.
+   */
+  public void setAvailable(int jerseyNumber, LocalDate date, boolean available) {
+    if (jerseyNumber < 0 || jerseyNumber >= Long.SIZE) {
+      throw new IllegalArgumentException("Invalid jersey number: " + jerseyNumber);
+    }
+    int day = toDay(date);
+    if (available) {
+      BitSet missing = unavailableDays.get(jerseyNumber);
+      if (missing != null) {
+        missing.clear(day);
+      }
+    } else {
+      unavailableDays.computeIfAbsent(jerseyNumber, k -> new BitSet(days)).set(day);
+    }
+  }
+
+  /**
+   * Checks whether a player is available on a given date.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param date         The date within the season.
+   * @return True if the player is available on that date.
+   */
+  public boolean isAvailable(int jerseyNumber, LocalDate date) {
+    BitSet missing = unavailableDays.get(jerseyNumber);
+    return missing == null || !missing.get(toDay(date));
+  }
+
+  /**
+   * Removes all availability information of a player, for example
+   * when the player leaves the team and the jersey number is given to someone else.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   */
+  public void clear(int jerseyNumber) {
+    unavailableDays.remove(jerseyNumber);
+  }
+
+  /**
+   * Gets the mask of the players from the given roster that are available on a date.
+   *
+   * @param rosterMask The mask of the jersey numbers in the team.
+   * @param date       The date within the season.
+   * @return The mask of the available jersey numbers.
+   */
+  public long availableMask(long rosterMask, LocalDate date) {
+    int day = toDay(date);
+    long missing = 0L;
+    for (Map.Entry<Integer, BitSet> entry : unavailableDays.entrySet()) {
+      if (entry.getValue().get(day)) {
+        missing |= 1L << entry.getKey();
+      }
+    }
+    return rosterMask & ~missing;
+  }
+
+  /**
+   * Gets the masks of the available players for every day of the season in a single pass
+   * over the set bits of all players.
+   *
+   * @param rosterMask The mask of the jersey numbers in the team.
+   * @return The mask of the available jersey numbers, indexed by day of the season.
+   */
+  public long[] availableMasks(long rosterMask) {
+    long[] missing = new long[days];
+    for (Map.Entry<Integer, BitSet> entry : unavailableDays.entrySet()) {
+      long jerseyBit = 1L << entry.getKey();
+      BitSet bits = entry.getValue();
+      for (int day = bits.nextSetBit(0); day >= 0; day = bits.nextSetBit(day + 1)) {
+        missing[day] |= jerseyBit;
+      }
+    }
+    for (int day = 0; day < days; day++) {
+      missing[day] = rosterMask & ~missing[day];
+    }
+    return missing;
+  }
+
+  /**
+   * Gets the first date of the season.
+   *
+   * @return The first date of the season.
+   */
+  public LocalDate getFirstDate() {
+    return firstDate;
+  }
+
+  /**
+   * Gets the number of days in the season.
+   *
+   * @return The number of days in the season.
+   */
+  public int getDays() {
+    return days;
+  }
+
+  /**
+   * Converts a date to its day index within the season.
+   *
+   * @param date The date to convert.
+   * @return The day index, starting at 0 for the first date.
+   * @throws IllegalArgumentException If the date is outside the season.
+   */
+  private int toDay(LocalDate date) {
+    long day = ChronoUnit.DAYS.between(firstDate, date);
+    if (day < 0 || day >= days) {
+      throw new IllegalArgumentException("The date " + date + " is outside the season.");
+    }
+    return (int) day;
+  }
+}
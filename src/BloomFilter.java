@@ -0,0 +1,62 @@
+/**
+ * A Bloom filter over 64-bit fingerprints. It answers whether a fingerprint may have been
+ * added before: a negative answer is always correct, a positive answer must be confirmed.
+ */
+public class BloomFilter {
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  /**
+   * Constructs a Bloom filter sized for the expected number of fingerprints
+   * and the accepted rate of false positives.
+   *
+   * @param expectedInsertions    The number of fingerprints expected to be added.
+   * @param falsePositiveRate The accepted probability of a false positive, between 0 and 1.
+   * @throws IllegalArgumentException If an argument is out of range.
+   */
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("Invalid Bloom filter parameters.");
+    }
+    // optimal size m = -n ln p / (ln 2)^2 and number of hashes k = m / n ln 2
+    long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+        / (Math.log(2) * Math.log(2)));
+    int words = (int) Math.max(1, (m + Long.SIZE - 1) / Long.SIZE);
+    bits = new long[words];
+    bitCount = (long) words * Long.SIZE;
+    hashCount = Math.max(1, (int) Math.round((double) m / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Adds a fingerprint to the filter.
+   *
+   * @param fingerprint The fingerprint.
+   */
+  public void put(long fingerprint) {
+    int h1 = (int) fingerprint;
+    int h2 = (int) (fingerprint >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  /**
+   * Checks whether a fingerprint may have been added to the filter.
+   *
+   * @param fingerprint The fingerprint.
+   * @return False if the fingerprint has certainly not been added.
+   */
+  public boolean mightContain(long fingerprint) {
+    int h1 = (int) fingerprint;
+    int h2 = (int) (fingerprint >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
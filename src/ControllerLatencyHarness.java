@@ -0,0 +1,149 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures the latency of the commands of SwingTeamController without a display. The controller
+ * is driven through a HeadlessTeamView, which fires the commands of the buttons and answers the
+ * requests for user input, so the measured time is the time of the controller and the model.
+ *
+ * <p>For every roster size, a team is filled with that many players and a cycle of commands is
+ * repeated: open the add page, submit a new player, undo the addition, open and refresh the
+ * remove page, open the team page, generate the starting lineup and go back. Undoing the addition
+ * keeps the roster at the same size. The distribution of the latency of every command is printed.
+ */
+public class ControllerLatencyHarness {
+  private static final String[] CYCLE = {"Add New Player", "Submit", "Undo", "Remove Player",
+      "Refresh Remove Page", "View Team Details", "Generate Starting Line Up", "Go Back"};
+  private static final String[] POSITIONS = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+
+  private final Clock clock;
+  private final int warmupCycles;
+  private final int measuredCycles;
+
+  /**
+   * Constructs a new ControllerLatencyHarness.
+   *
+   * @param clock          The clock of the teams, which decides the eligible birth years.
+   * @param warmupCycles   The number of cycles run before measuring, to warm up the JIT.
+   * @param measuredCycles The number of cycles measured.
+   * @throws IllegalArgumentException If a number of cycles is negative, or none is measured.
+   */
+  public ControllerLatencyHarness(Clock clock, int warmupCycles, int measuredCycles) {
+    if (warmupCycles < 0 || measuredCycles <= 0) {
+      throw new IllegalArgumentException("The number of measured cycles must be positive.");
+    }
+    this.clock = clock;
+    this.warmupCycles = warmupCycles;
+    this.measuredCycles = measuredCycles;
+  }
+
+  /**
+   * Measures the commands on a team with the given number of players.
+   *
+   * @param rosterSize The number of players, at most the maximum team size of U10.
+   * @return The latencies in nanoseconds of every command, sorted, by command in cycle order.
+   * @throws IllegalArgumentException If the roster size is negative or too large.
+   */
+  public Map<String, long[]> measure(int rosterSize) {
+    if (rosterSize < 0 || rosterSize > DivisionRules.U10.getMaxTeamSize()) {
+      throw new IllegalArgumentException("Invalid roster size: " + rosterSize);
+    }
+    int birthYear = LocalDate.now(clock).getYear() - 7;
+    TeamModel team = new Team(clock);
+    for (int i = 0; i < rosterSize; i++) {
+      // skill levels up to 4, so the submitted player with skill 5 always joins a full team
+      team.addPlayer("Player" + i, "Roster", birthYear, 1 + i % 12, 1 + i % 28,
+          POSITIONS[i % POSITIONS.length], 1 + i % 4);
+    }
+    HeadlessTeamView view = new HeadlessTeamView();
+    view.setRecording(false);
+    new SwingTeamController(team, view).start();
+
+    for (int i = 0; i < warmupCycles; i++) {
+      runCycle(view, birthYear, null, 0);
+    }
+    long[][] latencies = new long[CYCLE.length][measuredCycles];
+    for (int i = 0; i < measuredCycles; i++) {
+      runCycle(view, birthYear, latencies, i);
+    }
+    if (team.getTeamSize() != rosterSize) {
+      throw new IllegalStateException("The roster size changed during the measurement.");
+    }
+
+    Map<String, long[]> result = new LinkedHashMap<>();
+    for (int c = 0; c < CYCLE.length; c++) {
+      Arrays.sort(latencies[c]);
+      result.put(CYCLE[c], latencies[c]);
+    }
+    return result;
+  }
+
+  /**
+   * Fires one cycle of commands.
+   *
+   * @param latencies Where the latency of every command is stored, or null to not store it.
+   * @param index     The index of the cycle in the latencies.
+   */
+  private static void runCycle(HeadlessTeamView view, int birthYear, long[][] latencies,
+      int index) {
+    for (int c = 0; c < CYCLE.length; c++) {
+      if (CYCLE[c].equals("Submit")) {
+        view.enterPlayerInfo("Harness", "Newcomer", Integer.toString(birthYear), "6", "15",
+            "Forward", "5");
+      }
+      long start = System.nanoTime();
+      view.fire(CYCLE[c]);
+      long elapsed = System.nanoTime() - start;
+      if (latencies != null) {
+        latencies[c][index] = elapsed;
+      }
+    }
+  }
+
+  /**
+   * Gets a percentile of sorted latencies.
+   *
+   * @param sorted     The latencies in ascending order.
+   * @param percentile The percentile, from 0 to 100.
+   * @return The latency below which the given percentage of the latencies lie.
+   */
+  static long percentile(long[] sorted, double percentile) {
+    int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  /**
+   * Measures the commands at several roster sizes and prints the latency distributions
+   * in microseconds.
+   *
+   * @param args The number of measured cycles, 5000 by default, followed by the roster sizes,
+   *             0 5 10 15 20 by default.
+   */
+  public static void main(String[] args) {
+    int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+    int[] rosterSizes = {0, 5, 10, 15, 20};
+    if (args.length > 1) {
+      rosterSizes = new int[args.length - 1];
+      for (int i = 1; i < args.length; i++) {
+        rosterSizes[i - 1] = Integer.parseInt(args[i]);
+      }
+    }
+    ControllerLatencyHarness harness =
+        new ControllerLatencyHarness(Clock.systemDefaultZone(), cycles, cycles);
+    for (int rosterSize : rosterSizes) {
+      System.out.println("Roster size " + rosterSize + " (microseconds):");
+      System.out.println(String.format("  %-27s %8s %8s %8s %8s %8s",
+          "command", "p50", "p90", "p99", "p99.9", "max"));
+      for (Map.Entry<String, long[]> entry : harness.measure(rosterSize).entrySet()) {
+        long[] sorted = entry.getValue();
+        System.out.println(String.format("  %-27s %8.1f %8.1f %8.1f %8.1f %8.1f",
+            entry.getKey(), percentile(sorted, 50) / 1e3, percentile(sorted, 90) / 1e3,
+            percentile(sorted, 99) / 1e3, percentile(sorted, 99.9) / 1e3,
+            sorted[sorted.length - 1] / 1e3));
+      }
+    }
+  }
+}
@@ -0,0 +1,249 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Represents the rules of an age division, such as U8, U10 or U12.
+ * The rules are compiled into plain thresholds and a formation array when the division is
+ * created, so validating a player or a team only compares primitive values, without any
+ * map lookups per call.
+ */
+public final class DivisionRules {
+  /**
+   * The rules for players under eight years of age, playing 5 against 5.
+   */
+  public static final DivisionRules U8 = new DivisionRules("U8", 8, 6, 12, 1, 5,
+      1, 1, 2, 1);
+
+  /**
+   * The rules for players under ten years of age, playing 7 against 7.
+   */
+  public static final DivisionRules U10 = new DivisionRules("U10", 10, 10, 20, 1, 5,
+      1, 2, 3, 1);
+
+  /**
+   * The rules for players under twelve years of age, playing 9 against 9.
+   */
+  public static final DivisionRules U12 = new DivisionRules("U12", 12, 12, 22, 1, 5,
+      1, 3, 3, 2);
+
+  private final String name;
+  private final int maxAge; // players must be younger than this age
+  private final int minTeamSize;
+  private final int maxTeamSize;
+  private final int minSkilledLevel;
+  private final int maxSkilledLevel;
+  private final int[] formation; // number of players per position, indexed by Position.ordinal()
+  private final int lineupSize;
+
+  /**
+   * Constructs the rules of a division.
+   *
+   * @param name            The name of the division.
+   * @param maxAge          The age from which players are too old for the division.
+   * @param minTeamSize     The minimum number of players in a valid team.
+   * @param maxTeamSize     The maximum number of players in a team.
+   * @param minSkilledLevel The lowest skill level.
+   * @param maxSkilledLevel The highest skill level.
+   * @param goalies         The number of goalies in the starting lineup.
+   * @param defenders       The number of defenders in the starting lineup.
+   * @param midfielders     The number of midfielders in the starting lineup.
+   * @param forwards        The number of forwards in the starting lineup.
+   * @throws IllegalArgumentException If the bounds are inconsistent, or the team cannot
+   *                                  hold a starting lineup.
+   */
+  public DivisionRules(String name, int maxAge, int minTeamSize, int maxTeamSize,
+      int minSkilledLevel, int maxSkilledLevel, int goalies, int defenders, int midfielders,
+      int forwards) {
+    if (maxAge <= 1 || minSkilledLevel > maxSkilledLevel || minTeamSize > maxTeamSize) {
+      throw new IllegalArgumentException("Invalid rules for division " + name + ".");
+    }
+    if (goalies < 0 || defenders < 0 || midfielders < 0 || forwards < 0) {
+      throw new IllegalArgumentException("Invalid formation for division " + name + ".");
+    }
+    // jersey numbers run from 1 to the maximum team size and are stored in 64-bit masks
+    if (maxTeamSize >= Long.SIZE) {
+      throw new IllegalArgumentException("A team can have at most " + (Long.SIZE - 1)
+          + " players.");
+    }
+
+    this.name = name;
+    this.maxAge = maxAge;
+    this.minTeamSize = minTeamSize;
+    this.maxTeamSize = maxTeamSize;
+    this.minSkilledLevel = minSkilledLevel;
+    this.maxSkilledLevel = maxSkilledLevel;
+
+    formation = new int[Position.values().length];
+    formation[Position.GOALIE.ordinal()] = goalies;
+    formation[Position.DEFENDER.ordinal()] = defenders;
+    formation[Position.MIDFIELDER.ordinal()] = midfielders;
+    formation[Position.FORWARD.ordinal()] = forwards;
+    lineupSize = goalies + defenders + midfielders + forwards;
+
+    if (lineupSize > minTeamSize) {
+      throw new IllegalArgumentException("A valid team of division " + name
+          + " must be able to fill the starting lineup.");
+    }
+  }
+
+  /**
+   * Checks whether a player of the given age may play in the division.
+   *
+   * @param age The age of the player in years.
+   * @return True if the player is at least one year old and younger than the maximum age.
+   */
+  public boolean isEligibleAge(int age) {
+    return age > 0 && age < maxAge;
+  }
+
+  /**
+   * Checks whether the given skill level is on the skill scale of the division.
+   *
+   * @param skilledLevel The skill level of a player.
+   * @return True if the skill level is within the bounds of the division.
+   */
+  public boolean isValidSkilledLevel(int skilledLevel) {
+    return skilledLevel >= minSkilledLevel && skilledLevel <= maxSkilledLevel;
+  }
+
+  /**
+   * Gets the number of players of the given position in the starting lineup.
+   *
+   * @param position The position.
+   * @return The number of players of that position, 0 for Position.BENCH.
+   */
+  public int getPlayersAt(Position position) {
+    return formation[position.ordinal()];
+  }
+
+  /**
+   * Gets the name of the division.
+   *
+   * @return The name of the division.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the age from which players are too old for the division.
+   *
+   * @return The maximum age, exclusive.
+   */
+  public int getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Gets the minimum number of players in a valid team.
+   *
+   * @return The minimum team size.
+   */
+  public int getMinTeamSize() {
+    return minTeamSize;
+  }
+
+  /**
+   * Gets the maximum number of players in a team.
+   *
+   * @return The maximum team size.
+   */
+  public int getMaxTeamSize() {
+    return maxTeamSize;
+  }
+
+  /**
+   * Gets the lowest skill level of the division.
+   *
+   * @return The lowest skill level.
+   */
+  public int getMinSkilledLevel() {
+    return minSkilledLevel;
+  }
+
+  /**
+   * Gets the highest skill level of the division.
+   *
+   * @return The highest skill level.
+   */
+  public int getMaxSkilledLevel() {
+    return maxSkilledLevel;
+  }
+
+  /**
+   * Gets the number of players in the starting lineup.
+   *
+   * @return The size of the starting lineup.
+   */
+  public int getLineupSize() {
+    return lineupSize;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * Measures the validation throughput of registrations spread over U8, U10 and U12.
+   * About a third of the registrations are invalid, by age or by skill level. The checks of the
+   * rules are measured alone and as part of the construction of the players, which also builds
+   * the date of birth and throws for the invalid registrations.
+   *
+   * @param args The number of registrations, 1000000 by default.
+   */
+  public static void main(String[] args) {
+    int registrations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    Clock clock = Clock.systemDefaultZone();
+    int year = LocalDate.now(clock).getYear();
+    DivisionRules[] divisions = {U8, U10, U12};
+    Position[] positions = {Position.GOALIE, Position.DEFENDER, Position.MIDFIELDER,
+        Position.FORWARD};
+    SplittableRandom random = new SplittableRandom(42);
+    DivisionRules[] rules = new DivisionRules[registrations];
+    int[] ages = new int[registrations];
+    int[] skilledLevels = new int[registrations];
+    for (int i = 0; i < registrations; i++) {
+      rules[i] = divisions[random.nextInt(divisions.length)];
+      // ages up to the maximum age and skill levels one step outside the scale are invalid
+      ages[i] = 1 + random.nextInt(rules[i].getMaxAge());
+      skilledLevels[i] = rules[i].getMinSkilledLevel() - 1 + random.nextInt(
+          rules[i].getMaxSkilledLevel() - rules[i].getMinSkilledLevel() + 3);
+    }
+
+    for (int round = 0; round < 2; round++) { // the first round warms up the JIT
+      long start = System.nanoTime();
+      int valid = 0;
+      for (int i = 0; i < registrations; i++) {
+        if (rules[i].isEligibleAge(ages[i]) && rules[i].isValidSkilledLevel(skilledLevels[i])) {
+          valid++;
+        }
+      }
+      long checked = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int registered = 0;
+      for (int i = 0; i < registrations; i++) {
+        try {
+          // born on the first of January, so the age is the same all year
+          new Player("Player", "Registration", year - ages[i], 1, 1, positions[i & 3],
+              skilledLevels[i], clock, rules[i]);
+          registered++;
+        } catch (IllegalArgumentException e) {
+          // counted as rejected
+        }
+      }
+      long constructed = System.nanoTime() - start;
+
+      if (round > 0) {
+        System.out.println(String.format("Rules alone: %,d registrations, %,d valid, in %,d ms,"
+            + " %,.0f registrations/s", registrations, valid, checked / 1_000_000,
+            registrations / (checked / 1e9)));
+        System.out.println(String.format("Players: %,d registrations, %,d valid, in %,d ms,"
+            + " %,.0f registrations/s", registrations, registered, constructed / 1_000_000,
+            registrations / (constructed / 1e9)));
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+import java.time.LocalDate;
+
+/**
+ * Detects duplicate registrations during a bulk import, such as the same child registered
+ * twice across the teams of a league. Only the 64-bit identity fingerprint and the row number
+ * of the first registration are kept per child, not the full records.
+ * A Bloom filter answers most lookups of new children without touching the confirmation table.
+ * Fingerprints are 64 bits wide, so two different children are practically never confused.
+ */
+public class DuplicateDetector {
+  private static final long EMPTY = 0L; // fingerprint 0 is remapped, so 0 marks a free slot
+
+  private final BloomFilter filter;
+  // open addressing table: fingerprint -> row number of the first registration
+  private long[] fingerprints;
+  private long[] rows;
+  private int size;
+
+  /**
+   * Constructs a new DuplicateDetector for the expected number of registrations.
+   *
+   * @param expectedRegistrations The number of registrations expected in the import.
+   */
+  public DuplicateDetector(long expectedRegistrations) {
+    filter = new BloomFilter(Math.max(1, expectedRegistrations), 0.01);
+    int capacity = Integer.highestOneBit((int) Math.min(1 << 29,
+        Math.max(16, expectedRegistrations * 2)) - 1) << 1;
+    fingerprints = new long[capacity];
+    rows = new long[capacity];
+  }
+
+  /**
+   * Registers a child, or detects that the same child has already been registered.
+   * Callers reject the row or merge it into the first registration.
+   *
+   * @param firstName   The first name.
+   * @param lastName    The last name.
+   * @param dateOfBirth The date of birth.
+   * @param row         The row number of the registration in the import.
+   * @return -1 if the child is new, otherwise the row number of the first registration.
+   */
+  public long register(String firstName, String lastName, LocalDate dateOfBirth, long row) {
+    long fingerprint = PlayerIdentity.fingerprint(firstName, lastName, dateOfBirth);
+    if (fingerprint == EMPTY) {
+      fingerprint = 1L;
+    }
+
+    if (filter.mightContain(fingerprint)) {
+      long firstRow = find(fingerprint);
+      if (firstRow >= 0) {
+        return firstRow;
+      }
+    }
+
+    filter.put(fingerprint);
+    insert(fingerprint, row);
+    return -1;
+  }
+
+  /**
+   * Gets the number of distinct children registered so far.
+   *
+   * @return The number of distinct registrations.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Looks up the row of the first registration with the fingerprint.
+   *
+   * @return The row number, or -1 if the fingerprint is not in the table.
+   */
+  private long find(long fingerprint) {
+    int mask = fingerprints.length - 1;
+    for (int slot = (int) fingerprint & mask; fingerprints[slot] != EMPTY;
+        slot = (slot + 1) & mask) {
+      if (fingerprints[slot] == fingerprint) {
+        return rows[slot];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Inserts a new fingerprint into the table, growing it when it is half full.
+   */
+  private void insert(long fingerprint, long row) {
+    if (size * 2 >= fingerprints.length) {
+      grow();
+    }
+    int mask = fingerprints.length - 1;
+    int slot = (int) fingerprint & mask;
+    while (fingerprints[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    fingerprints[slot] = fingerprint;
+    rows[slot] = row;
+    size++;
+  }
+
+  /**
+   * Doubles the table and re-inserts all fingerprints.
+   */
+  private void grow() {
+    long[] oldFingerprints = fingerprints;
+    long[] oldRows = rows;
+    fingerprints = new long[oldFingerprints.length * 2];
+    rows = new long[oldRows.length * 2];
+    size = 0;
+    for (int i = 0; i < oldFingerprints.length; i++) {
+      if (oldFingerprints[i] != EMPTY) {
+        insert(oldFingerprints[i], oldRows[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/**
+ * Represents two registrations that probably belong to the same child, with a similarity score.
+ */
+public final class DuplicateMatch {
+  private final long firstId;
+  private final long secondId;
+  private final double score;
+
+  /**
+   * Constructs a new DuplicateMatch.
+   *
+   * @param firstId  The id of the earlier registration.
+   * @param secondId The id of the later registration.
+   * @param score    The similarity of the names, from 0 to 1, where 1 means identical.
+   */
+  public DuplicateMatch(long firstId, long secondId, double score) {
+    this.firstId = firstId;
+    this.secondId = secondId;
+    this.score = score;
+  }
+
+  /**
+   * Gets the id of the earlier registration.
+   *
+   * @return The id of the earlier registration.
+   */
+  public long getFirstId() {
+    return firstId;
+  }
+
+  /**
+   * Gets the id of the later registration.
+   *
+   * @return The id of the later registration.
+   */
+  public long getSecondId() {
+    return secondId;
+  }
+
+  /**
+   * Gets the similarity of the names.
+   *
+   * @return The score, from 0 to 1, where 1 means identical.
+   */
+  public double getScore() {
+    return score;
+  }
+
+  @Override
+  public String toString() {
+    return firstId + " ~ " + secondId + " (" + String.format("%.2f", score) + ")";
+  }
+}
@@ -0,0 +1,212 @@
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fixtures of a season of one division, as computed by FixtureScheduler.
+ * The fixtures are stored in primitive arrays, ordered by match day and then by venue,
+ * so a season of millions of fixtures stays compact. A fixture is addressed by its index.
+ */
+public class FixtureSchedule {
+  private final List<String> teams;
+  private final int venueCapacity;
+  private final int[] homeTeams; // indexes into teams
+  private final int[] awayTeams;
+  private final int[] days; // indexes into dates
+  private final int[] venues;
+  private final LocalDate[] dates;
+
+  /**
+   * Constructs a new FixtureSchedule. The arrays are taken over, not copied.
+   *
+   * @param teams         The names of the teams.
+   * @param venueCapacity The number of fixtures the venues of the division can host on one day.
+   * @param homeTeams     The index of the home team of every fixture.
+   * @param awayTeams     The index of the away team of every fixture.
+   * @param days          The index of the match day of every fixture.
+   * @param venues        The venue of every fixture, from 0 to venueCapacity - 1.
+   * @param dates         The date of every match day.
+   */
+  FixtureSchedule(List<String> teams, int venueCapacity, int[] homeTeams, int[] awayTeams,
+      int[] days, int[] venues, LocalDate[] dates) {
+    this.teams = Collections.unmodifiableList(teams);
+    this.venueCapacity = venueCapacity;
+    this.homeTeams = homeTeams;
+    this.awayTeams = awayTeams;
+    this.days = days;
+    this.venues = venues;
+    this.dates = dates;
+  }
+
+  /**
+   * Gets the teams of the division.
+   *
+   * @return The names of the teams.
+   */
+  public List<String> getTeams() {
+    return teams;
+  }
+
+  /**
+   * Gets the number of fixtures.
+   *
+   * @return The number of fixtures.
+   */
+  public int size() {
+    return homeTeams.length;
+  }
+
+  /**
+   * Gets the home team of a fixture.
+   *
+   * @param fixture The index of the fixture.
+   * @return The name of the home team.
+   */
+  public String getHomeTeam(int fixture) {
+    return teams.get(homeTeams[fixture]);
+  }
+
+  /**
+   * Gets the away team of a fixture.
+   *
+   * @param fixture The index of the fixture.
+   * @return The name of the away team.
+   */
+  public String getAwayTeam(int fixture) {
+    return teams.get(awayTeams[fixture]);
+  }
+
+  /**
+   * Gets the date of a fixture.
+   *
+   * @param fixture The index of the fixture.
+   * @return The date.
+   */
+  public LocalDate getDate(int fixture) {
+    return dates[days[fixture]];
+  }
+
+  /**
+   * Gets the venue of a fixture.
+   *
+   * @param fixture The index of the fixture.
+   * @return The venue, from 0 to the venue capacity - 1.
+   */
+  public int getVenue(int fixture) {
+    return venues[fixture];
+  }
+
+  /**
+   * Gets the number of match days of the season.
+   *
+   * @return The number of match days.
+   */
+  public int getNumberOfMatchDays() {
+    return dates.length;
+  }
+
+  /**
+   * Gets the last match day of the season.
+   *
+   * @return The date of the last fixture, or null if there are no fixtures.
+   */
+  public LocalDate getLastDate() {
+    return dates.length == 0 ? null : dates[dates.length - 1];
+  }
+
+  /**
+   * Counts the breaks of the season: two consecutive fixtures of a team that are both at home
+   * or both away. Fewer breaks mean a more regular alternation of home and away fixtures.
+   *
+   * @return The number of breaks of all teams.
+   */
+  public int getBreaks() {
+    // the fixtures are ordered by day, so the last fixture seen of a team is its previous one
+    int[] lastWasHome = new int[teams.size()];
+    Arrays.fill(lastWasHome, -1);
+    int breaks = 0;
+    for (int i = 0; i < homeTeams.length; i++) {
+      if (lastWasHome[homeTeams[i]] == 1) {
+        breaks++;
+      }
+      if (lastWasHome[awayTeams[i]] == 0) {
+        breaks++;
+      }
+      lastWasHome[homeTeams[i]] = 1;
+      lastWasHome[awayTeams[i]] = 0;
+    }
+    return breaks;
+  }
+
+  /**
+   * Checks all constraints of the season: every two teams meet exactly once, no team plays
+   * twice on a day, no day has more fixtures than the venues can host, no venue hosts two
+   * fixtures on a day, and the home and away fixtures of every team differ by at most one.
+   *
+   * @throws IllegalStateException If a constraint is violated.
+   */
+  public void validate() {
+    int n = teams.size();
+    BitSet pairs = new BitSet();
+    int[] homeGames = new int[n];
+    int[] games = new int[n];
+    int[] lastDay = new int[n];
+    Arrays.fill(lastDay, -1);
+    int dayStart = 0; // the first fixture of the current day
+    BitSet usedVenues = new BitSet(venueCapacity);
+
+    for (int i = 0; i < homeTeams.length; i++) {
+      int home = homeTeams[i];
+      int away = awayTeams[i];
+      if (home == away) {
+        throw new IllegalStateException(getHomeTeam(i) + " plays against itself.");
+      }
+      int pair = Math.min(home, away) * n + Math.max(home, away);
+      if (pairs.get(pair)) {
+        throw new IllegalStateException(getHomeTeam(i) + " and " + getAwayTeam(i)
+            + " meet more than once.");
+      }
+      pairs.set(pair);
+
+      if (i > 0 && days[i] < days[i - 1]) {
+        throw new IllegalStateException("The fixtures are not ordered by day.");
+      }
+      if (i == 0 || days[i] != days[i - 1]) {
+        dayStart = i;
+        usedVenues.clear();
+      }
+      if (i - dayStart >= venueCapacity) {
+        throw new IllegalStateException("More fixtures than the venues can host on "
+            + getDate(i) + ".");
+      }
+      if (venues[i] < 0 || venues[i] >= venueCapacity || usedVenues.get(venues[i])) {
+        throw new IllegalStateException("Venue " + venues[i] + " is double booked on "
+            + getDate(i) + ".");
+      }
+      usedVenues.set(venues[i]);
+
+      if (lastDay[home] == days[i] || lastDay[away] == days[i]) {
+        throw new IllegalStateException(teams.get(lastDay[home] == days[i] ? home : away)
+            + " plays twice on " + getDate(i) + ".");
+      }
+      lastDay[home] = days[i];
+      lastDay[away] = days[i];
+      games[home]++;
+      games[away]++;
+      homeGames[home]++;
+    }
+
+    for (int team = 0; team < n; team++) {
+      if (games[team] != n - 1) {
+        throw new IllegalStateException(teams.get(team) + " plays " + games[team]
+            + " fixtures instead of " + (n - 1) + ".");
+      }
+      if (Math.abs(2 * homeGames[team] - games[team]) > 1) {
+        throw new IllegalStateException(teams.get(team) + " has " + homeGames[team]
+            + " home fixtures out of " + games[team] + ".");
+      }
+    }
+  }
+}
@@ -0,0 +1,411 @@
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Schedules a single round-robin season for every division of a league: every two teams of a
+ * division meet once. The schedule respects the capacity of the venues of the division, which
+ * can only host a given number of fixtures per match day, never lets a team play twice on a
+ * day, and balances the home and away fixtures of every team.
+ *
+ * <p>The schedule is built in three steps, all on primitive arrays:
+ * <ol>
+ *   <li>The circle method pairs the teams into rounds, with the canonical home and away pattern
+ *       that alternates home and away fixtures as much as possible.</li>
+ *   <li>The fixtures are packed round by round into the earliest match day that has a free venue
+ *       and comes after the previous fixtures of both teams.</li>
+ *   <li>A local search shortens the season by moving the fixtures of the last match day into
+ *       earlier days with free venues, and then flips home and away of single fixtures while
+ *       that reduces the breaks in the alternation of home and away fixtures.</li>
+ * </ol>
+ * Divisions are independent of each other, so they are scheduled in parallel.
+ */
+public class FixtureScheduler {
+  private static final int MAX_FLIP_PASSES = 20;
+  // an extra home or away fixture costs more than any number of breaks it could avoid
+  private static final int IMBALANCE_WEIGHT = 1 << 20;
+
+  private final LocalDate firstDay;
+  private final Set<DayOfWeek> matchDays;
+  private final int venueCapacity;
+
+  /**
+   * Constructs a new FixtureScheduler.
+   *
+   * @param firstDay      The first day of the season.
+   * @param matchDays     The days of the week on which fixtures are played.
+   * @param venueCapacity The number of fixtures the venues of a division can host on one day.
+   * @throws IllegalArgumentException If there are no match days or the capacity is not positive.
+   */
+  public FixtureScheduler(LocalDate firstDay, Set<DayOfWeek> matchDays, int venueCapacity) {
+    if (matchDays.isEmpty() || venueCapacity <= 0) {
+      throw new IllegalArgumentException("There must be match days and a positive capacity.");
+    }
+    this.firstDay = firstDay;
+    this.matchDays = EnumSet.copyOf(matchDays);
+    this.venueCapacity = venueCapacity;
+  }
+
+  /**
+   * Schedules a season for every division of the league, in parallel.
+   *
+   * @param league The league.
+   * @return The schedule of every division, in the order of the divisions in the league.
+   */
+  public Map<DivisionRules, FixtureSchedule> schedule(League league) {
+    Map<DivisionRules, List<String>> divisions = league.getTeamsByDivision();
+    List<DivisionRules> keys = new ArrayList<>(divisions.keySet());
+    List<FixtureSchedule> schedules = keys.parallelStream()
+        .map(division -> schedule(divisions.get(division)))
+        .collect(Collectors.toList());
+
+    Map<DivisionRules, FixtureSchedule> result = new LinkedHashMap<>();
+    for (int i = 0; i < keys.size(); i++) {
+      result.put(keys.get(i), schedules.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Schedules a season for the teams of one division.
+   *
+   * @param teams The names of the teams.
+   * @return The schedule.
+   * @throws IllegalArgumentException If a team is listed twice.
+   */
+  public FixtureSchedule schedule(List<String> teams) {
+    if (teams.stream().distinct().count() != teams.size()) {
+      throw new IllegalArgumentException("A team is listed twice.");
+    }
+    int n = teams.size();
+    int fixtures = n * (n - 1) / 2;
+    int[] home = new int[fixtures];
+    int[] away = new int[fixtures];
+    pairRounds(n, home, away);
+
+    int[] day = new int[fixtures];
+    int[] load = packDays(n, home, away, day);
+    int days = shortenSeason(n, home, away, day, load);
+    reduceBreaks(n, home, away, day, days);
+    return order(teams, home, away, day, days);
+  }
+
+  /**
+   * Pairs the teams with the circle method: one team stays in place while the others rotate,
+   * so every round pairs every team once. With an odd number of teams, a missing team stands in
+   * place and its opponent of the round rests. The fixtures are stored round by round.
+   */
+  private static void pairRounds(int n, int[] home, int[] away) {
+    int size = n % 2 == 0 ? n : n + 1; // the team numbered n is missing
+    int rotating = size - 1;
+    int fixture = 0;
+    for (int round = 0; round < rotating; round++) {
+      // the fixed team alternates between home and away from round to round
+      if (rotating < n) {
+        fixture = add(home, away, fixture, round % 2 == 0 ? rotating : round,
+            round % 2 == 0 ? round : rotating);
+      }
+      for (int k = 1; k < size / 2; k++) {
+        int a = (round + k) % rotating;
+        int b = (round - k + rotating) % rotating;
+        fixture = k % 2 == 1 ? add(home, away, fixture, a, b) : add(home, away, fixture, b, a);
+      }
+    }
+  }
+
+  private static int add(int[] home, int[] away, int fixture, int homeTeam, int awayTeam) {
+    home[fixture] = homeTeam;
+    away[fixture] = awayTeam;
+    return fixture + 1;
+  }
+
+  /**
+   * Packs the fixtures, in round order, into the earliest match day after the previous fixtures
+   * of both teams that still has a free venue.
+   *
+   * @param day Receives the match day of every fixture.
+   * @return The number of fixtures on every match day, with room for more days at the end.
+   */
+  private int[] packDays(int n, int[] home, int[] away, int[] day) {
+    int[] lastDay = new int[n];
+    Arrays.fill(lastDay, -1);
+    int[] load = new int[Math.max(16, n)];
+    int firstOpen = 0; // every day before it is full
+    for (int f = 0; f < home.length; f++) {
+      int d = Math.max(firstOpen, Math.max(lastDay[home[f]], lastDay[away[f]]) + 1);
+      while (d < load.length && load[d] == venueCapacity) {
+        d++;
+      }
+      if (d >= load.length) {
+        load = Arrays.copyOf(load, Math.max(d + 1, load.length * 2));
+      }
+      day[f] = d;
+      load[d]++;
+      lastDay[home[f]] = d;
+      lastDay[away[f]] = d;
+      while (firstOpen < load.length && load[firstOpen] == venueCapacity) {
+        firstOpen++;
+      }
+    }
+    return load;
+  }
+
+  /**
+   * Shortens the season by moving all fixtures of the last match day into earlier days
+   * with a free venue where neither team plays, as long as the last day can be emptied.
+   *
+   * @return The number of match days.
+   */
+  private int shortenSeason(int n, int[] home, int[] away, int[] day, int[] load) {
+    int days = 0;
+    for (int f = 0; f < day.length; f++) {
+      days = Math.max(days, day[f] + 1);
+    }
+    if (days == 0) {
+      return 0;
+    }
+
+    BitSet[] teamDays = new BitSet[n]; // the days on which every team plays
+    for (int t = 0; t < n; t++) {
+      teamDays[t] = new BitSet(days);
+    }
+    BitSet open = new BitSet(days); // the days with a free venue
+    int[] start = new int[days + 1]; // the fixtures of every day, bucketed by day
+    for (int f = 0; f < day.length; f++) {
+      teamDays[home[f]].set(day[f]);
+      teamDays[away[f]].set(day[f]);
+      start[day[f] + 1]++;
+    }
+    for (int d = 0; d < days; d++) {
+      start[d + 1] += start[d];
+      if (load[d] < venueCapacity) {
+        open.set(d);
+      }
+    }
+    int[] byDay = new int[day.length];
+    int[] next = Arrays.copyOf(start, days);
+    for (int f = 0; f < day.length; f++) {
+      byDay[next[day[f]]++] = f;
+    }
+
+    int[] target = new int[venueCapacity];
+    while (days > 1) {
+      int last = days - 1;
+      int count = start[last + 1] - start[last];
+      int moved = 0;
+      for (; moved < count; moved++) {
+        int f = byDay[start[last] + moved];
+        int d = open.nextSetBit(0);
+        while (d >= 0 && d < last
+            && (teamDays[home[f]].get(d) || teamDays[away[f]].get(d))) {
+          d = open.nextSetBit(d + 1);
+        }
+        if (d < 0 || d >= last) {
+          break;
+        }
+        target[moved] = d;
+        book(teamDays, open, load, home[f], away[f], d, 1);
+      }
+      if (moved < count) {
+        // the last day cannot be emptied, the tentative moves are undone
+        for (int i = 0; i < moved; i++) {
+          int f = byDay[start[last] + i];
+          book(teamDays, open, load, home[f], away[f], target[i], -1);
+        }
+        break;
+      }
+      for (int i = 0; i < count; i++) {
+        day[byDay[start[last] + i]] = target[i];
+      }
+      days--;
+    }
+    return days;
+  }
+
+  /**
+   * Books or releases a fixture on a day.
+   *
+   * @param delta 1 to book, -1 to release.
+   */
+  private void book(BitSet[] teamDays, BitSet open, int[] load, int homeTeam, int awayTeam,
+      int d, int delta) {
+    teamDays[homeTeam].set(d, delta > 0);
+    teamDays[awayTeam].set(d, delta > 0);
+    load[d] += delta;
+    open.set(d, load[d] < venueCapacity);
+  }
+
+  /**
+   * Flips home and away of single fixtures while that reduces the breaks of both teams,
+   * without letting the home and away fixtures of a team differ by more than one.
+   */
+  private static void reduceBreaks(int n, int[] home, int[] away, int[] day, int days) {
+    // the fixtures of every team in the order of the days
+    int[] start = new int[n + 1];
+    for (int f = 0; f < home.length; f++) {
+      start[home[f] + 1]++;
+      start[away[f] + 1]++;
+    }
+    for (int t = 0; t < n; t++) {
+      start[t + 1] += start[t];
+    }
+    int[] sequence = new int[2 * home.length];
+    int[] homeIndex = new int[home.length]; // the position of a fixture in its sequences
+    int[] awayIndex = new int[home.length];
+    int[] next = Arrays.copyOf(start, n);
+    for (int f : orderByDay(day, days)) {
+      homeIndex[f] = next[home[f]]++;
+      sequence[homeIndex[f]] = f;
+      awayIndex[f] = next[away[f]]++;
+      sequence[awayIndex[f]] = f;
+    }
+    int[] homeGames = new int[n];
+    for (int f = 0; f < home.length; f++) {
+      homeGames[home[f]]++;
+    }
+
+    for (int pass = 0; pass < MAX_FLIP_PASSES; pass++) {
+      boolean improved = false;
+      for (int f = 0; f < home.length; f++) {
+        int h = home[f];
+        int a = away[f];
+        int delta = flipBreaks(h, f, homeIndex[f], start, sequence, home)
+            + flipBreaks(a, f, awayIndex[f], start, sequence, home)
+            + IMBALANCE_WEIGHT * (imbalance(homeGames[h] - 1, start[h + 1] - start[h])
+                - imbalance(homeGames[h], start[h + 1] - start[h])
+                + imbalance(homeGames[a] + 1, start[a + 1] - start[a])
+                - imbalance(homeGames[a], start[a + 1] - start[a]));
+        if (delta < 0) {
+          home[f] = a;
+          away[f] = h;
+          int index = homeIndex[f];
+          homeIndex[f] = awayIndex[f];
+          awayIndex[f] = index;
+          homeGames[h]--;
+          homeGames[a]++;
+          improved = true;
+        }
+      }
+      if (!improved) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Computes the change in the breaks of a team if one of its fixtures is flipped.
+   *
+   * @param index The position of the fixture in the sequence of the team.
+   */
+  private static int flipBreaks(int team, int f, int index, int[] start, int[] sequence,
+      int[] home) {
+    boolean atHome = home[f] == team;
+    int delta = 0;
+    if (index > start[team]) {
+      delta += (home[sequence[index - 1]] == team) == atHome ? -1 : 1;
+    }
+    if (index + 1 < start[team + 1]) {
+      delta += (home[sequence[index + 1]] == team) == atHome ? -1 : 1;
+    }
+    return delta;
+  }
+
+  /**
+   * Gets by how much the home and away fixtures of a team differ beyond one.
+   */
+  private static int imbalance(int homeGames, int games) {
+    return Math.max(0, Math.abs(2 * homeGames - games) - 1);
+  }
+
+  /**
+   * Sorts the fixtures by day with a counting sort, keeping the order within a day.
+   */
+  private static int[] orderByDay(int[] day, int days) {
+    int[] start = new int[days + 1];
+    for (int d : day) {
+      start[d + 1]++;
+    }
+    for (int d = 0; d < days; d++) {
+      start[d + 1] += start[d];
+    }
+    int[] order = new int[day.length];
+    for (int f = 0; f < day.length; f++) {
+      order[start[day[f]]++] = f;
+    }
+    return order;
+  }
+
+  /**
+   * Orders the fixtures by day, assigns the venues and the dates, and builds the schedule.
+   */
+  private FixtureSchedule order(List<String> teams, int[] home, int[] away, int[] day,
+      int days) {
+    int[] order = orderByDay(day, days);
+    int[] sortedHome = new int[order.length];
+    int[] sortedAway = new int[order.length];
+    int[] sortedDay = new int[order.length];
+    int[] venues = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedHome[i] = home[order[i]];
+      sortedAway[i] = away[order[i]];
+      sortedDay[i] = day[order[i]];
+      venues[i] = i > 0 && sortedDay[i] == sortedDay[i - 1] ? venues[i - 1] + 1 : 0;
+    }
+
+    LocalDate[] dates = new LocalDate[days];
+    LocalDate date = firstDay;
+    for (int d = 0; d < days; d++) {
+      while (!matchDays.contains(date.getDayOfWeek())) {
+        date = date.plusDays(1);
+      }
+      dates[d] = date;
+      date = date.plusDays(1);
+    }
+    return new FixtureSchedule(new ArrayList<>(teams), venueCapacity, sortedHome, sortedAway,
+        sortedDay, venues, dates);
+  }
+
+  /**
+   * Schedules and validates seasons of large leagues and prints the time they take.
+   *
+   * @param args The number of teams, 2000 by default, and the venue capacity of a division,
+   *             64 by default.
+   */
+  public static void main(String[] args) {
+    int teams = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+    FixtureScheduler scheduler = new FixtureScheduler(LocalDate.of(2024, 1, 1),
+        EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), capacity);
+    Clock clock = Clock.systemDefaultZone();
+
+    DivisionRules[] divisionRules = {DivisionRules.U8, DivisionRules.U10, DivisionRules.U12};
+    for (int divisions : new int[] {1, divisionRules.length}) {
+      League league = new League();
+      for (int i = 0; i < teams; i++) {
+        league.registerTeam("Team " + i, new Team(divisionRules[i % divisions], clock));
+      }
+      long start = System.nanoTime();
+      Map<DivisionRules, FixtureSchedule> season = scheduler.schedule(league);
+      long elapsed = System.nanoTime() - start;
+      for (Map.Entry<DivisionRules, FixtureSchedule> entry : season.entrySet()) {
+        FixtureSchedule schedule = entry.getValue();
+        schedule.validate();
+        System.out.println(entry.getKey().getName() + ": " + schedule.getTeams().size()
+            + " teams, " + schedule.size() + " fixtures on " + schedule.getNumberOfMatchDays()
+            + " match days until " + schedule.getLastDate() + ", "
+            + schedule.getBreaks() + " breaks");
+      }
+      System.out.println(teams + " teams in " + divisions + " divisions scheduled in "
+          + elapsed / 1_000_000 + " ms.");
+    }
+  }
+}
@@ -0,0 +1,175 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds probable duplicate registrations whose names differ slightly, such as
+ * "Kelvin Taylor" and "Kelvn Taylor" with the same date of birth.
+ * Registrations are grouped into blocks by date of birth and the Soundex code of the last name,
+ * so only registrations within the same small block are compared by edit distance.
+ * The work grows with the number of registrations times the block size instead of quadratically.
+ */
+public class FuzzyDuplicateMatcher {
+  private static final char[] SOUNDEX_CODES = "01230120022455012623010202".toCharArray();
+
+  private final double threshold;
+  private final Map<String, List<Registration>> blocks;
+
+  /**
+   * A registration inside a block, with its normalized full name.
+   */
+  private static final class Registration {
+    private final long id;
+    private final String name;
+
+    private Registration(long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  /**
+   * Constructs a new FuzzyDuplicateMatcher.
+   *
+   * @param threshold The lowest similarity score, from 0 to 1, reported as a probable duplicate.
+   * @throws IllegalArgumentException If the threshold is not between 0 and 1.
+   */
+  public FuzzyDuplicateMatcher(double threshold) {
+    if (threshold < 0 || threshold > 1) {
+      throw new IllegalArgumentException("The threshold must be between 0 and 1.");
+    }
+    this.threshold = threshold;
+    this.blocks = new HashMap<>();
+  }
+
+  /**
+   * Adds a registration.
+   *
+   * @param id          The id of the registration, for example the row in the import.
+   * @param firstName   The first name.
+   * @param lastName    The last name.
+   * @param dateOfBirth The date of birth.
+   */
+  public void add(long id, String firstName, String lastName, LocalDate dateOfBirth) {
+    String normalizedLastName = PlayerIdentity.normalizeName(lastName);
+    String blockKey = dateOfBirth + "|" + soundex(normalizedLastName);
+    String name = PlayerIdentity.normalizeName(firstName) + " " + normalizedLastName;
+    blocks.computeIfAbsent(blockKey, key -> new ArrayList<>()).add(new Registration(id, name));
+  }
+
+  /**
+   * Adds all players of the league as registrations. The id of a player is
+   * the position of the player in the iteration over the teams and their players.
+   *
+   * @param league The league.
+   * @return The players in the order of their ids.
+   */
+  public List<PlayerRecord> addAll(League league) {
+    List<PlayerRecord> records = new ArrayList<>();
+    for (Map.Entry<String, TeamModel> team : league.getTeams().entrySet()) {
+      for (Map.Entry<Integer, PlayerInterface> entry : team.getValue().getPlayers().entrySet()) {
+        PlayerInterface player = entry.getValue();
+        add(records.size(), player.getFirstName(), player.getLastName(),
+            LocalDate.parse(player.getDateOfBirth()));
+        records.add(new PlayerRecord(team.getKey(), entry.getKey(), player));
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Compares the registrations within every block and reports the probable duplicates.
+   *
+   * @return The pairs with a score at or above the threshold, best score first.
+   */
+  public List<DuplicateMatch> findDuplicates() {
+    List<DuplicateMatch> matches = new ArrayList<>();
+    for (List<Registration> block : blocks.values()) {
+      for (int i = 0; i < block.size(); i++) {
+        for (int j = i + 1; j < block.size(); j++) {
+          Registration first = block.get(i);
+          Registration second = block.get(j);
+          double score = similarity(first.name, second.name);
+          if (score >= threshold) {
+            matches.add(new DuplicateMatch(first.id, second.id, score));
+          }
+        }
+      }
+    }
+    matches.sort(Comparator.comparingDouble(DuplicateMatch::getScore).reversed()
+        .thenComparingLong(DuplicateMatch::getFirstId));
+    return matches;
+  }
+
+  /**
+   * Computes the similarity of two names from their edit distance.
+   *
+   * @return 1 for identical names, down to 0 for completely different names.
+   */
+  private double similarity(String a, String b) {
+    int longest = Math.max(a.length(), b.length());
+    if (longest == 0) {
+      return 1.0;
+    }
+    // names too far apart in length cannot reach the threshold, so they are not compared
+    int maxDistance = (int) Math.floor((1 - threshold) * longest);
+    if (Math.abs(a.length() - b.length()) > maxDistance) {
+      return 0.0;
+    }
+    return 1.0 - (double) editDistance(a, b) / longest;
+  }
+
+  /**
+   * Computes the Levenshtein distance of two strings with two rows of the table.
+   */
+  static int editDistance(String a, String b) {
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      for (int j = 1; j <= b.length(); j++) {
+        int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return previous[b.length()];
+  }
+
+  /**
+   * Computes the four character Soundex code of a normalized name,
+   * so that names which sound alike end up in the same block.
+   */
+  static String soundex(String name) {
+    StringBuilder code = new StringBuilder(4);
+    char lastDigit = 0;
+    for (int i = 0; i < name.length() && code.length() < 4; i++) {
+      char c = name.charAt(i);
+      if (c < 'a' || c > 'z') {
+        continue;
+      }
+      char digit = SOUNDEX_CODES[c - 'a'];
+      if (code.length() == 0) {
+        code.append(Character.toUpperCase(c));
+      } else if (digit != '0' && digit != lastDigit) {
+        code.append(digit);
+      }
+      // h and w do not separate letters with the same code, vowels do
+      if (c != 'h' && c != 'w') {
+        lastDigit = digit;
+      }
+    }
+    while (code.length() < 4) {
+      code.append('0');
+    }
+    return code.toString();
+  }
+}
@@ -0,0 +1,253 @@
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A ViewInterface without a display, for driving a controller from tests and benchmarks.
+ * It records the calls it receives, answers the requests for user input from scripted inputs,
+ * and fires the commands of buttons at the action listener of the controller.
+ * It does not create any AWT or Swing component, so it works without a display.
+ */
+public class HeadlessTeamView implements ViewInterface {
+  private final List<String> calls = new ArrayList<>();
+  private final Deque<List<String>> scriptedPlayerInfo = new ArrayDeque<>();
+  private final Deque<String> scriptedJerseyNumbers = new ArrayDeque<>();
+  private boolean recording = true;
+  private ActionListener listener;
+  private Function<String, Map<Integer, String>> nameSearchHandler;
+  private String currentPage = "start";
+  private String currentPlayers = "";
+  private String startingLineup = "";
+  private String playersOnBench = "";
+  private int teamSize;
+  private String lastMessage;
+
+  /**
+   * Queues the player information returned by the next call of getPlayerInfo,
+   * as if the user had filled in the fields of the add page.
+   *
+   * @param firstName    The first name.
+   * @param lastName     The last name.
+   * @param year         The year of birth.
+   * @param month        The month of birth.
+   * @param day          The day of birth.
+   * @param position     The preferred position.
+   * @param skilledLevel The skill level.
+   */
+  public void enterPlayerInfo(String firstName, String lastName, String year, String month,
+      String day, String position, String skilledLevel) {
+    List<String> info = new ArrayList<>();
+    Collections.addAll(info, firstName, lastName, year, month, day, position, skilledLevel);
+    scriptedPlayerInfo.addLast(info);
+  }
+
+  /**
+   * Queues the text returned by the next call of getJerseyNumberFromUserInput,
+   * as if the user had typed it in the field of the remove page.
+   *
+   * @param jerseyNumber The typed text.
+   */
+  public void enterJerseyNumber(String jerseyNumber) {
+    scriptedJerseyNumbers.addLast(jerseyNumber);
+  }
+
+  /**
+   * Fires a command at the action listener, as if the button with that label had been clicked.
+   *
+   * @param command The label of the button, such as "Submit".
+   * @throws IllegalStateException If no action listener has been set.
+   */
+  public void fire(String command) {
+    if (listener == null) {
+      throw new IllegalStateException("No action listener has been set.");
+    }
+    listener.actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, command));
+  }
+
+  /**
+   * Sets whether calls are recorded. Benchmarks turn recording off so that the list of calls
+   * does not grow over millions of commands.
+   *
+   * @param recording True to record the calls.
+   */
+  public void setRecording(boolean recording) {
+    this.recording = recording;
+  }
+
+  /**
+   * Gets the calls received so far, such as "switchToAddPage(3)" or
+   * "showFailureMessage(There is nothing to undo.)", in order.
+   *
+   * @return An unmodifiable view of the calls.
+   */
+  public List<String> getCalls() {
+    return Collections.unmodifiableList(calls);
+  }
+
+  /**
+   * Forgets the calls received so far.
+   */
+  public void clearCalls() {
+    calls.clear();
+  }
+
+  /**
+   * Gets the page shown last: "start", "add", "remove" or "team".
+   *
+   * @return The name of the page.
+   */
+  public String getCurrentPage() {
+    return currentPage;
+  }
+
+  /**
+   * Gets the current players shown last on a page.
+   *
+   * @return The formatted players.
+   */
+  public String getCurrentPlayers() {
+    return currentPlayers;
+  }
+
+  /**
+   * Gets the starting lineup shown last on the team page.
+   *
+   * @return The formatted starting lineup.
+   */
+  public String getStartingLineup() {
+    return startingLineup;
+  }
+
+  /**
+   * Gets the players on the bench shown last on the team page.
+   *
+   * @return The formatted players on the bench.
+   */
+  public String getPlayersOnBench() {
+    return playersOnBench;
+  }
+
+  /**
+   * Gets the team size shown last on a page.
+   *
+   * @return The team size.
+   */
+  public int getTeamSize() {
+    return teamSize;
+  }
+
+  /**
+   * Gets the success or failure message shown last.
+   *
+   * @return The message, or null if none has been shown.
+   */
+  public String getLastMessage() {
+    return lastMessage;
+  }
+
+  /**
+   * Gets the handler that the name search of the pages would call.
+   *
+   * @return The handler, or null if none has been set.
+   */
+  public Function<String, Map<Integer, String>> getNameSearchHandler() {
+    return nameSearchHandler;
+  }
+
+  @Override
+  public void switchToStartPage() {
+    currentPage = "start";
+    record("switchToStartPage()");
+  }
+
+  @Override
+  public void switchToAddPage(String currentPlayers, int teamSize) {
+    currentPage = "add";
+    this.currentPlayers = currentPlayers;
+    this.teamSize = teamSize;
+    record("switchToAddPage(" + teamSize + ")");
+  }
+
+  @Override
+  public List<String> getPlayerInfo() {
+    record("getPlayerInfo()");
+    List<String> info = scriptedPlayerInfo.pollFirst();
+    if (info == null) {
+      throw new IllegalStateException("No player information has been entered.");
+    }
+    return info;
+  }
+
+  @Override
+  public void clearPlayerInfoFields() {
+    record("clearPlayerInfoFields()");
+  }
+
+  @Override
+  public void showSuccessMessage(String message) {
+    lastMessage = message;
+    record("showSuccessMessage(" + message + ")");
+  }
+
+  @Override
+  public void showFailureMessage(String message) {
+    lastMessage = message;
+    record("showFailureMessage(" + message + ")");
+  }
+
+  @Override
+  public void switchToRemovePage(String currentPlayers, int teamSize) {
+    currentPage = "remove";
+    this.currentPlayers = currentPlayers;
+    this.teamSize = teamSize;
+    record("switchToRemovePage(" + teamSize + ")");
+  }
+
+  @Override
+  public void clearJerseyNumberFields() {
+    record("clearJerseyNumberFields()");
+  }
+
+  @Override
+  public String getJerseyNumberFromUserInput() {
+    record("getJerseyNumberFromUserInput()");
+    String jerseyNumber = scriptedJerseyNumbers.pollFirst();
+    if (jerseyNumber == null) {
+      throw new IllegalStateException("No jersey number has been entered.");
+    }
+    return jerseyNumber;
+  }
+
+  @Override
+  public void switchToTeamPage(String currentPlayers, String startingLineup,
+      String playersOnBench, int teamSize) {
+    currentPage = "team";
+    this.currentPlayers = currentPlayers;
+    this.startingLineup = startingLineup;
+    this.playersOnBench = playersOnBench;
+    this.teamSize = teamSize;
+    record("switchToTeamPage(" + teamSize + ")");
+  }
+
+  @Override
+  public void setNameSearchHandler(Function<String, Map<Integer, String>> handler) {
+    this.nameSearchHandler = handler;
+  }
+
+  @Override
+  public void setActionListener(ActionListener listener) {
+    this.listener = listener;
+  }
+
+  private void record(String call) {
+    if (recording) {
+      calls.add(call);
+    }
+  }
+}
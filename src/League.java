@@ -0,0 +1,75 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a league as a registry of named teams, possibly from different divisions.
+ */
+public class League {
+  private final Map<String, TeamModel> teams;
+
+  /**
+   * Constructs a new League without any teams.
+   */
+  public League() {
+    teams = new LinkedHashMap<>(); // keeps the teams in registration order
+  }
+
+  /**
+   * Registers a team in the league.
+   *
+   * @param name The unique name of the team.
+   * @param team The team to register.
+   * @throws IllegalArgumentException If a team with the same name is already registered.
+   */
+  public void registerTeam(String name, TeamModel team) {
+    if (teams.containsKey(name)) {
+      throw new IllegalArgumentException("A team named " + name + " is already registered.");
+    }
+    teams.put(name, team);
+  }
+
+  /**
+   * Retrieves a team by its name.
+   *
+   * @param name The name of the team.
+   * @return The team, or null if no team with the name is registered.
+   */
+  public TeamModel getTeam(String name) {
+    return teams.get(name);
+  }
+
+  /**
+   * Gets all teams of the league.
+   *
+   * @return An unmodifiable map of all teams, keyed by name, in registration order.
+   */
+  public Map<String, TeamModel> getTeams() {
+    return Collections.unmodifiableMap(teams);
+  }
+
+  /**
+   * Gets the names of the teams grouped by the division they play in.
+   *
+   * @return The team names of every division, in registration order.
+   */
+  public Map<DivisionRules, List<String>> getTeamsByDivision() {
+    Map<DivisionRules, List<String>> divisions = new LinkedHashMap<>();
+    for (Map.Entry<String, TeamModel> entry : teams.entrySet()) {
+      divisions.computeIfAbsent(entry.getValue().getDivisionRules(), rules -> new ArrayList<>())
+          .add(entry.getKey());
+    }
+    return divisions;
+  }
+
+  /**
+   * Gets the number of teams in the league.
+   *
+   * @return The number of teams.
+   */
+  public int size() {
+    return teams.size();
+  }
+}
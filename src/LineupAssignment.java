@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Represents the result of a lineup computation as an immutable mapping from jersey number
+ * to the position assigned to that player. Every player considered for the lineup appears in the
+ * mapping, players who are not in the starting lineup are mapped to Position.BENCH.
+ * Computing an assignment never changes the players themselves, the positions are only
+ * written to the players when the assignment is committed to the team.
+ */
+public final class LineupAssignment {
+  private final Map<Integer, Position> positions;
+
+  /**
+   * Constructs a new LineupAssignment from the given jersey number to position mapping.
+   *
+   * @param positions The position of every player in the team, keyed by jersey number.
+   */
+  public LineupAssignment(Map<Integer, Position> positions) {
+    // copy into a sorted map so that the iteration order is always by jersey number
+    this.positions = Collections.unmodifiableMap(new TreeMap<>(positions));
+  }
+
+  /**
+   * Gets the position assigned to the player with the given jersey number.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return The assigned position, or null if the jersey number is not part of the assignment.
+   */
+  public Position getPosition(int jerseyNumber) {
+    return positions.get(jerseyNumber);
+  }
+
+  /**
+   * Checks whether the player with the given jersey number is in the starting lineup.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return True if the player has a position other than Position.BENCH.
+   */
+  public boolean isStarter(int jerseyNumber) {
+    Position position = positions.get(jerseyNumber);
+    return position != null && position != Position.BENCH;
+  }
+
+  /**
+   * Gets the jersey numbers of the players in the starting lineup, in jersey number order.
+   *
+   * @return A list of jersey numbers of the starting players.
+   */
+  public List<Integer> getStarters() {
+    List<Integer> starters = new ArrayList<>();
+    for (Map.Entry<Integer, Position> entry : positions.entrySet()) {
+      if (entry.getValue() != Position.BENCH) {
+        starters.add(entry.getKey());
+      }
+    }
+    return starters;
+  }
+
+  /**
+   * Gets the jersey numbers of the players on the bench, in jersey number order.
+   *
+   * @return A list of jersey numbers of the bench players.
+   */
+  public List<Integer> getBench() {
+    List<Integer> bench = new ArrayList<>();
+    for (Map.Entry<Integer, Position> entry : positions.entrySet()) {
+      if (entry.getValue() == Position.BENCH) {
+        bench.add(entry.getKey());
+      }
+    }
+    return bench;
+  }
+
+  /**
+   * Gets the whole assignment as an unmodifiable map from jersey number to position.
+   *
+   * @return The unmodifiable assignment map.
+   */
+  public Map<Integer, Position> asMap() {
+    return positions;
+  }
+}
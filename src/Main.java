@@ -1,20 +1,29 @@
+import javax.swing.SwingUtilities;
+
 /**
  * The Main class serves as the entry point for the U10 Soccer Team Manager application.
  * It initializes the necessary components, including the team model, user interface view,
  * and controller, and starts the application by invoking the controller's start method.
+ * Only the start page is built at startup; the other pages are built when first shown.
  */
 public class Main {
   /**
    * Initializes the U10 Soccer Team Manager application.
+   * Run with -DstartupTiming=true to print the time from main to the first painted frame.
    * @param args Command-line arguments
    */
   public static void main(String[] args) {
-    TeamModel team = new Team();
-    ViewInterface view = new SwingTeamView("U10 Soccer Team Manager");
-    ControllerInterface controller = new SwingTeamController(team, view);
-    controller.start();
+    long start = System.nanoTime();
+    // Swing components are created on the Event Dispatch Thread
+    SwingUtilities.invokeLater(() -> {
+      SwingTeamView view = new SwingTeamView("U10 Soccer Team Manager");
+      if (Boolean.getBoolean("startupTiming")) {
+        view.setFirstPaintListener(() -> System.err.println("First frame painted after "
+            + (System.nanoTime() - start) / 1_000_000 + " ms."));
+      }
+      TeamModel team = new Team();
+      ControllerInterface controller = new SwingTeamController(team, view);
+      controller.start();
+    });
   }
 }
-
-
-
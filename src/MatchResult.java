@@ -0,0 +1,72 @@
+/**
+ * The result of a match between two teams of a league. Results are immutable.
+ */
+public final class MatchResult {
+  private final String homeTeam;
+  private final String awayTeam;
+  private final int homeGoals;
+  private final int awayGoals;
+
+  /**
+   * Constructs a new MatchResult.
+   *
+   * @param homeTeam  The name of the home team.
+   * @param awayTeam  The name of the away team.
+   * @param homeGoals The goals of the home team.
+   * @param awayGoals The goals of the away team.
+   * @throws IllegalArgumentException If a team plays itself or the goals are negative.
+   */
+  public MatchResult(String homeTeam, String awayTeam, int homeGoals, int awayGoals) {
+    if (homeTeam.equals(awayTeam)) {
+      throw new IllegalArgumentException("A team cannot play against itself.");
+    }
+    if (homeGoals < 0 || awayGoals < 0) {
+      throw new IllegalArgumentException("Goals cannot be negative.");
+    }
+    this.homeTeam = homeTeam;
+    this.awayTeam = awayTeam;
+    this.homeGoals = homeGoals;
+    this.awayGoals = awayGoals;
+  }
+
+  /**
+   * Gets the name of the home team.
+   *
+   * @return The name of the home team.
+   */
+  public String getHomeTeam() {
+    return homeTeam;
+  }
+
+  /**
+   * Gets the name of the away team.
+   *
+   * @return The name of the away team.
+   */
+  public String getAwayTeam() {
+    return awayTeam;
+  }
+
+  /**
+   * Gets the goals of the home team.
+   *
+   * @return The goals of the home team.
+   */
+  public int getHomeGoals() {
+    return homeGoals;
+  }
+
+  /**
+   * Gets the goals of the away team.
+   *
+   * @return The goals of the away team.
+   */
+  public int getAwayGoals() {
+    return awayGoals;
+  }
+
+  @Override
+  public String toString() {
+    return homeTeam + " " + homeGoals + " - " + awayGoals + " " + awayTeam;
+  }
+}
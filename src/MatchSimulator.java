@@ -0,0 +1,345 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulates matches and seasons between teams with the Monte Carlo method, to compare roster
+ * and lineup policies. The strength of a team comes from the skill levels of the players of its
+ * starting lineup, weighted by their positions: forwards and midfielders make the attack,
+ * the goalie, defenders and midfielders make the defense. The goals of a team in a match follow
+ * a Poisson distribution whose mean grows with its attack and shrinks with the defense of the
+ * opponent, with a small advantage for the home team.
+ *
+ * <p>The strengths are read once into primitive arrays, so simulating a match only draws random
+ * numbers and does not allocate. Seasons are simulated in parallel by fork/join tasks; every task
+ * has its own random stream, split from the stream of the task that forked it, so the result
+ * only depends on the seed and not on the number of threads.
+ */
+public class MatchSimulator {
+  static final double MEAN_GOALS = 2.5; // per team and match, between two average teams
+  static final double HOME_ADVANTAGE = 1.1;
+  private static final int SEASONS_PER_TASK = 16;
+
+  // indexed by Position.ordinal(): GOALIE, DEFENDER, MIDFIELDER, FORWARD, BENCH
+  private static final double[] ATTACK_WEIGHTS = {0.0, 0.2, 0.6, 1.0, 0.0};
+  private static final double[] DEFENSE_WEIGHTS = {1.5, 1.0, 0.4, 0.1, 0.0};
+
+  private final List<String> names;
+  private final int n;
+  // exp(-mean goals) of the home team, for every home team h and away team a at h * n + a
+  private final double[] homeGoalsLimit;
+  private final double[] awayGoalsLimit;
+
+  /**
+   * Constructs a new MatchSimulator from the current starting lineups of the teams.
+   *
+   * @param teams The teams, by name.
+   * @throws IllegalArgumentException If there are less than two teams,
+   *                                  or a team cannot field a starting lineup.
+   */
+  public MatchSimulator(Map<String, TeamModel> teams) {
+    if (teams.size() < 2) {
+      throw new IllegalArgumentException("A simulation needs at least two teams.");
+    }
+    names = new ArrayList<>(teams.keySet());
+    n = names.size();
+    double[] attack = new double[n];
+    double[] defense = new double[n];
+    for (int i = 0; i < n; i++) {
+      TeamModel team = teams.get(names.get(i));
+      LineupAssignment lineup;
+      try {
+        lineup = team.computeStartingLineup();
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(names.get(i) + ": " + e.getMessage());
+      }
+      for (int jerseyNumber : lineup.getStarters()) {
+        int skill = team.getPlayerByJerseyNumber(jerseyNumber).getSkilledLevel();
+        int position = lineup.getPosition(jerseyNumber).ordinal();
+        attack[i] += skill * ATTACK_WEIGHTS[position];
+        defense[i] += skill * DEFENSE_WEIGHTS[position];
+      }
+    }
+
+    // the strengths are relative to the average team, so their ratio is the mean goals factor
+    double meanAttack = 0;
+    double meanDefense = 0;
+    for (int i = 0; i < n; i++) {
+      meanAttack += attack[i] / n;
+      meanDefense += defense[i] / n;
+    }
+    homeGoalsLimit = new double[n * n];
+    awayGoalsLimit = new double[n * n];
+    for (int h = 0; h < n; h++) {
+      for (int a = 0; a < n; a++) {
+        double homeMean = MEAN_GOALS * HOME_ADVANTAGE
+            * (attack[h] / meanAttack) / (defense[a] / meanDefense);
+        double awayMean = MEAN_GOALS * (attack[a] / meanAttack) / (defense[h] / meanDefense);
+        homeGoalsLimit[h * n + a] = Math.exp(-homeMean);
+        awayGoalsLimit[h * n + a] = Math.exp(-awayMean);
+      }
+    }
+  }
+
+  /**
+   * Gets the teams of the simulation.
+   *
+   * @return The names of the teams, in the order of the map they were read from.
+   */
+  public List<String> getTeams() {
+    return new ArrayList<>(names);
+  }
+
+  /**
+   * Gets the mean goals of a team in a match.
+   *
+   * @param home The name of the home team.
+   * @param away The name of the away team.
+   * @return The mean goals of the home team, and of the away team.
+   * @throws IllegalArgumentException If a team is not part of the simulation.
+   */
+  public double[] getMeanGoals(String home, String away) {
+    int pair = indexOf(home) * n + indexOf(away);
+    return new double[] {-Math.log(homeGoalsLimit[pair]), -Math.log(awayGoalsLimit[pair])};
+  }
+
+  /**
+   * Simulates seasons in the common fork/join pool.
+   *
+   * @param seasons The number of seasons.
+   * @param seed    The seed of the random numbers.
+   * @return The aggregated results.
+   * @throws IllegalArgumentException If the number of seasons is not positive.
+   */
+  public SeasonForecast simulateSeasons(long seasons, long seed) {
+    return simulateSeasons(seasons, seed, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Simulates seasons in the given fork/join pool. Every season is a double round robin.
+   *
+   * @param seasons The number of seasons.
+   * @param seed    The seed of the random numbers.
+   * @param pool    The pool that runs the simulation.
+   * @return The aggregated results.
+   * @throws IllegalArgumentException If the number of seasons is not positive.
+   */
+  public SeasonForecast simulateSeasons(long seasons, long seed, ForkJoinPool pool) {
+    if (seasons <= 0) {
+      throw new IllegalArgumentException("The number of seasons must be positive.");
+    }
+    Totals totals = pool.invoke(new SeasonTask(0, seasons, new SplittableRandom(seed)));
+    return new SeasonForecast(new ArrayList<>(names), seasons, totals.points, totals.wins,
+        totals.draws, totals.losses, totals.goalsFor, totals.goalsAgainst, totals.titles);
+  }
+
+  private int indexOf(String team) {
+    int index = names.indexOf(team);
+    if (index < 0) {
+      throw new IllegalArgumentException("No team named " + team + " is simulated.");
+    }
+    return index;
+  }
+
+  /**
+   * Draws a number of goals from a Poisson distribution, by multiplying uniform random numbers
+   * until the product falls below exp(-mean).
+   */
+  private static int goals(SplittableRandom random, double limit) {
+    int goals = 0;
+    double product = random.nextDouble();
+    while (product > limit) {
+      goals++;
+      product *= random.nextDouble();
+    }
+    return goals;
+  }
+
+  /**
+   * The results of the seasons simulated by a task, indexed by team.
+   */
+  private static final class Totals {
+    private final long[] points;
+    private final long[] wins;
+    private final long[] draws;
+    private final long[] losses;
+    private final long[] goalsFor;
+    private final long[] goalsAgainst;
+    private final long[] titles;
+
+    private Totals(int n) {
+      points = new long[n];
+      wins = new long[n];
+      draws = new long[n];
+      losses = new long[n];
+      goalsFor = new long[n];
+      goalsAgainst = new long[n];
+      titles = new long[n];
+    }
+
+    private Totals add(Totals other) {
+      for (int i = 0; i < points.length; i++) {
+        points[i] += other.points[i];
+        wins[i] += other.wins[i];
+        draws[i] += other.draws[i];
+        losses[i] += other.losses[i];
+        goalsFor[i] += other.goalsFor[i];
+        goalsAgainst[i] += other.goalsAgainst[i];
+        titles[i] += other.titles[i];
+      }
+      return this;
+    }
+  }
+
+  /**
+   * Simulates a range of seasons, splitting it in halves until it is small enough.
+   */
+  // tasks only live within one run of the pool and are never serialized,
+  // although ForkJoinTask is Serializable
+  @SuppressWarnings("serial")
+  private final class SeasonTask extends RecursiveTask<Totals> {
+    private final long from;
+    private final long to;
+    private final SplittableRandom random;
+
+    private SeasonTask(long from, long to, SplittableRandom random) {
+      this.from = from;
+      this.to = to;
+      this.random = random;
+    }
+
+    @Override
+    protected Totals compute() {
+      if (to - from <= SEASONS_PER_TASK) {
+        return simulate();
+      }
+      long middle = (from + to) >>> 1;
+      SeasonTask left = new SeasonTask(from, middle, random.split());
+      left.fork();
+      Totals right = new SeasonTask(middle, to, random).compute();
+      return right.add(left.join());
+    }
+
+    /**
+     * Simulates the seasons of the range. The arrays of a season are reused for the next one.
+     */
+    private Totals simulate() {
+      Totals totals = new Totals(n);
+      int[] seasonPoints = new int[n];
+      int[] goalDifference = new int[n];
+      int[] seasonGoals = new int[n];
+      for (long season = from; season < to; season++) {
+        for (int h = 0; h < n; h++) {
+          for (int a = 0; a < n; a++) {
+            if (h == a) {
+              continue;
+            }
+            int homeGoals = goals(random, homeGoalsLimit[h * n + a]);
+            int awayGoals = goals(random, awayGoalsLimit[h * n + a]);
+            seasonGoals[h] += homeGoals;
+            seasonGoals[a] += awayGoals;
+            goalDifference[h] += homeGoals - awayGoals;
+            goalDifference[a] += awayGoals - homeGoals;
+            totals.goalsFor[h] += homeGoals;
+            totals.goalsAgainst[h] += awayGoals;
+            totals.goalsFor[a] += awayGoals;
+            totals.goalsAgainst[a] += homeGoals;
+            if (homeGoals > awayGoals) {
+              seasonPoints[h] += 3;
+              totals.wins[h]++;
+              totals.losses[a]++;
+            } else if (homeGoals < awayGoals) {
+              seasonPoints[a] += 3;
+              totals.wins[a]++;
+              totals.losses[h]++;
+            } else {
+              seasonPoints[h]++;
+              seasonPoints[a]++;
+              totals.draws[h]++;
+              totals.draws[a]++;
+            }
+          }
+        }
+
+        // the champion, with ties after points, goal difference and goals broken at random
+        int champion = 0;
+        int tied = 1;
+        for (int t = 0; t < n; t++) {
+          totals.points[t] += seasonPoints[t];
+          if (t == 0) {
+            continue;
+          }
+          int order = Integer.compare(seasonPoints[t], seasonPoints[champion]);
+          if (order == 0) {
+            order = Integer.compare(goalDifference[t], goalDifference[champion]);
+          }
+          if (order == 0) {
+            order = Integer.compare(seasonGoals[t], seasonGoals[champion]);
+          }
+          if (order > 0) {
+            champion = t;
+            tied = 1;
+          } else if (order == 0 && random.nextInt(++tied) == 0) {
+            champion = t;
+          }
+        }
+        totals.titles[champion]++;
+
+        for (int t = 0; t < n; t++) {
+          seasonPoints[t] = 0;
+          goalDifference[t] = 0;
+          seasonGoals[t] = 0;
+        }
+      }
+      return totals;
+    }
+  }
+
+  /**
+   * Measures how the simulation scales with the number of threads, on a league of teams
+   * with random rosters, and prints the forecast.
+   *
+   * @param args The number of teams, 20 by default, and the number of seasons, 20000 by default.
+   */
+  public static void main(String[] args) {
+    int teamCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    long seasons = args.length > 1 ? Long.parseLong(args[1]) : 20000;
+    Clock clock = Clock.systemDefaultZone();
+    int birthYear = LocalDate.now(clock).getYear() - 7;
+    String[] positions = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+    SplittableRandom random = new SplittableRandom(42);
+
+    Map<String, TeamModel> teams = new LinkedHashMap<>();
+    for (int t = 0; t < teamCount; t++) {
+      TeamModel team = new Team(clock);
+      for (int p = 0; p < 14; p++) {
+        team.addPlayer("Player" + p, "Team" + t, birthYear, 1 + p % 12, 1 + p,
+            positions[p % positions.length], 1 + random.nextInt(5));
+      }
+      teams.put("Team " + t, team);
+    }
+    MatchSimulator simulator = new MatchSimulator(teams);
+    simulator.simulateSeasons(Math.max(1, seasons / 10), 1); // warm up the JIT
+
+    SeasonForecast forecast = null;
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= processors; threads = threads < processors
+        ? Math.min(threads * 2, processors) : threads + 1) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      long start = System.nanoTime();
+      forecast = simulator.simulateSeasons(seasons, 7, pool);
+      long elapsed = System.nanoTime() - start;
+      pool.shutdown();
+      System.out.println(String.format("%3d threads: %,d matches in %,d ms, %,.0f matches/s",
+          threads, forecast.getMatches(), elapsed / 1_000_000,
+          forecast.getMatches() / (elapsed / 1e9)));
+    }
+    System.out.print(forecast);
+  }
+}
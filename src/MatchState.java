@@ -0,0 +1,215 @@
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Represents the live state of a team during a match, starting from a lineup of the team.
+ * Substitutions, injuries and position changes update the current assignment incrementally
+ * instead of recomputing the whole lineup. The bench is kept ordered by skilled level, both
+ * overall and per preferred position, so the best replacement for a position can be suggested
+ * immediately.
+ */
+public class MatchState {
+  private final Map<Integer, Position> onField; // jersey number -> position on the field
+  private final TreeSet<Integer> bench; // all available bench players, best first
+  private final Map<Position, TreeSet<Integer>> benchByPosition; // bench players by preferred position
+  private final Set<Integer> injured;
+
+  // skilled level and preferred position are captured when the match starts,
+  // so the ordering of the bench cannot change while the match is running
+  private final Map<Integer, Integer> skilledLevels;
+  private final Map<Integer, Position> preferredPositions;
+  private final Comparator<Integer> bestFirst;
+
+  /**
+   * Constructs a new MatchState from a lineup of the given team.
+   *
+   * @param team   The team that plays the match.
+   * @param lineup The lineup the team starts the match with.
+   */
+  public MatchState(TeamModel team, LineupAssignment lineup) {
+    onField = new HashMap<>();
+    injured = new HashSet<>();
+    skilledLevels = new HashMap<>();
+    preferredPositions = new HashMap<>();
+
+    // highest skilled level first, then by jersey number so that no two players are equal
+    bestFirst = Comparator.comparing((Integer jerseyNumber) -> skilledLevels.get(jerseyNumber))
+        .reversed().thenComparing(Comparator.naturalOrder());
+    bench = new TreeSet<>(bestFirst);
+    benchByPosition = new EnumMap<>(Position.class);
+
+    for (Map.Entry<Integer, Position> entry : lineup.asMap().entrySet()) {
+      int jerseyNumber = entry.getKey();
+      PlayerInterface player = team.getPlayerByJerseyNumber(jerseyNumber);
+      if (player == null) {
+        continue; // the player has left the team since the lineup was computed
+      }
+      skilledLevels.put(jerseyNumber, player.getSkilledLevel());
+      preferredPositions.put(jerseyNumber, player.getPreferredPosition());
+
+      if (entry.getValue() == Position.BENCH) {
+        addToBench(jerseyNumber);
+      } else {
+        onField.put(jerseyNumber, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Replaces a player on the field with a player from the bench.
+   * The incoming player takes over the position of the outgoing player,
+   * and the outgoing player goes to the bench.
+   *
+   * @param outJerseyNumber The jersey number of the player leaving the field.
+   * @param inJerseyNumber  The jersey number of the player coming from the bench.
+   * @throws IllegalArgumentException If the outgoing player is not on the field,
+   *                                  or the incoming player is not on the bench.
+   */
+  public void substitute(int outJerseyNumber, int inJerseyNumber) {
+    if (!onField.containsKey(outJerseyNumber)) {
+      throw new IllegalArgumentException("Player " + outJerseyNumber + " is not on the field.");
+    }
+    if (!bench.contains(inJerseyNumber)) {
+      throw new IllegalArgumentException("Player " + inJerseyNumber + " is not on the bench.");
+    }
+
+    Position position = onField.remove(outJerseyNumber);
+    removeFromBench(inJerseyNumber);
+    onField.put(inJerseyNumber, position);
+    addToBench(outJerseyNumber);
+  }
+
+  /**
+   * Marks a player as injured, so the player can no longer take part in the match.
+   * If the player is on the field, the best available replacement for the position is
+   * substituted in. If the bench is empty, the position stays empty.
+   *
+   * @param jerseyNumber The jersey number of the injured player.
+   * @return The jersey number of the replacement, or -1 if no player was substituted in.
+   * @throws IllegalArgumentException If the player is not part of the match.
+   */
+  public int injure(int jerseyNumber) {
+    if (!skilledLevels.containsKey(jerseyNumber) || injured.contains(jerseyNumber)) {
+      throw new IllegalArgumentException("Player " + jerseyNumber + " is not available.");
+    }
+    injured.add(jerseyNumber);
+
+    Position position = onField.remove(jerseyNumber);
+    if (position == null) {
+      removeFromBench(jerseyNumber); // an injury on the bench only shrinks the bench
+      return -1;
+    }
+
+    int replacement = suggestReplacement(position);
+    if (replacement != -1) {
+      removeFromBench(replacement);
+      onField.put(replacement, position);
+    }
+    return replacement;
+  }
+
+  /**
+   * Moves a player on the field to another position.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param position     The new position of the player.
+   * @throws IllegalArgumentException If the player is not on the field,
+   *                                  or the position is Position.BENCH.
+   */
+  public void changePosition(int jerseyNumber, Position position) {
+    if (position == Position.BENCH) {
+      throw new IllegalArgumentException("Use substitute to move a player to the bench.");
+    }
+    if (onField.replace(jerseyNumber, position) == null) {
+      throw new IllegalArgumentException("Player " + jerseyNumber + " is not on the field.");
+    }
+  }
+
+  /**
+   * Suggests the best bench player to play the given position. A player who prefers the
+   * position is chosen first, otherwise the player with the highest skilled level.
+   *
+   * @param position The position that needs a player.
+   * @return The jersey number of the suggested player, or -1 if the bench is empty.
+   */
+  public int suggestReplacement(Position position) {
+    TreeSet<Integer> candidates = benchByPosition.get(position);
+    if (candidates != null && !candidates.isEmpty()) {
+      return candidates.first();
+    }
+    return bench.isEmpty() ? -1 : bench.first();
+  }
+
+  /**
+   * Gets the current position of a player in the match.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return The position on the field, Position.BENCH for bench and injured players,
+   *         or null if the player is not part of the match.
+   */
+  public Position getPosition(int jerseyNumber) {
+    if (!skilledLevels.containsKey(jerseyNumber)) {
+      return null;
+    }
+    return onField.getOrDefault(jerseyNumber, Position.BENCH);
+  }
+
+  /**
+   * Checks whether a player has been injured during the match.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return True if the player is injured.
+   */
+  public boolean isInjured(int jerseyNumber) {
+    return injured.contains(jerseyNumber);
+  }
+
+  /**
+   * Gets the number of players currently on the field.
+   *
+   * @return The number of players on the field.
+   */
+  public int getPlayersOnField() {
+    return onField.size();
+  }
+
+  /**
+   * Creates a snapshot of the current assignment, which can be committed to the team.
+   * Bench and injured players are assigned Position.BENCH.
+   *
+   * @return The current assignment as an immutable lineup.
+   */
+  public LineupAssignment toLineupAssignment() {
+    Map<Integer, Position> positions = new HashMap<>();
+    for (Integer jerseyNumber : skilledLevels.keySet()) {
+      positions.put(jerseyNumber, onField.getOrDefault(jerseyNumber, Position.BENCH));
+    }
+    return new LineupAssignment(positions);
+  }
+
+  /**
+   * Adds a player to the bench and to the bench of the preferred position.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   */
+  private void addToBench(int jerseyNumber) {
+    bench.add(jerseyNumber);
+    benchByPosition.computeIfAbsent(preferredPositions.get(jerseyNumber),
+        position -> new TreeSet<>(bestFirst)).add(jerseyNumber);
+  }
+
+  /**
+   * Removes a player from the bench and from the bench of the preferred position.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   */
+  private void removeFromBench(int jerseyNumber) {
+    bench.remove(jerseyNumber);
+    benchByPosition.get(preferredPositions.get(jerseyNumber)).remove(jerseyNumber);
+  }
+}
@@ -0,0 +1,153 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A prefix tree over names that maps each name to the ids stored under it.
+ * Names are compared case-insensitively. Every node counts the ids below it, so the number
+ * of matches of a prefix is known after walking the prefix, and matches are collected in
+ * alphabetical order, stopping as soon as enough have been found.
+ */
+public class NamePrefixTrie {
+
+  /**
+   * A node of the trie, holding the ids of the name ending here.
+   */
+  private static final class Node {
+    private final TreeMap<Character, Node> children = new TreeMap<>();
+    private List<Integer> ids; // null until a name ends at this node
+    private int count; // number of ids in this node and all nodes below
+  }
+
+  private final Node root = new Node();
+
+  /**
+   * Adds an id under a name.
+   *
+   * @param name The name.
+   * @param id   The id to store under the name.
+   */
+  public void add(String name, int id) {
+    String key = normalize(name);
+    Node node = root;
+    node.count++;
+    for (int i = 0; i < key.length(); i++) {
+      node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+      node.count++;
+    }
+    if (node.ids == null) {
+      node.ids = new ArrayList<>(1);
+    }
+    node.ids.add(id);
+  }
+
+  /**
+   * Removes an id from a name.
+   *
+   * @param name The name the id was stored under.
+   * @param id   The id to remove.
+   * @return True if the id was found and removed.
+   */
+  public boolean remove(String name, int id) {
+    String key = normalize(name);
+    Deque<Node> path = new ArrayDeque<>();
+    Node node = root;
+    path.push(node);
+    for (int i = 0; i < key.length(); i++) {
+      node = node.children.get(key.charAt(i));
+      if (node == null) {
+        return false;
+      }
+      path.push(node);
+    }
+    if (node.ids == null || !node.ids.remove(Integer.valueOf(id))) {
+      return false;
+    }
+    if (node.ids.isEmpty()) {
+      node.ids = null;
+    }
+
+    // walk back up, decrementing the counts and dropping nodes that became empty
+    for (int i = key.length(); i >= 0; i--) {
+      Node current = path.pop();
+      current.count--;
+      if (i > 0 && current.count == 0) {
+        path.peek().children.remove(key.charAt(i - 1));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Counts the ids stored under names starting with the prefix.
+   *
+   * @param prefix The prefix of the names.
+   * @return The number of ids.
+   */
+  public int countWithPrefix(String prefix) {
+    Node node = find(normalize(prefix));
+    return node == null ? 0 : node.count;
+  }
+
+  /**
+   * Finds the ids stored under names starting with the prefix, in alphabetical order of the names.
+   *
+   * @param prefix The prefix of the names.
+   * @param limit  The maximum number of ids to return.
+   * @return The ids, at most limit of them.
+   */
+  public List<Integer> findWithPrefix(String prefix, int limit) {
+    List<Integer> result = new ArrayList<>();
+    Node start = find(normalize(prefix));
+    if (start == null || limit <= 0) {
+      return result;
+    }
+
+    // depth-first in alphabetical order, using an explicit stack to support long names
+    Deque<Node> stack = new ArrayDeque<>();
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      if (node.ids != null) {
+        for (Integer id : node.ids) {
+          result.add(id);
+          if (result.size() >= limit) {
+            return result;
+          }
+        }
+      }
+      for (Map.Entry<Character, Node> child : node.children.descendingMap().entrySet()) {
+        stack.push(child.getValue());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Walks the trie along the given key.
+   *
+   * @param key The normalized key.
+   * @return The node at the end of the key, or null if no name starts with the key.
+   */
+  private Node find(String key) {
+    Node node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = node.children.get(key.charAt(i));
+    }
+    return node;
+  }
+
+  /**
+   * Normalizes a name for case-insensitive comparison.
+   *
+   * @param name The name.
+   * @return The lower case name.
+   */
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,263 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable sorted map backed by a balanced binary tree with path copying.
+ * Adding or removing a key returns a new map that shares all untouched nodes with the old one,
+ * so every version costs O(log n) new nodes and old versions stay valid forever.
+ * Reading a map never needs a lock, because no version is ever changed after it is created.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public final class PersistentMap<K extends Comparable<K>, V> extends AbstractMap<K, V> {
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null);
+
+  private final Node<K, V> root;
+
+  /**
+   * A node of the tree. Nodes are never changed once they are created.
+   */
+  private static final class Node<K, V> implements Map.Entry<K, V> {
+    private final K key;
+    private final V value;
+    private final Node<K, V> left;
+    private final Node<K, V> right;
+    private final int height;
+    private final int size;
+
+    private Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+      this.key = key;
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(height(left), height(right)) + 1;
+      this.size = size(left) + size(right) + 1;
+    }
+
+    @Override
+    public K getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException("A persistent map cannot be changed.");
+    }
+  }
+
+  private PersistentMap(Node<K, V> root) {
+    this.root = root;
+  }
+
+  /**
+   * Gets the empty map.
+   *
+   * @param <K> The type of the keys.
+   * @param <V> The type of the values.
+   * @return The empty map.
+   */
+  @SuppressWarnings("unchecked")
+  public static <K extends Comparable<K>, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Returns a map with the key mapped to the value, leaving this map unchanged.
+   *
+   * @param key   The key.
+   * @param value The value.
+   * @return The new version of the map.
+   */
+  public PersistentMap<K, V> plus(K key, V value) {
+    return new PersistentMap<>(insert(root, key, value));
+  }
+
+  /**
+   * Returns a map without the key, leaving this map unchanged.
+   *
+   * @param key The key.
+   * @return The new version of the map, or this map if the key is not present.
+   */
+  public PersistentMap<K, V> minus(K key) {
+    if (!containsKey(key)) {
+      return this;
+    }
+    return new PersistentMap<>(delete(root, key));
+  }
+
+  @Override
+  public V get(Object key) {
+    Node<K, V> node = find(key);
+    return node == null ? null : node.value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size(root);
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    return new AbstractSet<Map.Entry<K, V>>() {
+      @Override
+      public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+      }
+
+      @Override
+      public int size() {
+        return PersistentMap.this.size();
+      }
+    };
+  }
+
+  /**
+   * Looks up the node of a key.
+   */
+  @SuppressWarnings("unchecked")
+  private Node<K, V> find(Object key) {
+    Comparable<K> comparableKey = (Comparable<K>) key;
+    Node<K, V> node = root;
+    while (node != null) {
+      int result = comparableKey.compareTo(node.key);
+      if (result == 0) {
+        return node;
+      }
+      node = result < 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  /**
+   * Inserts or replaces a key, copying only the nodes on the path to it.
+   */
+  private static <K extends Comparable<K>, V> Node<K, V> insert(Node<K, V> node, K key, V value) {
+    if (node == null) {
+      return new Node<>(key, value, null, null);
+    }
+    int result = key.compareTo(node.key);
+    if (result == 0) {
+      return new Node<>(key, value, node.left, node.right);
+    } else if (result < 0) {
+      return balance(node.key, node.value, insert(node.left, key, value), node.right);
+    } else {
+      return balance(node.key, node.value, node.left, insert(node.right, key, value));
+    }
+  }
+
+  /**
+   * Deletes a key that is known to be present, copying only the nodes on the path to it.
+   */
+  private static <K extends Comparable<K>, V> Node<K, V> delete(Node<K, V> node, K key) {
+    int result = key.compareTo(node.key);
+    if (result < 0) {
+      return balance(node.key, node.value, delete(node.left, key), node.right);
+    } else if (result > 0) {
+      return balance(node.key, node.value, node.left, delete(node.right, key));
+    }
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    // replace the node by the smallest node of the right subtree
+    Node<K, V> successor = node.right;
+    while (successor.left != null) {
+      successor = successor.left;
+    }
+    return balance(successor.key, successor.value, node.left, delete(node.right, successor.key));
+  }
+
+  /**
+   * Creates a node from its parts and restores the AVL balance with at most two rotations.
+   */
+  private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+    int difference = height(left) - height(right);
+    if (difference > 1) {
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left);
+      }
+      return new Node<>(left.key, left.value, left.left,
+          new Node<>(key, value, left.right, right));
+    }
+    if (difference < -1) {
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right);
+      }
+      return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left),
+          right.right);
+    }
+    return new Node<>(key, value, left, right);
+  }
+
+  private static <K, V> Node<K, V> rotateLeft(Node<K, V> node) {
+    Node<K, V> right = node.right;
+    return new Node<>(right.key, right.value,
+        new Node<>(node.key, node.value, node.left, right.left), right.right);
+  }
+
+  private static <K, V> Node<K, V> rotateRight(Node<K, V> node) {
+    Node<K, V> left = node.left;
+    return new Node<>(left.key, left.value, left.left,
+        new Node<>(node.key, node.value, left.right, node.right));
+  }
+
+  private static int height(Node<?, ?> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static int size(Node<?, ?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * Iterates the entries in key order with an explicit stack.
+   */
+  private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+    private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+    private EntryIterator(Node<K, V> root) {
+      pushLeft(root);
+    }
+
+    private void pushLeft(Node<K, V> node) {
+      while (node != null) {
+        stack.push(node);
+        node = node.left;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      if (stack.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      Node<K, V> node = stack.pop();
+      pushLeft(node.right);
+      return node;
+    }
+  }
+}
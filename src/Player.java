@@ -1,9 +1,10 @@
+import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.Period;
 
 /**
- * The Player class represents a soccer player in the U10 soccer team.
+ * The Player class represents a soccer player in a youth soccer team, U10 by default.
  * It implements the PlayerInterface to provide methods for
  * accessing and modifying the player's information.
  */
@@ -30,8 +31,53 @@ public class Player implements PlayerInterface {
    */
   public Player(String firstName, String lastName, int year, int month, int day,
       Position preferredPosition, int skilledLevel) throws IllegalArgumentException {
-    if (skilledLevel < 1 || skilledLevel > 5) {
-      throw new IllegalArgumentException("Skill level must be between 1 and 5.");
+    this(firstName, lastName, year, month, day, preferredPosition, skilledLevel,
+        Clock.systemDefaultZone());
+  }
+
+  /**
+   * Constructs a new Player with the provided information,
+   * validating the age of the player against the current date of the given clock.
+   *
+   * @param firstName           The first name of the player.
+   * @param lastName            The last name of the player.
+   * @param year                The year of birth.
+   * @param month               The month of birth.
+   * @param day                 The day of birth.
+   * @param preferredPosition   The preferred position of the player in the team.
+   * @param skilledLevel        The skill level of the player, ranging from 1 to 5.
+   * @param clock               The clock that provides the current date.
+   * @throws IllegalArgumentException If the provided skilledLevel is not within the
+   * range of 1 to 5, or if the player's age is 10 years or older.
+   */
+  public Player(String firstName, String lastName, int year, int month, int day,
+      Position preferredPosition, int skilledLevel, Clock clock) throws IllegalArgumentException {
+    this(firstName, lastName, year, month, day, preferredPosition, skilledLevel, clock,
+        DivisionRules.U10);
+  }
+
+  /**
+   * Constructs a new Player for the given division with the provided information,
+   * validating the age of the player against the current date of the given clock.
+   *
+   * @param firstName           The first name of the player.
+   * @param lastName            The last name of the player.
+   * @param year                The year of birth.
+   * @param month               The month of birth.
+   * @param day                 The day of birth.
+   * @param preferredPosition   The preferred position of the player in the team.
+   * @param skilledLevel        The skill level of the player, on the scale of the division.
+   * @param clock               The clock that provides the current date.
+   * @param rules               The rules of the division the player registers for.
+   * @throws IllegalArgumentException If the provided skilledLevel is not on the skill scale
+   * of the division, or if the player's age is outside the age window of the division.
+   */
+  public Player(String firstName, String lastName, int year, int month, int day,
+      Position preferredPosition, int skilledLevel, Clock clock, DivisionRules rules)
+      throws IllegalArgumentException {
+    if (!rules.isValidSkilledLevel(skilledLevel)) {
+      throw new IllegalArgumentException("Skill level must be between "
+          + rules.getMinSkilledLevel() + " and " + rules.getMaxSkilledLevel() + ".");
     }
 
     this.firstName = firstName;
@@ -39,9 +85,9 @@ public class Player implements PlayerInterface {
 
     try {
       this.dateOfBirth = LocalDate.of(year, month, day);
-      if (getAge() >= 10 || getAge() <= 0) {
-        throw new IllegalArgumentException("Only players under ten years of age can "
-            + "be part of the team.");
+      if (!rules.isEligibleAge(getAge(LocalDate.now(clock)))) {
+        throw new IllegalArgumentException("Only players under " + rules.getMaxAge()
+            + " years of age can be part of the team.");
       }
     } catch (DateTimeException e) {
       throw new IllegalArgumentException("Invalid date of birth.");
@@ -54,13 +100,27 @@ public class Player implements PlayerInterface {
     this.actualPosition = Position.BENCH;
   }
 
+  /**
+   * Constructs a copy of a player. The age is not validated again.
+   *
+   * @param player The player to copy.
+   */
+  private Player(Player player) {
+    this.firstName = player.firstName;
+    this.lastName = player.lastName;
+    this.dateOfBirth = player.dateOfBirth;
+    this.preferredPosition = player.preferredPosition;
+    this.skilledLevel = player.skilledLevel;
+    this.actualPosition = player.actualPosition;
+  }
+
   /**
    * Calculates and returns the age of the player based on the date of birth.
    *
+   * @param currentDate The date at which the age is calculated.
    * @return The age of the player.
    */
-  private int getAge() {
-    LocalDate currentDate = LocalDate.now();
+  private int getAge(LocalDate currentDate) {
     Period age = Period.between(dateOfBirth, currentDate);
     return age.getYears();
   }
@@ -125,4 +185,37 @@ public class Player implements PlayerInterface {
     this.actualPosition = actualPosition;
   }
 
+  @Override
+  public PlayerInterface copy() {
+    return new Player(this);
+  }
+
+  /**
+   * Two players are equal if they are the same child: the same names, ignoring case,
+   * accents and spacing, and the same date of birth.
+   *
+   * @param o The object to compare with.
+   * @return True if the object is a player with the same identity.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PlayerInterface)) {
+      return false;
+    }
+    PlayerInterface other = (PlayerInterface) o;
+    return PlayerIdentity.normalizeName(firstName).equals(
+        PlayerIdentity.normalizeName(other.getFirstName()))
+        && PlayerIdentity.normalizeName(lastName).equals(
+        PlayerIdentity.normalizeName(other.getLastName()))
+        && dateOfBirth.toString().equals(other.getDateOfBirth());
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(PlayerIdentity.fingerprint(firstName, lastName, dateOfBirth));
+  }
+
 }
@@ -0,0 +1,74 @@
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the identity of a child registering as a player, based on the normalized names
+ * and the date of birth. Two registrations with the same identity are the same child,
+ * even if the names differ in case, accents or spacing.
+ */
+public final class PlayerIdentity {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final Pattern MARKS = Pattern.compile("\\p{M}");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private PlayerIdentity() {
+    // only static helpers
+  }
+
+  /**
+   * Normalizes a name: accents are removed, the name is put in lower case and
+   * runs of whitespace are collapsed into single spaces.
+   *
+   * @param name The name as typed.
+   * @return The normalized name.
+   */
+  public static String normalizeName(String name) {
+    String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+    String stripped = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    return WHITESPACE.matcher(stripped).replaceAll(" ");
+  }
+
+  /**
+   * Computes a compact 64-bit fingerprint of the identity of a child.
+   *
+   * @param firstName   The first name.
+   * @param lastName    The last name.
+   * @param dateOfBirth The date of birth.
+   * @return The fingerprint of the normalized names and the date of birth.
+   */
+  public static long fingerprint(String firstName, String lastName, LocalDate dateOfBirth) {
+    long hash = FNV_OFFSET_BASIS;
+    hash = mix(hash, normalizeName(firstName));
+    hash = mix(hash, normalizeName(lastName));
+    hash = (hash ^ dateOfBirth.toEpochDay()) * FNV_PRIME;
+    // spread the bits, so the low and high halves can serve as independent hashes
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * Computes the fingerprint of the identity of a player.
+   *
+   * @param player The player.
+   * @return The fingerprint of the normalized names and the date of birth of the player.
+   */
+  public static long fingerprint(PlayerInterface player) {
+    return fingerprint(player.getFirstName(), player.getLastName(),
+        LocalDate.parse(player.getDateOfBirth()));
+  }
+
+  /**
+   * Adds the characters of a string and a separator to an FNV-1a hash.
+   */
+  private static long mix(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+    }
+    return (hash ^ '|') * FNV_PRIME; // keeps "ab"+"c" apart from "a"+"bc"
+  }
+}
@@ -91,5 +91,13 @@ public interface PlayerInterface {
    */
   void setActualPosition(Position actualPosition);
 
+  /**
+   * Creates a copy of the player with the same information, which can be changed without
+   * changing this player. A team changes copies, so older versions of the roster keep
+   * the players as they were.
+   *
+   * @return The copy.
+   */
+  PlayerInterface copy();
 
 }
@@ -0,0 +1,199 @@
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Represents an immutable filter over players. Every criterion is optional,
+ * a query without criteria matches all players. The with methods return a new query
+ * with one more criterion, so queries can be built up step by step.
+ */
+public final class PlayerQuery {
+  private final Position position;
+  private final int minSkilledLevel;
+  private final int maxSkilledLevel;
+  private final LocalDate bornFrom;
+  private final LocalDate bornTo;
+  private final String lastNamePrefix;
+
+  /**
+   * Constructs a query with the given criteria.
+   */
+  private PlayerQuery(Position position, int minSkilledLevel, int maxSkilledLevel,
+      LocalDate bornFrom, LocalDate bornTo, String lastNamePrefix) {
+    this.position = position;
+    this.minSkilledLevel = minSkilledLevel;
+    this.maxSkilledLevel = maxSkilledLevel;
+    this.bornFrom = bornFrom;
+    this.bornTo = bornTo;
+    this.lastNamePrefix = lastNamePrefix;
+  }
+
+  /**
+   * Creates a query that matches all players.
+   *
+   * @return A query without criteria.
+   */
+  public static PlayerQuery all() {
+    return new PlayerQuery(null, Integer.MIN_VALUE, Integer.MAX_VALUE, null, null, null);
+  }
+
+  /**
+   * Restricts the query to players with the given preferred position.
+   *
+   * @param position The preferred position.
+   * @return A new query with the criterion added.
+   */
+  public PlayerQuery withPosition(Position position) {
+    return new PlayerQuery(position, minSkilledLevel, maxSkilledLevel, bornFrom, bornTo,
+        lastNamePrefix);
+  }
+
+  /**
+   * Restricts the query to players with a skill level in the given range.
+   *
+   * @param min The lowest skill level, inclusive.
+   * @param max The highest skill level, inclusive.
+   * @return A new query with the criterion added.
+   */
+  public PlayerQuery withSkilledLevel(int min, int max) {
+    return new PlayerQuery(position, min, max, bornFrom, bornTo, lastNamePrefix);
+  }
+
+  /**
+   * Restricts the query to players born in the given range of dates. Either end may be null
+   * to leave the range open at that end.
+   *
+   * @param from The first date, inclusive, or null for no lower bound.
+   * @param to   The last date, inclusive, or null for no upper bound.
+   * @return A new query with the criterion added.
+   */
+  public PlayerQuery withBirthDate(LocalDate from, LocalDate to) {
+    return new PlayerQuery(position, minSkilledLevel, maxSkilledLevel, from, to, lastNamePrefix);
+  }
+
+  /**
+   * Restricts the query to players whose last name starts with the prefix, ignoring case.
+   *
+   * @param prefix The prefix of the last name.
+   * @return A new query with the criterion added.
+   */
+  public PlayerQuery withLastNamePrefix(String prefix) {
+    return new PlayerQuery(position, minSkilledLevel, maxSkilledLevel, bornFrom, bornTo,
+        prefix.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Checks whether a player matches all criteria of the query.
+   *
+   * @param player The player to check.
+   * @return True if the player matches.
+   */
+  public boolean matches(PlayerInterface player) {
+    return matches(player.getPreferredPosition(), player.getSkilledLevel(),
+        hasBirthDateRange() ? LocalDate.parse(player.getDateOfBirth()) : null,
+        player.getLastName());
+  }
+
+  /**
+   * Checks whether an indexed player matches all criteria of the query, using the attributes
+   * the player had when the record was created.
+   *
+   * @param record The record to check.
+   * @return True if the record matches.
+   */
+  public boolean matches(PlayerRecord record) {
+    return matches(record.getPreferredPosition(), record.getSkilledLevel(),
+        record.getDateOfBirth(), record.getLastName());
+  }
+
+  /**
+   * Checks the criteria of the query against the attributes of a player.
+   * The date of birth is only read if the query has a birth date range.
+   */
+  private boolean matches(Position preferredPosition, int skilledLevel, LocalDate dateOfBirth,
+      String lastName) {
+    if (position != null && preferredPosition != position) {
+      return false;
+    }
+    if (skilledLevel < minSkilledLevel || skilledLevel > maxSkilledLevel) {
+      return false;
+    }
+    if (bornFrom != null && dateOfBirth.isBefore(bornFrom)
+        || bornTo != null && dateOfBirth.isAfter(bornTo)) {
+      return false;
+    }
+    return lastNamePrefix == null
+        || lastName.toLowerCase(Locale.ROOT).startsWith(lastNamePrefix);
+  }
+
+  /**
+   * Gets the preferred position of the query.
+   *
+   * @return The position, or null if any position matches.
+   */
+  public Position getPosition() {
+    return position;
+  }
+
+  /**
+   * Checks whether the query restricts the skill level.
+   *
+   * @return True if a skill level range is set.
+   */
+  public boolean hasSkilledLevelRange() {
+    return minSkilledLevel != Integer.MIN_VALUE || maxSkilledLevel != Integer.MAX_VALUE;
+  }
+
+  /**
+   * Gets the lowest skill level of the query.
+   *
+   * @return The lowest skill level, inclusive.
+   */
+  public int getMinSkilledLevel() {
+    return minSkilledLevel;
+  }
+
+  /**
+   * Gets the highest skill level of the query.
+   *
+   * @return The highest skill level, inclusive.
+   */
+  public int getMaxSkilledLevel() {
+    return maxSkilledLevel;
+  }
+
+  /**
+   * Checks whether the query restricts the date of birth.
+   *
+   * @return True if a birth date range is set, even if it is open at one end.
+   */
+  public boolean hasBirthDateRange() {
+    return bornFrom != null || bornTo != null;
+  }
+
+  /**
+   * Gets the first date of birth of the query.
+   *
+   * @return The first date, inclusive, or null if not set.
+   */
+  public LocalDate getBornFrom() {
+    return bornFrom;
+  }
+
+  /**
+   * Gets the last date of birth of the query.
+   *
+   * @return The last date, inclusive, or null if not set.
+   */
+  public LocalDate getBornTo() {
+    return bornTo;
+  }
+
+  /**
+   * Gets the last name prefix of the query, in lower case.
+   *
+   * @return The prefix, or null if not set.
+   */
+  public String getLastNamePrefix() {
+    return lastNamePrefix;
+  }
+}
@@ -0,0 +1,102 @@
+import java.time.LocalDate;
+
+/**
+ * Identifies a player within a league by the name of the team and the jersey number.
+ * The attributes that PlayerSearchIndex indexes are copied when the record is created,
+ * so the record keeps matching the buckets it was indexed under if the player changes later.
+ */
+public final class PlayerRecord {
+  private final String teamName;
+  private final int jerseyNumber;
+  private final PlayerInterface player;
+  private final Position preferredPosition;
+  private final int skilledLevel;
+  private final LocalDate dateOfBirth;
+  private final String lastName;
+
+  /**
+   * Constructs a new PlayerRecord.
+   *
+   * @param teamName     The name of the team the player belongs to.
+   * @param jerseyNumber The jersey number of the player in the team.
+   * @param player       The player.
+   */
+  public PlayerRecord(String teamName, int jerseyNumber, PlayerInterface player) {
+    this.teamName = teamName;
+    this.jerseyNumber = jerseyNumber;
+    this.player = player;
+    this.preferredPosition = player.getPreferredPosition();
+    this.skilledLevel = player.getSkilledLevel();
+    this.dateOfBirth = LocalDate.parse(player.getDateOfBirth());
+    this.lastName = player.getLastName();
+  }
+
+  /**
+   * Gets the name of the team the player belongs to.
+   *
+   * @return The name of the team.
+   */
+  public String getTeamName() {
+    return teamName;
+  }
+
+  /**
+   * Gets the jersey number of the player in the team.
+   *
+   * @return The jersey number.
+   */
+  public int getJerseyNumber() {
+    return jerseyNumber;
+  }
+
+  /**
+   * Gets the player.
+   *
+   * @return The player.
+   */
+  public PlayerInterface getPlayer() {
+    return player;
+  }
+
+  /**
+   * Gets the preferred position of the player when the record was created.
+   *
+   * @return The preferred position.
+   */
+  public Position getPreferredPosition() {
+    return preferredPosition;
+  }
+
+  /**
+   * Gets the skill level of the player when the record was created.
+   *
+   * @return The skill level.
+   */
+  public int getSkilledLevel() {
+    return skilledLevel;
+  }
+
+  /**
+   * Gets the date of birth of the player when the record was created.
+   *
+   * @return The date of birth.
+   */
+  public LocalDate getDateOfBirth() {
+    return dateOfBirth;
+  }
+
+  /**
+   * Gets the last name of the player when the record was created.
+   *
+   * @return The last name.
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  @Override
+  public String toString() {
+    return player.getFirstName() + ", " + player.getLastName() + ", Team: " + teamName
+        + ", Jersey Number: " + jerseyNumber;
+  }
+}
@@ -0,0 +1,353 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Answers player queries over the players of a league using secondary indexes:
+ * buckets by preferred position, sorted indexes by skill level and date of birth,
+ * and a prefix tree over last names. For each query the index with the fewest candidates
+ * is chosen, and only those candidates are checked against the remaining criteria.
+ * The index is a snapshot of the players at the time they are added: the indexed attributes
+ * are copied into the records, and later changes to the teams are reflected by calling add
+ * and remove.
+ */
+public class PlayerSearchIndex {
+  private final List<PlayerRecord> records; // id -> record, null once removed
+  private final Map<String, Map<Integer, Integer>> idsByTeam; // team name -> jersey number -> id
+  private int size;
+
+  private final Map<Position, Set<Integer>> positionIndex;
+  private final TreeMap<Integer, Set<Integer>> skillIndex;
+  private final TreeMap<LocalDate, Set<Integer>> birthDateIndex;
+  private final NamePrefixTrie lastNameIndex;
+
+  /**
+   * Constructs a new, empty PlayerSearchIndex.
+   */
+  public PlayerSearchIndex() {
+    records = new ArrayList<>();
+    idsByTeam = new HashMap<>();
+    positionIndex = new EnumMap<>(Position.class);
+    skillIndex = new TreeMap<>();
+    birthDateIndex = new TreeMap<>();
+    lastNameIndex = new NamePrefixTrie();
+  }
+
+  /**
+   * Creates an index over all players of all teams in the league.
+   *
+   * @param league The league to index.
+   * @return The index over the current players of the league.
+   */
+  public static PlayerSearchIndex of(League league) {
+    PlayerSearchIndex index = new PlayerSearchIndex();
+    for (Map.Entry<String, TeamModel> team : league.getTeams().entrySet()) {
+      for (Map.Entry<Integer, PlayerInterface> player : team.getValue().getPlayers().entrySet()) {
+        index.add(team.getKey(), player.getKey(), player.getValue());
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Adds a player to the index.
+   *
+   * @param teamName     The name of the team of the player.
+   * @param jerseyNumber The jersey number of the player.
+   * @param player       The player.
+   * @throws IllegalArgumentException If the jersey number of the team is already indexed.
+   */
+  public void add(String teamName, int jerseyNumber, PlayerInterface player) {
+    Map<Integer, Integer> teamIds = idsByTeam.computeIfAbsent(teamName, name -> new HashMap<>());
+    if (teamIds.containsKey(jerseyNumber)) {
+      throw new IllegalArgumentException("Jersey number " + jerseyNumber + " of team "
+          + teamName + " is already indexed.");
+    }
+    int id = records.size();
+    PlayerRecord record = new PlayerRecord(teamName, jerseyNumber, player);
+    records.add(record);
+    teamIds.put(jerseyNumber, id);
+    size++;
+
+    positionIndex.computeIfAbsent(record.getPreferredPosition(), p -> new HashSet<>()).add(id);
+    skillIndex.computeIfAbsent(record.getSkilledLevel(), s -> new HashSet<>()).add(id);
+    birthDateIndex.computeIfAbsent(record.getDateOfBirth(), d -> new HashSet<>()).add(id);
+    lastNameIndex.add(record.getLastName(), id);
+  }
+
+  /**
+   * Removes a player from the index.
+   *
+   * @param teamName     The name of the team of the player.
+   * @param jerseyNumber The jersey number of the player.
+   * @return True if the player was indexed and has been removed.
+   */
+  public boolean remove(String teamName, int jerseyNumber) {
+    Map<Integer, Integer> teamIds = idsByTeam.get(teamName);
+    Integer id = teamIds == null ? null : teamIds.remove(jerseyNumber);
+    if (id == null) {
+      return false;
+    }
+    // the buckets are found by the attributes the player was indexed with
+    PlayerRecord record = records.set(id, null);
+    size--;
+
+    positionIndex.get(record.getPreferredPosition()).remove(id);
+    removeFromSortedIndex(skillIndex, record.getSkilledLevel(), id);
+    removeFromSortedIndex(birthDateIndex, record.getDateOfBirth(), id);
+    lastNameIndex.remove(record.getLastName(), id);
+    return true;
+  }
+
+  /**
+   * Finds all indexed players matching the query, using the most selective index.
+   *
+   * @param query The query.
+   * @return The matching players, in the order they were added.
+   */
+  public List<PlayerRecord> search(PlayerQuery query) {
+    // estimate the number of candidates of every index that can be used for the query
+    int bestCount = size;
+    IndexChoice best = IndexChoice.FULL_SCAN;
+
+    if (query.getPosition() != null) {
+      int count = sizeOf(positionIndex.get(query.getPosition()));
+      if (count < bestCount) {
+        bestCount = count;
+        best = IndexChoice.POSITION;
+      }
+    }
+    if (query.hasSkilledLevelRange()) {
+      int count = countRange(skillRange(query));
+      if (count < bestCount) {
+        bestCount = count;
+        best = IndexChoice.SKILL;
+      }
+    }
+    if (query.hasBirthDateRange()) {
+      int count = countRange(birthDateRange(query));
+      if (count < bestCount) {
+        bestCount = count;
+        best = IndexChoice.BIRTH_DATE;
+      }
+    }
+    if (query.getLastNamePrefix() != null) {
+      int count = lastNameIndex.countWithPrefix(query.getLastNamePrefix());
+      if (count < bestCount) {
+        best = IndexChoice.LAST_NAME;
+      }
+    }
+
+    if (best == IndexChoice.FULL_SCAN) {
+      return scan(query);
+    }
+
+    List<Integer> candidates = new ArrayList<>();
+    switch (best) {
+      case POSITION:
+        candidates.addAll(positionIndex.getOrDefault(query.getPosition(),
+            Collections.emptySet()));
+        break;
+      case SKILL:
+        addAll(candidates, skillRange(query).values());
+        break;
+      case BIRTH_DATE:
+        addAll(candidates, birthDateRange(query).values());
+        break;
+      default:
+        candidates.addAll(lastNameIndex.findWithPrefix(query.getLastNamePrefix(),
+            Integer.MAX_VALUE));
+        break;
+    }
+    candidates.sort(null);
+
+    // check the remaining criteria on the candidates only
+    List<PlayerRecord> result = new ArrayList<>();
+    for (Integer id : candidates) {
+      PlayerRecord record = records.get(id);
+      if (query.matches(record)) {
+        result.add(record);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds all indexed players matching the query by checking every player.
+   *
+   * @param query The query.
+   * @return The matching players, in the order they were added.
+   */
+  public List<PlayerRecord> scan(PlayerQuery query) {
+    List<PlayerRecord> result = new ArrayList<>();
+    for (PlayerRecord record : records) {
+      if (record != null && query.matches(record)) {
+        result.add(record);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of indexed players.
+   *
+   * @return The number of players.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The index used to find the candidates of a query.
+   */
+  private enum IndexChoice {
+    FULL_SCAN, POSITION, SKILL, BIRTH_DATE, LAST_NAME
+  }
+
+  /**
+   * Gets the part of the skill index within the skill range of the query.
+   */
+  private Map<Integer, Set<Integer>> skillRange(PlayerQuery query) {
+    if (query.getMinSkilledLevel() > query.getMaxSkilledLevel()) {
+      return new TreeMap<>();
+    }
+    return skillIndex.subMap(query.getMinSkilledLevel(), true, query.getMaxSkilledLevel(), true);
+  }
+
+  /**
+   * Gets the part of the birth date index within the date range of the query,
+   * which may be open at either end.
+   */
+  private Map<LocalDate, Set<Integer>> birthDateRange(PlayerQuery query) {
+    LocalDate from = query.getBornFrom();
+    LocalDate to = query.getBornTo();
+    if (from == null) {
+      return birthDateIndex.headMap(to, true);
+    } else if (to == null) {
+      return birthDateIndex.tailMap(from, true);
+    } else if (from.isAfter(to)) {
+      return new TreeMap<>();
+    }
+    return birthDateIndex.subMap(from, true, to, true);
+  }
+
+  /**
+   * Counts the ids in a range of a sorted index.
+   */
+  private static int countRange(Map<?, Set<Integer>> range) {
+    int count = 0;
+    for (Set<Integer> ids : range.values()) {
+      count += ids.size();
+    }
+    return count;
+  }
+
+  /**
+   * Adds all ids of a range of a sorted index to the list.
+   */
+  private static void addAll(List<Integer> target, Collection<Set<Integer>> buckets) {
+    for (Set<Integer> ids : buckets) {
+      target.addAll(ids);
+    }
+  }
+
+  /**
+   * Gets the size of a bucket that may not exist.
+   */
+  private static int sizeOf(Set<Integer> bucket) {
+    return bucket == null ? 0 : bucket.size();
+  }
+
+  /**
+   * Removes an id from a sorted index, dropping the key once it has no ids left.
+   */
+  private static <K> void removeFromSortedIndex(TreeMap<K, Set<Integer>> index, K key, int id) {
+    Set<Integer> ids = index.get(key);
+    if (ids == null) {
+      return;
+    }
+    ids.remove(id);
+    if (ids.isEmpty()) {
+      index.remove(key);
+    }
+  }
+
+  /**
+   * Indexes players of teams of 20 and compares the time of search with the time of scan for
+   * queries led by each index. The last names are built of three syllables, so a prefix of two
+   * syllables matches about one player in 256.
+   *
+   * @param args The number of players, 1000000 by default, and the number of times every query
+   *             is run, 20 by default.
+   */
+  public static void main(String[] args) {
+    int players = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    Clock clock = Clock.systemDefaultZone();
+    LocalDate today = LocalDate.now(clock);
+    String[] syllables = {"Ba", "Ko", "Mi", "Ra", "Su", "Te", "Lo", "Ni", "Da", "Fe", "Gu",
+        "Ha", "Ji", "Pe", "Vo", "Ze"};
+    Position[] positions = {Position.GOALIE, Position.DEFENDER, Position.MIDFIELDER,
+        Position.FORWARD};
+    SplittableRandom random = new SplittableRandom(42);
+
+    PlayerSearchIndex index = new PlayerSearchIndex();
+    for (int i = 0; i < players; i++) {
+      String lastName = syllables[random.nextInt(syllables.length)]
+          + syllables[random.nextInt(syllables.length)].toLowerCase()
+          + syllables[random.nextInt(syllables.length)].toLowerCase();
+      // born between one and nine years ago, so every player is eligible for U10
+      LocalDate dateOfBirth = today.minusDays(366 + random.nextInt(8 * 365));
+      index.add("Team" + i / 20, 1 + i % 20, new Player("Player" + i, lastName,
+          dateOfBirth.getYear(), dateOfBirth.getMonthValue(), dateOfBirth.getDayOfMonth(),
+          positions[random.nextInt(positions.length)], 1 + random.nextInt(5), clock));
+    }
+
+    Map<String, PlayerQuery> queries = new LinkedHashMap<>();
+    queries.put("last name Koba*", PlayerQuery.all().withLastNamePrefix("Koba"));
+    queries.put("born in one week, forward", PlayerQuery.all()
+        .withBirthDate(today.minusYears(5), today.minusYears(5).plusDays(6))
+        .withPosition(Position.FORWARD));
+    queries.put("skill 5, goalie", PlayerQuery.all().withSkilledLevel(5, 5)
+        .withPosition(Position.GOALIE));
+    queries.put("goalie, last name Ra*", PlayerQuery.all().withPosition(Position.GOALIE)
+        .withLastNamePrefix("Ra"));
+
+    System.out.println(String.format("%,d players (milliseconds per query):", index.size()));
+    System.out.println(String.format("  %-26s %9s %9s %9s %8s", "query", "matches", "search",
+        "scan", "speedup"));
+    for (Map.Entry<String, PlayerQuery> query : queries.entrySet()) {
+      int matches = 0;
+      long searchTime = 0;
+      long scanTime = 0;
+      for (int round = 0; round < 2; round++) { // the first round warms up the JIT
+        long start = System.nanoTime();
+        for (int r = 0; r < repetitions; r++) {
+          matches = index.search(query.getValue()).size();
+        }
+        searchTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int r = 0; r < repetitions; r++) {
+          if (index.scan(query.getValue()).size() != matches) {
+            throw new IllegalStateException("search and scan disagree on " + query.getKey());
+          }
+        }
+        scanTime = System.nanoTime() - start;
+      }
+      System.out.println(String.format("  %-26s %,9d %9.3f %9.3f %7.1fx", query.getKey(),
+          matches, searchTime / 1e6 / repetitions, scanTime / 1e6 / repetitions,
+          (double) scanTime / searchTime));
+    }
+  }
+}
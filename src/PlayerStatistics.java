@@ -0,0 +1,434 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Records the statistics of every match of the players of a league: the minutes played,
+ * the goals, the assists and the position played.
+ *
+ * <p>The matches of a player are appended in date order to chunks of a primitive array, one row
+ * per match. Every row also holds the running totals up to and including the match, so the
+ * totals of any range of matches are the difference of two rows. The totals of the last matches
+ * and of the current season are therefore computed in constant time, without summing the
+ * matches, and the chunks are never copied when the history of a player grows.
+ * A leaderboard needs one such lookup per player and keeps only the best players in a heap.
+ */
+public class PlayerStatistics {
+  /**
+   * The statistics that players can be ranked by.
+   */
+  public enum Statistic {
+    MATCHES, MINUTES, GOALS, ASSISTS
+  }
+
+  private static final int CHUNK_BITS = 4; // 16 matches per chunk, about half a season
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int POSITIONS = Position.values().length;
+
+  // the fields of a row
+  private static final int DAY = 0; // the epoch day of the match
+  private static final int MINUTES = 1;
+  private static final int GOALS = 2;
+  private static final int ASSISTS = 3;
+  private static final int POSITION = 4;
+  private static final int TOTAL_MINUTES = 5; // the running totals include the row itself
+  private static final int TOTAL_GOALS = 6;
+  private static final int TOTAL_ASSISTS = 7;
+  private static final int TOTAL_AT = 8; // the matches at each position, by ordinal
+  private static final int FIELDS = TOTAL_AT + POSITIONS;
+
+  private final int window;
+  private final Map<Long, Series> players; // by identity fingerprint of the player
+  private long seasonStart; // the epoch day
+
+  /**
+   * Constructs a new PlayerStatistics.
+   *
+   * @param seasonStart The first date of the current season.
+   * @param window      The number of last matches in the recent totals, such as 5.
+   * @throws IllegalArgumentException If the window is not positive.
+   */
+  public PlayerStatistics(LocalDate seasonStart, int window) {
+    if (window < 1) {
+      throw new IllegalArgumentException("The window must be at least one match.");
+    }
+    this.window = window;
+    this.players = new HashMap<>();
+    this.seasonStart = seasonStart.toEpochDay();
+  }
+
+  /**
+   * Starts a new season. The season totals then only count the matches from that date.
+   *
+   * @param firstDate The first date of the new season.
+   * @throws IllegalArgumentException If the date is before the start of the current season.
+   */
+  public synchronized void startSeason(LocalDate firstDate) {
+    if (firstDate.toEpochDay() < seasonStart) {
+      throw new IllegalArgumentException("The season cannot start before "
+          + LocalDate.ofEpochDay(seasonStart) + ".");
+    }
+    seasonStart = firstDate.toEpochDay();
+  }
+
+  /**
+   * Records a match of a player. The matches of a player must be recorded in date order.
+   *
+   * @param player   The player.
+   * @param date     The date of the match.
+   * @param minutes  The minutes played.
+   * @param goals    The goals scored.
+   * @param assists  The assists given.
+   * @param position The position played.
+   * @throws IllegalArgumentException If a number is negative, or the date is before the last
+   *                                  recorded match of the player.
+   */
+  public synchronized void record(PlayerInterface player, LocalDate date, int minutes,
+      int goals, int assists, Position position) {
+    if (minutes < 0 || goals < 0 || assists < 0) {
+      throw new IllegalArgumentException("Minutes, goals and assists cannot be negative.");
+    }
+    if (position == null) {
+      throw new IllegalArgumentException("The position cannot be null.");
+    }
+    Series series = find(player, true);
+    if (series.size > 0 && date.toEpochDay() < series.get(series.size - 1, DAY)) {
+      throw new IllegalArgumentException("The last match of " + series.name + " was on "
+          + LocalDate.ofEpochDay(series.get(series.size - 1, DAY)) + ".");
+    }
+    series.append((int) date.toEpochDay(), minutes, goals, assists, position);
+  }
+
+  /**
+   * Gets the number of recorded matches of a player.
+   *
+   * @param player The player.
+   * @return The number of matches, 0 for a player without statistics.
+   */
+  public synchronized int getMatchCount(PlayerInterface player) {
+    Series series = find(player, false);
+    return series == null ? 0 : series.size;
+  }
+
+  /**
+   * Gets the position a player played in one of the recorded matches.
+   *
+   * @param player The player.
+   * @param match  The index of the match, from 0 for the first recorded match.
+   * @return The position.
+   * @throws IllegalArgumentException If the player has no such match.
+   */
+  public synchronized Position getPosition(PlayerInterface player, int match) {
+    Series series = find(player, false);
+    if (series == null || match < 0 || match >= series.size) {
+      throw new IllegalArgumentException("No match " + match + " was recorded for "
+          + player.getFirstName() + " " + player.getLastName() + ".");
+    }
+    return Position.values()[series.get(match, POSITION)];
+  }
+
+  /**
+   * Gets the totals of the last matches of a player, as many as the window.
+   *
+   * @param player The player.
+   * @return The totals, which are all 0 for a player without statistics.
+   */
+  public synchronized PlayerTotals getRecentTotals(PlayerInterface player) {
+    Series series = getSeries(player);
+    return series.totals(Math.max(0, series.size - window), series.size);
+  }
+
+  /**
+   * Gets the totals of the current season of a player.
+   *
+   * @param player The player.
+   * @return The totals, which are all 0 for a player without statistics.
+   */
+  public synchronized PlayerTotals getSeasonTotals(PlayerInterface player) {
+    Series series = getSeries(player);
+    return series.totals(series.seasonIndex(), series.size);
+  }
+
+  /**
+   * Gets the totals of the matches of a player between two dates.
+   *
+   * @param player The player.
+   * @param from   The first date.
+   * @param to     The last date, inclusive.
+   * @return The totals, which are all 0 for a player without statistics.
+   */
+  public synchronized PlayerTotals getTotals(PlayerInterface player, LocalDate from,
+      LocalDate to) {
+    Series series = getSeries(player);
+    int first = series.firstIndexFrom(from.toEpochDay());
+    return series.totals(first, Math.max(first, series.firstIndexFrom(to.toEpochDay() + 1)));
+  }
+
+  /**
+   * Ranks the players of the league by a statistic over the current season.
+   * Players without a match in the season are not ranked.
+   *
+   * @param statistic The statistic.
+   * @param limit     The maximum number of players to return.
+   * @return The totals of the best players, from the best; ties are ordered by name.
+   */
+  public synchronized List<PlayerTotals> getSeasonLeaderboard(Statistic statistic, int limit) {
+    return getLeaderboard(statistic, limit, true);
+  }
+
+  /**
+   * Ranks the players of the league by a statistic over their last matches, as many as the
+   * window.
+   *
+   * @param statistic The statistic.
+   * @param limit     The maximum number of players to return.
+   * @return The totals of the best players, from the best; ties are ordered by name.
+   */
+  public synchronized List<PlayerTotals> getRecentLeaderboard(Statistic statistic, int limit) {
+    return getLeaderboard(statistic, limit, false);
+  }
+
+  private List<PlayerTotals> getLeaderboard(Statistic statistic, int limit, boolean season) {
+    if (limit < 1) {
+      return Collections.emptyList();
+    }
+    // the heap holds the best players so far with the worst of them on top
+    PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1);
+    for (Series series : players.values()) {
+      int first = season ? series.seasonIndex() : Math.max(0, series.size - window);
+      if (first < series.size) {
+        Ranked ranked = new Ranked(series, first, series.sum(statistic, first, series.size));
+        if (best.size() < limit) {
+          best.add(ranked);
+        } else if (ranked.compareTo(best.peek()) > 0) {
+          best.poll();
+          best.add(ranked);
+        }
+      }
+    }
+    List<PlayerTotals> leaderboard = new ArrayList<>(best.size());
+    while (!best.isEmpty()) {
+      Ranked ranked = best.poll();
+      leaderboard.add(ranked.series.totals(ranked.first, ranked.series.size));
+    }
+    Collections.reverse(leaderboard);
+    return leaderboard;
+  }
+
+  private Series getSeries(PlayerInterface player) {
+    Series series = find(player, false);
+    return series != null ? series
+        : new Series(PlayerIdentity.fingerprint(player),
+            player.getFirstName() + " " + player.getLastName());
+  }
+
+  /**
+   * Finds the matches of a player by the fingerprint of its identity. Nothing is kept per
+   * player object, so replaced or removed players do not stay reachable.
+   *
+   * @param player The player.
+   * @param create Whether to start an empty series for a player without statistics.
+   * @return The series, or null for a player without statistics if create is false.
+   */
+  private Series find(PlayerInterface player, boolean create) {
+    long id = PlayerIdentity.fingerprint(player);
+    Series series = players.get(id);
+    if (series == null) {
+      if (!create) {
+        return null;
+      }
+      series = new Series(id, player.getFirstName() + " " + player.getLastName());
+      players.put(id, series);
+    }
+    return series;
+  }
+
+  /**
+   * A player in a leaderboard, with the value of the statistic it is ranked by.
+   */
+  private static final class Ranked implements Comparable<Ranked> {
+    private final Series series;
+    private final int first;
+    private final int value;
+
+    private Ranked(Series series, int first, int value) {
+      this.series = series;
+      this.first = first;
+      this.value = value;
+    }
+
+    /**
+     * Compares two players, where the greater is the better: the higher value,
+     * then the name that comes first.
+     */
+    @Override
+    public int compareTo(Ranked other) {
+      if (value != other.value) {
+        return Integer.compare(value, other.value);
+      }
+      return other.series.name.compareTo(series.name);
+    }
+  }
+
+  /**
+   * The matches of one player, in rows of FIELDS values in chunks of CHUNK_SIZE rows.
+   */
+  private final class Series {
+    private final long id;
+    private final String name;
+    private int[][] chunks = new int[2][];
+    private int size;
+    private long cachedSeasonStart = Long.MIN_VALUE;
+    private int cachedSeasonIndex;
+
+    private Series(long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    private int get(int row, int field) {
+      return chunks[row >>> CHUNK_BITS][(row & (CHUNK_SIZE - 1)) * FIELDS + field];
+    }
+
+    /**
+     * Gets a running total before a row, which is 0 before the first row.
+     */
+    private int totalBefore(int row, int field) {
+      return row == 0 ? 0 : get(row - 1, field);
+    }
+
+    private void append(int day, int minutes, int goals, int assists, Position position) {
+      int chunk = size >>> CHUNK_BITS;
+      if (chunk == chunks.length) {
+        chunks = Arrays.copyOf(chunks, chunks.length * 2); // only the references are copied
+      }
+      if (chunks[chunk] == null) {
+        chunks[chunk] = new int[CHUNK_SIZE * FIELDS];
+      }
+      int[] rows = chunks[chunk];
+      int offset = (size & (CHUNK_SIZE - 1)) * FIELDS;
+      rows[offset + DAY] = day;
+      rows[offset + MINUTES] = minutes;
+      rows[offset + GOALS] = goals;
+      rows[offset + ASSISTS] = assists;
+      rows[offset + POSITION] = position.ordinal();
+      rows[offset + TOTAL_MINUTES] = totalBefore(size, TOTAL_MINUTES) + minutes;
+      rows[offset + TOTAL_GOALS] = totalBefore(size, TOTAL_GOALS) + goals;
+      rows[offset + TOTAL_ASSISTS] = totalBefore(size, TOTAL_ASSISTS) + assists;
+      for (int p = 0; p < POSITIONS; p++) {
+        rows[offset + TOTAL_AT + p] = totalBefore(size, TOTAL_AT + p)
+            + (p == position.ordinal() ? 1 : 0);
+      }
+      if (cachedSeasonStart == seasonStart && cachedSeasonIndex == size && day < seasonStart) {
+        cachedSeasonIndex++; // a late match of the previous season
+      }
+      size++;
+    }
+
+    /**
+     * Gets the index of the first match on or after a day, or the size if there is none.
+     */
+    private int firstIndexFrom(long day) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (get(middle, DAY) < day) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Gets the index of the first match of the current season. The index is searched for once
+     * per season and then kept up to date as matches are appended after it.
+     */
+    private int seasonIndex() {
+      if (cachedSeasonStart != seasonStart) {
+        cachedSeasonStart = seasonStart;
+        cachedSeasonIndex = firstIndexFrom(seasonStart);
+      }
+      return cachedSeasonIndex;
+    }
+
+    private int sum(Statistic statistic, int first, int end) {
+      switch (statistic) {
+        case MATCHES:
+          return end - first;
+        case MINUTES:
+          return totalBefore(end, TOTAL_MINUTES) - totalBefore(first, TOTAL_MINUTES);
+        case GOALS:
+          return totalBefore(end, TOTAL_GOALS) - totalBefore(first, TOTAL_GOALS);
+        default:
+          return totalBefore(end, TOTAL_ASSISTS) - totalBefore(first, TOTAL_ASSISTS);
+      }
+    }
+
+    private PlayerTotals totals(int first, int end) {
+      int[] matchesAt = new int[POSITIONS];
+      for (int p = 0; p < POSITIONS; p++) {
+        matchesAt[p] = totalBefore(end, TOTAL_AT + p) - totalBefore(first, TOTAL_AT + p);
+      }
+      return new PlayerTotals(id, name, end - first, sum(Statistic.MINUTES, first, end),
+          sum(Statistic.GOALS, first, end), sum(Statistic.ASSISTS, first, end), matchesAt);
+    }
+  }
+
+  /**
+   * Records a few seasons of random matches for a large league and prints how long the
+   * recording and the leaderboards take.
+   *
+   * @param args The number of players, 20000 by default, and the matches per player,
+   *             90 by default.
+   */
+  public static void main(String[] args) {
+    int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    int matches = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+    SplittableRandom random = new SplittableRandom(42);
+    LocalDate firstDate = LocalDate.of(2020, 9, 5);
+    int birthYear = LocalDate.now(Clock.systemDefaultZone()).getYear() - 7;
+    List<PlayerInterface> players = new ArrayList<>(playerCount);
+    for (int i = 0; i < playerCount; i++) {
+      players.add(new Player("Player" + i, "Team" + i / 15, birthYear, 1 + i % 12, 1 + i % 28,
+          Position.MIDFIELDER, 1 + i % 5));
+    }
+    PlayerStatistics statistics = new PlayerStatistics(firstDate, 5);
+    Position[] positions = {Position.GOALIE, Position.DEFENDER, Position.MIDFIELDER,
+        Position.FORWARD, Position.BENCH};
+
+    long start = System.nanoTime();
+    for (int m = 0; m < matches; m++) {
+      LocalDate date = firstDate.plusWeeks(m);
+      if (m > 0 && m % 30 == 0) {
+        statistics.startSeason(date);
+      }
+      for (PlayerInterface player : players) {
+        Position position = positions[random.nextInt(positions.length)];
+        statistics.record(player, date, position == Position.BENCH ? 0 : 10 + random.nextInt(41),
+            random.nextInt(100) < 15 ? 1 : 0, random.nextInt(100) < 10 ? 1 : 0, position);
+      }
+    }
+    long recorded = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    List<PlayerTotals> scorers = statistics.getSeasonLeaderboard(Statistic.GOALS, 10);
+    List<PlayerTotals> form = statistics.getRecentLeaderboard(Statistic.MINUTES, 10);
+    long ranked = System.nanoTime() - start;
+
+    System.out.println(String.format("%,d matches recorded in %,d ms, two leaderboards of %,d "
+        + "players in %,d us", (long) playerCount * matches, recorded / 1_000_000,
+        playerCount, ranked / 1_000));
+    System.out.println("Top scorers of the season: " + scorers.get(0));
+    System.out.println("Most minutes in the last matches: " + form.get(0));
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * The statistics of a player summed over a range of matches, such as the current season or
+ * the last few matches, as computed by PlayerStatistics. Totals are immutable.
+ */
+public final class PlayerTotals {
+  private final long playerId;
+  private final String name;
+  private final int matches;
+  private final int minutes;
+  private final int goals;
+  private final int assists;
+  private final int[] matchesAt; // indexed by the ordinal of the position
+
+  /**
+   * Constructs new PlayerTotals. The array of matches by position is taken over.
+   */
+  PlayerTotals(long playerId, String name, int matches, int minutes, int goals, int assists,
+      int[] matchesAt) {
+    this.playerId = playerId;
+    this.name = name;
+    this.matches = matches;
+    this.minutes = minutes;
+    this.goals = goals;
+    this.assists = assists;
+    this.matchesAt = matchesAt;
+  }
+
+  /**
+   * Gets the identity fingerprint of the player.
+   *
+   * @return The fingerprint, as computed by PlayerIdentity.
+   */
+  public long getPlayerId() {
+    return playerId;
+  }
+
+  /**
+   * Gets the name of the player.
+   *
+   * @return The first name and the last name of the player.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the number of matches.
+   *
+   * @return The number of matches.
+   */
+  public int getMatches() {
+    return matches;
+  }
+
+  /**
+   * Gets the minutes played.
+   *
+   * @return The minutes played.
+   */
+  public int getMinutes() {
+    return minutes;
+  }
+
+  /**
+   * Gets the goals scored.
+   *
+   * @return The goals scored.
+   */
+  public int getGoals() {
+    return goals;
+  }
+
+  /**
+   * Gets the assists given.
+   *
+   * @return The assists given.
+   */
+  public int getAssists() {
+    return assists;
+  }
+
+  /**
+   * Gets the number of matches the player played at a position.
+   *
+   * @param position The position.
+   * @return The number of matches at the position.
+   */
+  public int getMatchesAt(Position position) {
+    return matchesAt[position.ordinal()];
+  }
+
+  /**
+   * Gets one of the statistics.
+   *
+   * @param statistic The statistic.
+   * @return The value of the statistic.
+   */
+  public int get(PlayerStatistics.Statistic statistic) {
+    switch (statistic) {
+      case MATCHES:
+        return matches;
+      case MINUTES:
+        return minutes;
+      case GOALS:
+        return goals;
+      default:
+        return assists;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return name + ": " + matches + " matches, " + minutes + " minutes, " + goals + " goals, "
+        + assists + " assists";
+  }
+}
@@ -0,0 +1,250 @@
+/**
+ * A change of the roster of a team: a player was added, removed, evicted,
+ * moved to another jersey number, moved to another position by a committed lineup,
+ * or given another skill level by the ratings. Changes are immutable.
+ */
+public final class RosterChange {
+
+  /**
+   * The kind of a roster change.
+   */
+  public enum Type {
+    ADDED, REMOVED, EVICTED, JERSEY_CHANGED, POSITION_CHANGED, SKILL_CHANGED
+  }
+
+  private final Type type;
+  private final int jerseyNumber;
+  private final int previousJerseyNumber;
+  private final PlayerInterface player;
+  private final PlayerInterface previousPlayer;
+  private final Position position;
+  private final Position previousPosition;
+  private final int skilledLevel;
+  private final int previousSkilledLevel;
+
+  private RosterChange(Type type, int jerseyNumber, int previousJerseyNumber,
+      PlayerInterface player, Position position, Position previousPosition) {
+    this(type, jerseyNumber, previousJerseyNumber, player, player, position, previousPosition,
+        0, 0);
+  }
+
+  private RosterChange(Type type, int jerseyNumber, int previousJerseyNumber,
+      PlayerInterface player, PlayerInterface previousPlayer, Position position,
+      Position previousPosition, int skilledLevel, int previousSkilledLevel) {
+    this.type = type;
+    this.jerseyNumber = jerseyNumber;
+    this.previousJerseyNumber = previousJerseyNumber;
+    this.player = player;
+    this.previousPlayer = previousPlayer;
+    this.position = position;
+    this.previousPosition = previousPosition;
+    this.skilledLevel = skilledLevel;
+    this.previousSkilledLevel = previousSkilledLevel;
+  }
+
+  /**
+   * Creates the change of a player joining the team.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param player       The player.
+   * @return The change.
+   */
+  public static RosterChange added(int jerseyNumber, PlayerInterface player) {
+    return new RosterChange(Type.ADDED, jerseyNumber, jerseyNumber, player, null, null);
+  }
+
+  /**
+   * Creates the change of a player being removed by the coach.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param player       The player.
+   * @return The change.
+   */
+  public static RosterChange removed(int jerseyNumber, PlayerInterface player) {
+    return new RosterChange(Type.REMOVED, jerseyNumber, jerseyNumber, player, null, null);
+  }
+
+  /**
+   * Creates the change of a player being evicted by the team, because the team was full
+   * or the player became too old.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param player       The player.
+   * @return The change.
+   */
+  public static RosterChange evicted(int jerseyNumber, PlayerInterface player) {
+    return new RosterChange(Type.EVICTED, jerseyNumber, jerseyNumber, player, null, null);
+  }
+
+  /**
+   * Creates the change of a player moving to another jersey number.
+   *
+   * @param previousJerseyNumber The jersey number before the change.
+   * @param jerseyNumber         The jersey number after the change.
+   * @param player               The player.
+   * @return The change.
+   */
+  public static RosterChange jerseyChanged(int previousJerseyNumber, int jerseyNumber,
+      PlayerInterface player) {
+    return new RosterChange(Type.JERSEY_CHANGED, jerseyNumber, previousJerseyNumber, player,
+        null, null);
+  }
+
+  /**
+   * Creates the change of a player moving to another actual position. The player is replaced
+   * by a copy at the new position, so older versions of the roster keep the previous player.
+   *
+   * @param jerseyNumber     The jersey number of the player.
+   * @param previousPlayer   The player before the change.
+   * @param player           The player after the change.
+   * @param previousPosition The actual position before the change.
+   * @param position         The actual position after the change.
+   * @return The change.
+   */
+  public static RosterChange positionChanged(int jerseyNumber, PlayerInterface previousPlayer,
+      PlayerInterface player, Position previousPosition, Position position) {
+    return new RosterChange(Type.POSITION_CHANGED, jerseyNumber, jerseyNumber, player,
+        previousPlayer, position, previousPosition, 0, 0);
+  }
+
+  /**
+   * Creates the change of a player getting another skill level. The player is replaced
+   * by a copy with the new level, so older versions of the roster keep the previous player.
+   *
+   * @param jerseyNumber         The jersey number of the player.
+   * @param previousPlayer       The player before the change.
+   * @param player               The player after the change.
+   * @param previousSkilledLevel The skill level before the change.
+   * @param skilledLevel         The skill level after the change.
+   * @return The change.
+   */
+  public static RosterChange skillChanged(int jerseyNumber, PlayerInterface previousPlayer,
+      PlayerInterface player, int previousSkilledLevel, int skilledLevel) {
+    return new RosterChange(Type.SKILL_CHANGED, jerseyNumber, jerseyNumber, player,
+        previousPlayer, null, null, skilledLevel, previousSkilledLevel);
+  }
+
+  /**
+   * Creates the change that reverts this change.
+   *
+   * @return The reverse change.
+   */
+  public RosterChange inverse() {
+    switch (type) {
+      case ADDED:
+        return removed(jerseyNumber, player);
+      case REMOVED:
+      case EVICTED:
+        return added(jerseyNumber, player);
+      case JERSEY_CHANGED:
+        return jerseyChanged(jerseyNumber, previousJerseyNumber, player);
+      case SKILL_CHANGED:
+        return skillChanged(jerseyNumber, player, previousPlayer, skilledLevel,
+            previousSkilledLevel);
+      default:
+        return positionChanged(jerseyNumber, player, previousPlayer, position, previousPosition);
+    }
+  }
+
+  /**
+   * Gets the kind of the change.
+   *
+   * @return The kind of the change.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the jersey number of the player after the change,
+   * or before it if the player left the team.
+   *
+   * @return The jersey number.
+   */
+  public int getJerseyNumber() {
+    return jerseyNumber;
+  }
+
+  /**
+   * Gets the jersey number of the player before the change. It differs from the jersey number
+   * only for JERSEY_CHANGED.
+   *
+   * @return The previous jersey number.
+   */
+  public int getPreviousJerseyNumber() {
+    return previousJerseyNumber;
+  }
+
+  /**
+   * Gets the player.
+   *
+   * @return The player.
+   */
+  public PlayerInterface getPlayer() {
+    return player;
+  }
+
+  /**
+   * Gets the player before the change. It differs from the player only for POSITION_CHANGED
+   * and SKILL_CHANGED, where the player after the change is a copy with the new position
+   * or skill level.
+   *
+   * @return The previous player.
+   */
+  public PlayerInterface getPreviousPlayer() {
+    return previousPlayer;
+  }
+
+  /**
+   * Gets the actual position after a POSITION_CHANGED.
+   *
+   * @return The position, or null for the other kinds of changes.
+   */
+  public Position getPosition() {
+    return position;
+  }
+
+  /**
+   * Gets the actual position before a POSITION_CHANGED.
+   *
+   * @return The previous position, or null for the other kinds of changes.
+   */
+  public Position getPreviousPosition() {
+    return previousPosition;
+  }
+
+  /**
+   * Gets the skill level after a SKILL_CHANGED.
+   *
+   * @return The skill level, or 0 for the other kinds of changes.
+   */
+  public int getSkilledLevel() {
+    return skilledLevel;
+  }
+
+  /**
+   * Gets the skill level before a SKILL_CHANGED.
+   *
+   * @return The previous skill level, or 0 for the other kinds of changes.
+   */
+  public int getPreviousSkilledLevel() {
+    return previousSkilledLevel;
+  }
+
+  @Override
+  public String toString() {
+    String name = player.getFirstName() + " " + player.getLastName();
+    switch (type) {
+      case JERSEY_CHANGED:
+        return name + " " + type + " from " + previousJerseyNumber + " to " + jerseyNumber;
+      case POSITION_CHANGED:
+        return name + ", Jersey Number: " + jerseyNumber + " " + type + " from "
+            + previousPosition + " to " + position;
+      case SKILL_CHANGED:
+        return name + ", Jersey Number: " + jerseyNumber + " " + type + " from "
+            + previousSkilledLevel + " to " + skilledLevel;
+      default:
+        return name + ", Jersey Number: " + jerseyNumber + " " + type;
+    }
+  }
+}
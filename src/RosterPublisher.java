@@ -0,0 +1,248 @@
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes every new version of a roster to its subscribers, such as scoreboards or reports.
+ * Each subscriber receives the versions at its own pace, only as many as it has requested.
+ * Versions the subscriber has not requested yet wait in a small buffer of its own; when the
+ * buffer is full, the overflow policy decides which versions are dropped. Publishing therefore
+ * never waits for a subscriber, so a slow subscriber cannot slow down changes of the team.
+ * Every version carries its own changes, and a subscriber that missed versions can ask the team
+ * for the diff between the last two versions it received.
+ */
+public class RosterPublisher implements Flow.Publisher<RosterSnapshot> {
+  public static final int DEFAULT_BUFFER_SIZE = 16;
+  // delivers on threads of its own, so a subscriber stuck in onNext only holds up its own thread
+  private static final Executor DELIVERY_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "roster-publisher");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * What happens to a new version when the buffer of a subscriber is full.
+   */
+  public enum OverflowPolicy {
+    /** The oldest buffered version is dropped to make room for the new one. */
+    DROP_OLDEST,
+    /** All buffered versions are replaced by the new one, which contains the latest roster. */
+    CONFLATE
+  }
+
+  private final Executor executor;
+  private final List<RosterSubscription> subscriptions;
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new RosterPublisher that delivers on a shared pool of daemon threads.
+   */
+  public RosterPublisher() {
+    this(DELIVERY_EXECUTOR);
+  }
+
+  /**
+   * Constructs a new RosterPublisher.
+   *
+   * @param executor The executor that delivers the versions to the subscribers.
+   */
+  public RosterPublisher(Executor executor) {
+    this.executor = executor;
+    this.subscriptions = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Subscribes with a buffer of DEFAULT_BUFFER_SIZE versions that drops the oldest version
+   * when it is full.
+   *
+   * @param subscriber The subscriber.
+   */
+  @Override
+  public void subscribe(Flow.Subscriber<? super RosterSnapshot> subscriber) {
+    subscribe(subscriber, DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST);
+  }
+
+  /**
+   * Subscribes with the given buffer size and overflow policy.
+   *
+   * @param subscriber The subscriber.
+   * @param bufferSize The maximum number of versions waiting for the subscriber.
+   * @param policy     What happens to a new version when the buffer is full.
+   * @throws IllegalArgumentException If the buffer size is not positive.
+   */
+  public void subscribe(Flow.Subscriber<? super RosterSnapshot> subscriber, int bufferSize,
+      OverflowPolicy policy) {
+    Objects.requireNonNull(subscriber);
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("The buffer size must be positive.");
+    }
+    RosterSubscription subscription = new RosterSubscription(subscriber, bufferSize, policy);
+    subscriptions.add(subscription);
+    if (closed) {
+      subscription.complete();
+    }
+    subscription.schedule(); // delivers onSubscribe
+  }
+
+  /**
+   * Offers a new version to every subscriber. This method never blocks.
+   *
+   * @param snapshot The new version of the roster.
+   */
+  public void publish(RosterSnapshot snapshot) {
+    for (RosterSubscription subscription : subscriptions) {
+      subscription.offer(snapshot);
+    }
+  }
+
+  /**
+   * Completes every subscription once the buffered versions have been delivered.
+   */
+  public void close() {
+    closed = true;
+    for (RosterSubscription subscription : subscriptions) {
+      subscription.complete();
+    }
+  }
+
+  /**
+   * Gets the number of active subscribers.
+   *
+   * @return The number of subscribers.
+   */
+  public int getSubscriberCount() {
+    return subscriptions.size();
+  }
+
+  /**
+   * The subscription of one subscriber with its buffer and outstanding demand.
+   * All signals to the subscriber are sent by one drain task at a time, in order.
+   */
+  private final class RosterSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super RosterSnapshot> subscriber;
+    private final int bufferSize;
+    private final OverflowPolicy policy;
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+
+    // guarded by this subscription
+    private final ArrayDeque<RosterSnapshot> buffer = new ArrayDeque<>();
+    private long demand;
+    private boolean completed;
+    private Throwable error;
+
+    private volatile boolean cancelled;
+    private boolean subscribed; // only used by the drain task
+
+    private RosterSubscription(Flow.Subscriber<? super RosterSnapshot> subscriber,
+        int bufferSize, OverflowPolicy policy) {
+      this.subscriber = subscriber;
+      this.bufferSize = bufferSize;
+      this.policy = policy;
+    }
+
+    /**
+     * Buffers a version, dropping versions according to the policy if the buffer is full.
+     */
+    private void offer(RosterSnapshot snapshot) {
+      synchronized (this) {
+        if (cancelled || completed) {
+          return;
+        }
+        if (buffer.size() >= bufferSize) {
+          if (policy == OverflowPolicy.DROP_OLDEST) {
+            buffer.poll();
+          } else {
+            buffer.clear();
+          }
+        }
+        buffer.add(snapshot);
+      }
+      schedule();
+    }
+
+    private void complete() {
+      synchronized (this) {
+        completed = true;
+      }
+      schedule();
+    }
+
+    @Override
+    public void request(long n) {
+      synchronized (this) {
+        if (n <= 0) {
+          error = new IllegalArgumentException("The number of requested versions must be "
+              + "positive.");
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // saturates at Long.MAX_VALUE
+        }
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      subscriptions.remove(this);
+      synchronized (this) {
+        buffer.clear();
+      }
+    }
+
+    /**
+     * Starts a drain task unless one is already running, which then drains once more.
+     */
+    private void schedule() {
+      if (pendingDrains.getAndIncrement() == 0) {
+        executor.execute(this::drain);
+      }
+    }
+
+    /**
+     * Delivers buffered versions as long as there is demand, then completion or an error.
+     */
+    private void drain() {
+      int missed = 1;
+      do {
+        if (!subscribed) {
+          subscribed = true;
+          subscriber.onSubscribe(this);
+        }
+        while (!cancelled) {
+          RosterSnapshot next = null;
+          Throwable failure;
+          boolean done;
+          synchronized (this) {
+            failure = error;
+            if (failure == null && demand > 0 && !buffer.isEmpty()) {
+              next = buffer.poll();
+              demand--;
+            }
+            done = completed && buffer.isEmpty();
+          }
+          if (failure != null) {
+            cancel();
+            subscriber.onError(failure);
+          } else if (next != null) {
+            try {
+              subscriber.onNext(next);
+            } catch (RuntimeException e) {
+              cancel(); // a failing subscriber is treated as if it had cancelled
+            }
+            continue;
+          } else if (done) {
+            cancel();
+            subscriber.onComplete();
+          }
+          break;
+        }
+        missed = pendingDrains.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable version of the roster of a team. Every change of the roster creates a new
+ * version, which shares all unchanged players with the version before it.
+ * Snapshots can be read from any thread without locking.
+ * Every version records the changes that led to it from the version before.
+ */
+public final class RosterSnapshot {
+  private final long version;
+  private final Instant time;
+  private final PersistentMap<Integer, PlayerInterface> players;
+  private final List<RosterChange> changes;
+
+  /**
+   * Constructs a new RosterSnapshot.
+   *
+   * @param version The version number of the roster, increasing with every change.
+   * @param time    The time at which the version was created.
+   * @param players The players of this version, keyed by jersey number.
+   * @param changes The changes from the previous version to this version, in order.
+   */
+  public RosterSnapshot(long version, Instant time,
+      PersistentMap<Integer, PlayerInterface> players, List<RosterChange> changes) {
+    this.version = version;
+    this.time = time;
+    this.players = players;
+    this.changes = Collections.unmodifiableList(changes);
+  }
+
+  /**
+   * Gets the version number of the roster.
+   *
+   * @return The version number.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the time at which the version was created.
+   *
+   * @return The time of the version.
+   */
+  public Instant getTime() {
+    return time;
+  }
+
+  /**
+   * Gets the changes from the previous version to this version.
+   *
+   * @return The changes in the order they were made.
+   */
+  public List<RosterChange> getChanges() {
+    return changes;
+  }
+
+  /**
+   * Gets the players of this version.
+   *
+   * @return The immutable map of the players, keyed by jersey number.
+   */
+  public Map<Integer, PlayerInterface> getPlayers() {
+    return players;
+  }
+
+  /**
+   * Gets the player with the jersey number in this version.
+   *
+   * @param jerseyNumber The jersey number.
+   * @return The player, or null if no player had the jersey number.
+   */
+  public PlayerInterface getPlayerByJerseyNumber(int jerseyNumber) {
+    return players.get(jerseyNumber);
+  }
+
+  /**
+   * Gets the number of players in this version.
+   *
+   * @return The number of players.
+   */
+  public int getTeamSize() {
+    return players.size();
+  }
+
+  /**
+   * Gets the persistent map of the players, for restoring this version.
+   */
+  PersistentMap<Integer, PlayerInterface> getPlayerMap() {
+    return players;
+  }
+
+  @Override
+  public String toString() {
+    return "Version " + version + ": " + players.size() + " players";
+  }
+}
@@ -0,0 +1,162 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Plans the lineups of every period of every match in a season so that the playing time
+ * of the players is balanced, as required for U10 teams, within the formation of the division.
+ * The planner keeps a minute counter per player and a priority queue ordered by the minutes
+ * played so far, so each period only takes the players with the fewest minutes from the queue
+ * instead of recomputing the lineup from scratch.
+ */
+public class RotationPlanner {
+  private static final Position[] POSITIONS = {Position.GOALIE, Position.DEFENDER,
+      Position.MIDFIELDER, Position.FORWARD};
+
+  // open positions are filled in the same order as the starting lineup of the team:
+  // midfielders > defenders > forward > goalie
+  private static final int[] FILL_ORDER = {2, 1, 3, 0};
+
+  // number of players per position in the formation of the division, indexed like POSITIONS
+  private final int[] formation;
+  private final int lineupSize;
+  private final int periodsPerMatch;
+  private final int minutesPerPeriod;
+  private final int[] jerseyNumbers;
+  private final int[] skilledLevels;
+  private final int[] preferredPositions; // index into POSITIONS
+  private final int[] minutesPlayed;
+  private final PriorityQueue<Integer> queue; // player indexes, fewest minutes first
+
+  /**
+   * Constructs a new RotationPlanner for the current players of the given team.
+   *
+   * @param team             The team to plan the season for.
+   * @param periodsPerMatch  The number of periods in a match.
+   * @param minutesPerPeriod The length of a period in minutes.
+   * @throws IllegalArgumentException If the team has less than the minimum number of players,
+   *                                  or the number of periods or minutes is not positive.
+   */
+  public RotationPlanner(TeamModel team, int periodsPerMatch, int minutesPerPeriod) {
+    DivisionRules rules = team.getDivisionRules();
+    if (team.getTeamSize() < rules.getMinTeamSize()) {
+      throw new IllegalArgumentException("Cannot plan the season. "
+          + "The team must have at least " + rules.getMinTeamSize() + " players.");
+    }
+    if (periodsPerMatch <= 0 || minutesPerPeriod <= 0) {
+      throw new IllegalArgumentException("Periods and minutes must be positive.");
+    }
+    this.periodsPerMatch = periodsPerMatch;
+    this.minutesPerPeriod = minutesPerPeriod;
+
+    formation = new int[POSITIONS.length];
+    for (int i = 0; i < POSITIONS.length; i++) {
+      formation[i] = rules.getPlayersAt(POSITIONS[i]);
+    }
+    lineupSize = rules.getLineupSize();
+
+    int size = team.getTeamSize();
+    jerseyNumbers = new int[size];
+    skilledLevels = new int[size];
+    preferredPositions = new int[size];
+    minutesPlayed = new int[size];
+
+    int index = 0;
+    for (Map.Entry<Integer, PlayerInterface> entry : team.getPlayers().entrySet()) {
+      jerseyNumbers[index] = entry.getKey();
+      skilledLevels[index] = entry.getValue().getSkilledLevel();
+      preferredPositions[index] = entry.getValue().getPreferredPosition().ordinal();
+      index++;
+    }
+
+    // fewest minutes first, then the highest skilled level, then the lowest jersey number
+    queue = new PriorityQueue<>(size, Comparator.comparingInt((Integer i) -> minutesPlayed[i])
+        .thenComparing(i -> -skilledLevels[i])
+        .thenComparing(i -> jerseyNumbers[i]));
+    for (int i = 0; i < size; i++) {
+      queue.add(i);
+    }
+  }
+
+  /**
+   * Plans the lineups for the given number of matches, continuing from the minutes
+   * that have been planned so far.
+   *
+   * @param matches The number of matches to plan.
+   * @return The lineups of every period, in the order they are played.
+   */
+  public List<LineupAssignment> planSeason(int matches) {
+    List<LineupAssignment> lineups = new ArrayList<>(matches * periodsPerMatch);
+    for (int period = 0; period < matches * periodsPerMatch; period++) {
+      lineups.add(planPeriod());
+    }
+    return lineups;
+  }
+
+  /**
+   * Plans the lineup of the next period. The players with the fewest minutes are put on the
+   * field, preferably at their preferred position, and their minutes are increased.
+   *
+   * @return The lineup of the period.
+   */
+  public LineupAssignment planPeriod() {
+    int[] selected = new int[lineupSize];
+    for (int i = 0; i < lineupSize; i++) {
+      selected[i] = queue.poll();
+    }
+
+    int[] openSlots = formation.clone();
+    Position[] assigned = new Position[lineupSize];
+
+    // first, give the players their preferred position if it is still open
+    for (int i = 0; i < lineupSize; i++) {
+      int preferred = preferredPositions[selected[i]];
+      if (openSlots[preferred] > 0) {
+        assigned[i] = POSITIONS[preferred];
+        openSlots[preferred]--;
+      }
+    }
+
+    // then fill the remaining positions with the players that did not get their preference
+    for (int i = 0; i < lineupSize; i++) {
+      if (assigned[i] == null) {
+        for (int slot : FILL_ORDER) {
+          if (openSlots[slot] > 0) {
+            assigned[i] = POSITIONS[slot];
+            openSlots[slot]--;
+            break;
+          }
+        }
+      }
+    }
+
+    Map<Integer, Position> positions = new HashMap<>();
+    for (int jerseyNumber : jerseyNumbers) {
+      positions.put(jerseyNumber, Position.BENCH);
+    }
+    for (int i = 0; i < lineupSize; i++) {
+      positions.put(jerseyNumbers[selected[i]], assigned[i]);
+      minutesPlayed[selected[i]] += minutesPerPeriod;
+      queue.add(selected[i]); // re-insert with the updated minutes
+    }
+    return new LineupAssignment(positions);
+  }
+
+  /**
+   * Gets the number of minutes that have been planned for a player.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return The planned minutes, or -1 if the player is not part of the plan.
+   */
+  public int getMinutesPlayed(int jerseyNumber) {
+    for (int i = 0; i < jerseyNumbers.length; i++) {
+      if (jerseyNumbers[i] == jerseyNumber) {
+        return minutesPlayed[i];
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,256 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Runs a script of roster operations against a team without a user interface, for regression
+ * and load scenarios. The script is read line by line and the team of main keeps only the
+ * last MAX_HISTORY versions of its roster, so a script can hold millions of commands; the
+ * output is buffered. This class does not use any AWT or Swing class, so running it does not
+ * load the GUI toolkit.
+ *
+ * <pre>
+ * # a comment, empty lines are ignored as well
+ * add FIRST LAST YYYY-MM-DD POSITION SKILL   adds a player
+ * remove JERSEY                              removes a player
+ * lineup                                     prints the starting lineup
+ * bench                                      prints the bench players
+ * players                                    prints all players
+ * size                                       prints the team size
+ * undo                                       undoes the last change
+ * redo                                       redoes the last undone change
+ * save PATH                                  saves the players as CSV
+ * </pre>
+ *
+ * <p>A failing command prints an error with its line number, and the script continues.
+ */
+public class ScriptRunner {
+  // the versions of the roster kept by main, so a long script does not grow the history
+  // without bound while recent changes can still be undone
+  static final int MAX_HISTORY = 1000;
+
+  private final TeamModel model;
+  private final Writer output;
+  private final String[] tokens = new String[8]; // the tokens of the current line, reused
+
+  /**
+   * Constructs a new ScriptRunner.
+   *
+   * @param model  The team to run the commands against.
+   * @param output Where the results and errors are written.
+   */
+  public ScriptRunner(TeamModel model, Writer output) {
+    this.model = model;
+    this.output = output;
+  }
+
+  /**
+   * Runs all commands of the script. The output is flushed at the end, also if the script
+   * cannot be read.
+   *
+   * @param script The script.
+   * @return The number of commands that failed.
+   * @throws IOException If the script cannot be read or the output cannot be written.
+   */
+  public long run(BufferedReader script) throws IOException {
+    long errors = 0;
+    long lineNumber = 0;
+    String line;
+    try {
+      while ((line = script.readLine()) != null) {
+        lineNumber++;
+        int count = tokenize(line);
+        if (count == 0 || tokens[0].charAt(0) == '#') {
+          continue;
+        }
+        try {
+          execute(count);
+        } catch (RuntimeException e) {
+          errors++;
+          output.write("line " + lineNumber + ": error: " + e.getMessage() + "\n");
+        }
+      }
+    } finally {
+      output.flush();
+    }
+    return errors;
+  }
+
+  /**
+   * Executes the command in the tokens.
+   *
+   * @param count The number of tokens.
+   * @throws IllegalArgumentException If the command is unknown or has the wrong arguments.
+   */
+  private void execute(int count) throws IOException {
+    if (count > tokens.length) {
+      throw new IllegalArgumentException("Too many arguments: a command has at most "
+          + (tokens.length - 1) + ".");
+    }
+    String command = tokens[0];
+    switch (command) {
+      case "add":
+        checkArguments(count, 6, "add FIRST LAST YYYY-MM-DD POSITION SKILL");
+        String date = tokens[3];
+        if (date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+          throw new IllegalArgumentException("Invalid date of birth: " + date);
+        }
+        model.addPlayer(tokens[1], tokens[2], Integer.parseInt(date.substring(0, 4)),
+            Integer.parseInt(date.substring(5, 7)), Integer.parseInt(date.substring(8, 10)),
+            tokens[4], Integer.parseInt(tokens[5]));
+        break;
+      case "remove":
+        checkArguments(count, 2, "remove JERSEY");
+        output.write(model.removePlayer(Integer.parseInt(tokens[1])));
+        output.write('\n');
+        break;
+      case "lineup":
+        checkArguments(count, 1, "lineup");
+        output.write(model.getStartingLineupList());
+        break;
+      case "bench":
+        checkArguments(count, 1, "bench");
+        output.write(model.getBenchPlayers());
+        break;
+      case "players":
+        checkArguments(count, 1, "players");
+        output.write(model.getAllPlayersInTheTeam());
+        break;
+      case "size":
+        checkArguments(count, 1, "size");
+        output.write(Integer.toString(model.getTeamSize()));
+        output.write('\n');
+        break;
+      case "undo":
+        checkArguments(count, 1, "undo");
+        if (!model.undo()) {
+          throw new IllegalStateException("There is nothing to undo.");
+        }
+        break;
+      case "redo":
+        checkArguments(count, 1, "redo");
+        if (!model.redo()) {
+          throw new IllegalStateException("There is nothing to redo.");
+        }
+        break;
+      case "save":
+        checkArguments(count, 2, "save PATH");
+        save(tokens[1]);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown command: " + command);
+    }
+  }
+
+  /**
+   * Saves the players of the team as CSV, one player per line ordered by jersey number.
+   * Names are quoted where needed.
+   *
+   * @param path The path of the file.
+   * @throws UncheckedIOException If the file cannot be written, so the command fails like
+   *                              any other and the script continues.
+   */
+  private void save(String path) {
+    try (BufferedWriter file = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+      file.write("jerseyNumber,firstName,lastName,dateOfBirth,preferredPosition,skilledLevel\n");
+      for (Map.Entry<Integer, PlayerInterface> entry : model.getPlayers().entrySet()) {
+        PlayerInterface player = entry.getValue();
+        file.write(entry.getKey() + "," + csv(player.getFirstName()) + ","
+            + csv(player.getLastName()) + "," + player.getDateOfBirth() + ","
+            + player.getPreferredPosition() + "," + player.getSkilledLevel() + "\n");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot save to " + path + " ("
+          + e.getClass().getSimpleName() + ").", e);
+    }
+  }
+
+  /**
+   * Quotes a CSV field if it holds a comma, a quote or a line break, doubling its quotes.
+   */
+  static String csv(String field) {
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return '"' + field.replace("\"", "\"\"") + '"';
+      }
+    }
+    return field;
+  }
+
+  /**
+   * Checks the number of tokens of a command.
+   *
+   * @throws IllegalArgumentException If the number is wrong.
+   */
+  private static void checkArguments(int count, int expected, String usage) {
+    if (count != expected) {
+      throw new IllegalArgumentException("Usage: " + usage);
+    }
+  }
+
+  /**
+   * Splits a line at whitespace into the reused tokens array without regular expressions.
+   *
+   * @return The number of tokens, or one more than the length of the array
+   *         if the line has more tokens than fit.
+   */
+  private int tokenize(String line) {
+    int count = 0;
+    int i = 0;
+    int length = line.length();
+    while (i < length && count < tokens.length) {
+      while (i < length && Character.isWhitespace(line.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < length && !Character.isWhitespace(line.charAt(i))) {
+        i++;
+      }
+      if (i > start) {
+        tokens[count++] = line.substring(start, i);
+      }
+    }
+    while (i < length && Character.isWhitespace(line.charAt(i))) {
+      i++;
+    }
+    return i < length ? count + 1 : count;
+  }
+
+  /**
+   * Runs a script against a new, empty team and prints a summary to the standard error.
+   *
+   * @param args The path of the script, or none to read the standard input.
+   * @throws IOException If the script cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    long start = System.nanoTime();
+    BufferedReader script = new BufferedReader(new InputStreamReader(
+        args.length > 0 ? new FileInputStream(args[0]) : System.in, StandardCharsets.UTF_8),
+        1 << 16);
+    Writer output = new BufferedWriter(new OutputStreamWriter(System.out,
+        StandardCharsets.UTF_8), 1 << 16);
+    Team team = new Team();
+    team.setMaxHistory(MAX_HISTORY);
+    long errors;
+    try {
+      errors = new ScriptRunner(team, output).run(script);
+    } finally {
+      script.close();
+    }
+    System.err.println("Finished with " + errors + " errors in "
+        + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    if (errors > 0) {
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The aggregated results of many simulated seasons, as computed by MatchSimulator.
+ * Every season is a double round robin, so every team plays every other team at home and away.
+ */
+public class SeasonForecast {
+  private final List<String> teams;
+  private final long seasons;
+  private final long[] points;
+  private final long[] wins;
+  private final long[] draws;
+  private final long[] losses;
+  private final long[] goalsFor;
+  private final long[] goalsAgainst;
+  private final long[] titles;
+
+  /**
+   * Constructs a new SeasonForecast. The arrays are indexed like the teams and taken over.
+   */
+  SeasonForecast(List<String> teams, long seasons, long[] points, long[] wins, long[] draws,
+      long[] losses, long[] goalsFor, long[] goalsAgainst, long[] titles) {
+    this.teams = Collections.unmodifiableList(teams);
+    this.seasons = seasons;
+    this.points = points;
+    this.wins = wins;
+    this.draws = draws;
+    this.losses = losses;
+    this.goalsFor = goalsFor;
+    this.goalsAgainst = goalsAgainst;
+    this.titles = titles;
+  }
+
+  /**
+   * Gets the teams of the simulation.
+   *
+   * @return The names of the teams.
+   */
+  public List<String> getTeams() {
+    return teams;
+  }
+
+  /**
+   * Gets the number of simulated seasons.
+   *
+   * @return The number of seasons.
+   */
+  public long getSeasons() {
+    return seasons;
+  }
+
+  /**
+   * Gets the number of simulated matches, over all seasons.
+   *
+   * @return The number of matches.
+   */
+  public long getMatches() {
+    long teamMatches = 0;
+    for (int i = 0; i < teams.size(); i++) {
+      teamMatches += wins[i] + draws[i] + losses[i];
+    }
+    return teamMatches / 2;
+  }
+
+  /**
+   * Gets the average points of a team per season, 3 for a win and 1 for a draw.
+   *
+   * @param team The name of the team.
+   * @return The expected points.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getExpectedPoints(String team) {
+    return (double) points[indexOf(team)] / seasons;
+  }
+
+  /**
+   * Gets the probability that a team wins the season: the most points, then the best goal
+   * difference, then the most goals, with remaining ties broken at random.
+   *
+   * @param team The name of the team.
+   * @return The probability.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getTitleProbability(String team) {
+    return (double) titles[indexOf(team)] / seasons;
+  }
+
+  /**
+   * Gets the probability that a team wins a match.
+   *
+   * @param team The name of the team.
+   * @return The probability.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getWinProbability(String team) {
+    int i = indexOf(team);
+    return (double) wins[i] / (wins[i] + draws[i] + losses[i]);
+  }
+
+  /**
+   * Gets the probability that a match of a team is a draw.
+   *
+   * @param team The name of the team.
+   * @return The probability.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getDrawProbability(String team) {
+    int i = indexOf(team);
+    return (double) draws[i] / (wins[i] + draws[i] + losses[i]);
+  }
+
+  /**
+   * Gets the probability that a team loses a match.
+   *
+   * @param team The name of the team.
+   * @return The probability.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getLossProbability(String team) {
+    int i = indexOf(team);
+    return (double) losses[i] / (wins[i] + draws[i] + losses[i]);
+  }
+
+  /**
+   * Gets the average goals scored by a team per season.
+   *
+   * @param team The name of the team.
+   * @return The expected goals scored.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getExpectedGoalsFor(String team) {
+    return (double) goalsFor[indexOf(team)] / seasons;
+  }
+
+  /**
+   * Gets the average goals conceded by a team per season.
+   *
+   * @param team The name of the team.
+   * @return The expected goals conceded.
+   * @throws IllegalArgumentException If the team is not part of the simulation.
+   */
+  public double getExpectedGoalsAgainst(String team) {
+    return (double) goalsAgainst[indexOf(team)] / seasons;
+  }
+
+  /**
+   * Gets the expected standings.
+   *
+   * @return The names of the teams, by expected points from the most to the fewest.
+   */
+  public List<String> getStandings() {
+    List<String> standings = new ArrayList<>(teams);
+    standings.sort(Comparator.comparingDouble(this::getExpectedPoints).reversed());
+    return standings;
+  }
+
+  private int indexOf(String team) {
+    int index = teams.indexOf(team);
+    if (index < 0) {
+      throw new IllegalArgumentException("No team named " + team + " was simulated.");
+    }
+    return index;
+  }
+
+  /**
+   * Formats the expected standings as a table, one team per line.
+   *
+   * @return The table.
+   */
+  @Override
+  public String toString() {
+    StringBuilder table = new StringBuilder(String.format("%-20s %7s %6s %6s %6s %7s%n",
+        "Team", "Points", "Win", "Draw", "Loss", "Title"));
+    for (String team : getStandings()) {
+      table.append(String.format("%-20s %7.2f %6.3f %6.3f %6.3f %7.4f%n", team,
+          getExpectedPoints(team), getWinProbability(team), getDrawProbability(team),
+          getLossProbability(team), getTitleProbability(team)));
+    }
+    return table.toString();
+  }
+}
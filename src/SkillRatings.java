@@ -0,0 +1,299 @@
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Rates the players of a league from match results, in the manner of Elo ratings.
+ * Every player has a continuous rating, which starts from the skill level typed in for the
+ * player. After a match, the starters of the winning team gain what the starters of the losing
+ * team lose, more so if the result was unexpected given the average ratings of the two lineups,
+ * and more so for a large goal difference. The ratings are then mapped back to the skill scale
+ * of the division, which the starting lineup and the eviction of players rely on.
+ *
+ * <p>A batch of results, such as a whole season, is processed in one pass. The divisions are
+ * independent of each other, so they are processed in parallel. The starting lineups are read
+ * once at the start of the batch, and the results of a division are applied to primitive
+ * arrays of ratings. Only the teams in which a skill level changed get a new version of their
+ * roster, so only their cached starting lineups are recomputed.
+ */
+public class SkillRatings {
+  static final double INITIAL_RATING = 1500; // the rating of the middle of the skill scale
+  static final double POINTS_PER_LEVEL = 100;
+  static final double K_FACTOR = 20;
+  static final double HOME_ADVANTAGE = 50;
+
+  private final League league;
+  private final Map<Long, Double> ratings; // by identity fingerprint of the player
+
+  /**
+   * Constructs new SkillRatings for the teams of a league.
+   *
+   * @param league The league.
+   */
+  public SkillRatings(League league) {
+    this.league = league;
+    this.ratings = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Converts a skill level to the rating of a player who has not played yet.
+   *
+   * @param skilledLevel The skill level.
+   * @param rules        The rules of the division, with its skill scale.
+   * @return The rating.
+   */
+  static double toRating(int skilledLevel, DivisionRules rules) {
+    double middle = (rules.getMinSkilledLevel() + rules.getMaxSkilledLevel()) / 2.0;
+    return INITIAL_RATING + (skilledLevel - middle) * POINTS_PER_LEVEL;
+  }
+
+  /**
+   * Converts a rating to the nearest skill level on the scale of the division.
+   *
+   * @param rating The rating.
+   * @param rules  The rules of the division, with its skill scale.
+   * @return The skill level.
+   */
+  static int toSkilledLevel(double rating, DivisionRules rules) {
+    double middle = (rules.getMinSkilledLevel() + rules.getMaxSkilledLevel()) / 2.0;
+    long level = Math.round(middle + (rating - INITIAL_RATING) / POINTS_PER_LEVEL);
+    return (int) Math.max(rules.getMinSkilledLevel(),
+        Math.min(rules.getMaxSkilledLevel(), level));
+  }
+
+  /**
+   * Gets the rating of a player. A player whose skill level was changed by hand since the last
+   * batch, so that it no longer matches the rating, is rated from that skill level again.
+   *
+   * @param player The player.
+   * @param rules  The rules of the division of the player.
+   * @return The rating.
+   */
+  public double getRating(PlayerInterface player, DivisionRules rules) {
+    Double rating = ratings.get(PlayerIdentity.fingerprint(player));
+    if (rating == null || toSkilledLevel(rating, rules) != player.getSkilledLevel()) {
+      return toRating(player.getSkilledLevel(), rules);
+    }
+    return rating;
+  }
+
+  /**
+   * Updates the ratings from a batch of results, in the order they were played, and gives the
+   * players their new skill levels. Each team whose levels change records them as one version
+   * of its roster.
+   *
+   * @param results The results, in the order they were played.
+   * @return The number of players whose skill level changed, by team, for the changed teams only.
+   * @throws IllegalArgumentException If a team is not part of the league, the two teams of a
+   *                                  match play in different divisions, or a team cannot field
+   *                                  a starting lineup. Nothing is changed then.
+   */
+  public Map<String, Integer> processResults(List<MatchResult> results) {
+    Map<DivisionRules, List<MatchResult>> divisions = new LinkedHashMap<>();
+    for (MatchResult result : results) {
+      DivisionRules rules = getTeam(result.getHomeTeam()).getDivisionRules();
+      if (getTeam(result.getAwayTeam()).getDivisionRules() != rules) {
+        throw new IllegalArgumentException(result.getHomeTeam() + " and "
+            + result.getAwayTeam() + " play in different divisions.");
+      }
+      divisions.computeIfAbsent(rules, division -> new ArrayList<>()).add(result);
+    }
+
+    // the lineups are all read before any rating changes, so an error changes nothing
+    List<DivisionBatch> batches = new ArrayList<>();
+    for (Map.Entry<DivisionRules, List<MatchResult>> entry : divisions.entrySet()) {
+      batches.add(new DivisionBatch(entry.getKey(), entry.getValue()));
+    }
+    List<Map<String, Integer>> changes = batches.parallelStream()
+        .map(DivisionBatch::process)
+        .collect(Collectors.toList());
+
+    Map<String, Integer> changedTeams = new LinkedHashMap<>();
+    for (Map<String, Integer> division : changes) {
+      changedTeams.putAll(division);
+    }
+    return changedTeams;
+  }
+
+  private TeamModel getTeam(String name) {
+    TeamModel team = league.getTeam(name);
+    if (team == null) {
+      throw new IllegalArgumentException("No team named " + name + " is registered.");
+    }
+    return team;
+  }
+
+  /**
+   * The results of one division, with the starters of its teams and their ratings
+   * in primitive arrays.
+   */
+  private final class DivisionBatch {
+    private final DivisionRules rules;
+    private final List<String> teamNames = new ArrayList<>();
+    private final int[] homeTeams; // indexes into teamNames, for every result
+    private final int[] awayTeams;
+    private final int[] goalDifferences; // home goals - away goals
+    private int[] firstStarter; // the starters of team t are at firstStarter[t] until [t + 1]
+    private int[] jerseyNumbers;
+    private PlayerInterface[] players;
+    private double[] playerRatings;
+
+    private DivisionBatch(DivisionRules rules, List<MatchResult> results) {
+      this.rules = rules;
+      Map<String, Integer> teamIndexes = new HashMap<>();
+      homeTeams = new int[results.size()];
+      awayTeams = new int[results.size()];
+      goalDifferences = new int[results.size()];
+      for (int i = 0; i < results.size(); i++) {
+        MatchResult result = results.get(i);
+        homeTeams[i] = teamIndexes.computeIfAbsent(result.getHomeTeam(), this::addTeam);
+        awayTeams[i] = teamIndexes.computeIfAbsent(result.getAwayTeam(), this::addTeam);
+        goalDifferences[i] = result.getHomeGoals() - result.getAwayGoals();
+      }
+
+      List<int[]> lineups = new ArrayList<>();
+      int starters = 0;
+      for (String name : teamNames) {
+        int[] lineup;
+        try {
+          lineup = getTeam(name).computeStartingLineup().getStarters().stream()
+              .mapToInt(Integer::intValue).toArray();
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException(name + ": " + e.getMessage());
+        }
+        lineups.add(lineup);
+        starters += lineup.length;
+      }
+      firstStarter = new int[teamNames.size() + 1];
+      jerseyNumbers = new int[starters];
+      players = new PlayerInterface[starters];
+      playerRatings = new double[starters];
+      int slot = 0;
+      for (int t = 0; t < teamNames.size(); t++) {
+        firstStarter[t] = slot;
+        TeamModel team = getTeam(teamNames.get(t));
+        for (int jerseyNumber : lineups.get(t)) {
+          jerseyNumbers[slot] = jerseyNumber;
+          players[slot] = team.getPlayerByJerseyNumber(jerseyNumber);
+          playerRatings[slot] = getRating(players[slot], rules);
+          slot++;
+        }
+      }
+      firstStarter[teamNames.size()] = slot;
+    }
+
+    private int addTeam(String name) {
+      teamNames.add(name);
+      return teamNames.size() - 1;
+    }
+
+    /**
+     * Applies the results in order, then stores the ratings and updates the skill levels.
+     *
+     * @return The number of players whose skill level changed, by changed team.
+     */
+    private Map<String, Integer> process() {
+      for (int i = 0; i < homeTeams.length; i++) {
+        int home = homeTeams[i];
+        int away = awayTeams[i];
+        double expected = 1 / (1 + Math.pow(10,
+            (averageRating(away) - averageRating(home) - HOME_ADVANTAGE) / 400));
+        int difference = goalDifferences[i];
+        double actual = difference > 0 ? 1 : difference < 0 ? 0 : 0.5;
+        // a clear win says more about the strength of the teams than a narrow one
+        double margin = Math.abs(difference) <= 1 ? 1
+            : Math.abs(difference) == 2 ? 1.5 : (11 + Math.abs(difference)) / 8.0;
+        double delta = K_FACTOR * margin * (actual - expected);
+        for (int p = firstStarter[home]; p < firstStarter[home + 1]; p++) {
+          playerRatings[p] += delta;
+        }
+        for (int p = firstStarter[away]; p < firstStarter[away + 1]; p++) {
+          playerRatings[p] -= delta;
+        }
+      }
+
+      Map<String, Integer> changedTeams = new LinkedHashMap<>();
+      for (int t = 0; t < teamNames.size(); t++) {
+        Map<Integer, Integer> levels = new HashMap<>();
+        for (int p = firstStarter[t]; p < firstStarter[t + 1]; p++) {
+          ratings.put(PlayerIdentity.fingerprint(players[p]), playerRatings[p]);
+          int level = toSkilledLevel(playerRatings[p], rules);
+          if (level != players[p].getSkilledLevel()) {
+            levels.put(jerseyNumbers[p], level);
+          }
+        }
+        if (!levels.isEmpty()) {
+          changedTeams.put(teamNames.get(t), getTeam(teamNames.get(t)).updateSkilledLevels(levels));
+        }
+      }
+      return changedTeams;
+    }
+
+    private double averageRating(int team) {
+      double sum = 0;
+      for (int p = firstStarter[team]; p < firstStarter[team + 1]; p++) {
+        sum += playerRatings[p];
+      }
+      return sum / (firstStarter[team + 1] - firstStarter[team]);
+    }
+  }
+
+  /**
+   * Rates the players of a league from a season of random results and prints the time it takes.
+   *
+   * @param args The number of teams per division, 200 by default.
+   */
+  public static void main(String[] args) {
+    int teamsPerDivision = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    Clock clock = Clock.systemDefaultZone();
+    int year = LocalDate.now(clock).getYear();
+    String[] positions = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+    SplittableRandom random = new SplittableRandom(42);
+
+    League league = new League();
+    DivisionRules[] divisions = {DivisionRules.U8, DivisionRules.U10, DivisionRules.U12};
+    for (DivisionRules rules : divisions) {
+      for (int t = 0; t < teamsPerDivision; t++) {
+        TeamModel team = new Team(rules, clock);
+        for (int p = 0; p < rules.getMinTeamSize() + 2; p++) {
+          team.addPlayer("Player" + p, rules.getName() + "Team" + t, year - rules.getMaxAge() + 2,
+              1 + p % 12, 1 + p, positions[p % positions.length],
+              rules.getMinSkilledLevel() + random.nextInt(
+                  rules.getMaxSkilledLevel() - rules.getMinSkilledLevel() + 1));
+        }
+        league.registerTeam(rules.getName() + " " + t, team);
+      }
+    }
+
+    List<MatchResult> results = new ArrayList<>();
+    FixtureScheduler scheduler = new FixtureScheduler(LocalDate.of(year, 9, 1),
+        EnumSet.of(DayOfWeek.SATURDAY), teamsPerDivision / 2);
+    for (FixtureSchedule schedule : scheduler.schedule(league).values()) {
+      for (int i = 0; i < schedule.size(); i++) {
+        results.add(new MatchResult(schedule.getHomeTeam(i), schedule.getAwayTeam(i),
+            random.nextInt(5), random.nextInt(5)));
+      }
+    }
+
+    SkillRatings skillRatings = new SkillRatings(league);
+    long start = System.nanoTime();
+    Map<String, Integer> changed = skillRatings.processResults(results);
+    long elapsed = System.nanoTime() - start;
+    int players = 0;
+    for (int count : changed.values()) {
+      players += count;
+    }
+    System.out.println(results.size() + " results of " + league.size() + " teams processed in "
+        + elapsed / 1_000_000 + " ms: " + players + " skill levels changed in "
+        + changed.size() + " teams.");
+  }
+}
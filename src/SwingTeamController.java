@@ -1,15 +1,49 @@
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.Clock;
 import java.time.DateTimeException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
 
 /**
  * The SwingTeamController class implements the ControllerInterface and ActionListener interface,
  * providing control logic for the team management application's GUI.
+ *
+ * <p>Every command of the view has a handler in a registry. A handler asks the model only for
+ * the data it displays. Commands that only display data are debounced: when the same command
+ * comes again within the debounce window and the roster has not changed since it ran, such as
+ * a double click on "Generate Starting Line Up", the repetition is dropped. The execution time
+ * of every command is recorded.
  */
 public class SwingTeamController implements ControllerInterface, ActionListener {
   private final TeamModel model;
   private final ViewInterface view;
+  private final Clock clock;
+  private static final int NAME_SEARCH_LIMIT = 10;
+  static final long DEBOUNCE_WINDOW_MILLIS = 300;
+
+  /**
+   * A registered command.
+   */
+  private static final class Command {
+    private final Runnable handler;
+    private final boolean debounced; // whether repeating it without a change shows the same
+    private final LongSummaryStatistics times = new LongSummaryStatistics(); // in nanoseconds
+
+    private Command(Runnable handler, boolean debounced) {
+      this.handler = handler;
+      this.debounced = debounced;
+    }
+  }
+
+  private final Map<String, Command> commands = new LinkedHashMap<>();
+  private String lastCommand;
+  private long lastCommandEndMillis;
+  private long lastCommandVersion; // the roster version after the last command
+  private long coalescedCommands;
 
   /**
    * Constructs a SwingTeamController object.
@@ -17,8 +51,81 @@ public class SwingTeamController implements ControllerInterface, ActionListener
    * @param view The ViewInterface instance representing the graphical user interface.
    */
   public SwingTeamController(TeamModel model, ViewInterface view) {
+    this(model, view, Clock.systemDefaultZone());
+  }
+
+  /**
+   * Constructs a SwingTeamController object that debounces commands with the given clock.
+   * @param model The TeamModel instance representing the application's data model.
+   * @param view The ViewInterface instance representing the graphical user interface.
+   * @param clock The clock that measures the debounce window.
+   */
+  public SwingTeamController(TeamModel model, ViewInterface view, Clock clock) {
     this.model = model;
     this.view = view;
+    this.clock = clock;
+
+    // switch to add player page, not adding player!
+    register("Add New Player", true, () ->
+        view.switchToAddPage(model.getAllPlayersInTheTeam(), model.getTeamSize()));
+    register("Submit", false, () -> passValidInfoToModel(view.getPlayerInfo()));
+    register("Refresh Add Page", true, () -> {
+      view.switchToStartPage();
+      view.switchToAddPage(model.getAllPlayersInTheTeam(), model.getTeamSize());
+    });
+    // switch to remove player page, not removing player
+    register("Remove Player", true, () ->
+        view.switchToRemovePage(model.getAllPlayersInTheTeam(), model.getTeamSize()));
+    register("Remove", false, this::removeValidPlayer); // remove a player
+    // update the displayed players after removing
+    register("Refresh Remove Page", true, () -> {
+      view.switchToStartPage();
+      view.switchToRemovePage(model.getAllPlayersInTheTeam(), model.getTeamSize());
+    });
+    // undo the last change of the roster, such as a mistaken removal
+    register("Undo", false, () -> {
+      if (model.undo()) {
+        view.showSuccessMessage("The last change has been undone.");
+        view.switchToStartPage();
+        view.switchToRemovePage(model.getAllPlayersInTheTeam(), model.getTeamSize());
+      } else {
+        view.showFailureMessage("There is nothing to undo.");
+      }
+    });
+    // redo the last undone change of the roster
+    register("Redo", false, () -> {
+      if (model.redo()) {
+        view.showSuccessMessage("The last undone change has been redone.");
+        view.switchToStartPage();
+        view.switchToRemovePage(model.getAllPlayersInTheTeam(), model.getTeamSize());
+      } else {
+        view.showFailureMessage("There is nothing to redo.");
+      }
+    });
+    // switch to the Team Page
+    register("View Team Details", true, () ->
+        view.switchToTeamPage(model.getAllPlayersInTheTeam(), "", "", model.getTeamSize()));
+    register("Generate Starting Line Up", true, () -> {
+      String startingLineUp = validateStartingLineUp();
+      // without a valid lineup there is no bench either, and the failure is already shown
+      String playersOnTheBench = startingLineUp.isEmpty() ? "" : model.getBenchPlayers();
+      view.switchToStartPage();
+      view.switchToTeamPage(model.getAllPlayersInTheTeam(), startingLineUp, playersOnTheBench,
+          model.getTeamSize());
+    });
+    register("Go Back", true, view::switchToStartPage);
+    register("Exit Application", false, () -> System.exit(0));
+  }
+
+  /**
+   * Registers the handler of a command.
+   *
+   * @param name      The command, which is the label of its button.
+   * @param debounced Whether a repetition without a change of the roster can be dropped.
+   * @param handler   The handler.
+   */
+  private void register(String name, boolean debounced, Runnable handler) {
+    commands.put(name, new Command(handler, debounced));
   }
 
 
@@ -29,6 +136,8 @@ public class SwingTeamController implements ControllerInterface, ActionListener
   public void start() {
     // the controller is set as the action listener for the buttons
     view.setActionListener(this);
+    // the type-ahead search on the remove and team pages asks the model for matching names
+    view.setNameSearchHandler(prefix -> model.findPlayersByNamePrefix(prefix, NAME_SEARCH_LIMIT));
   }
 
   /**
@@ -38,60 +147,55 @@ public class SwingTeamController implements ControllerInterface, ActionListener
    */
   @Override
   public void actionPerformed(ActionEvent e) {
-    String command = e.getActionCommand();
-
-    String currentPlayers = model.getAllPlayersInTheTeam();
-    int teamSize = model.getTeamSize();
-    String startingLineUp, playersOnTheBench;
-
-    switch (command) {
-      case "Add New Player": // switch to add player page, not adding player!
-        view.switchToAddPage(currentPlayers, teamSize);
-        break;
-
-      case "Submit":
-        List<String> infoList = view.getPlayerInfo();
-        passValidInfoToModel(infoList);
-        break;
-
-      case "Refresh Add Page":
-        view.switchToStartPage();
-        view.switchToAddPage(currentPlayers, teamSize);
-        break;
-
-      case "Remove Player": // switch to remove player page, not removing player
-        view.switchToRemovePage(currentPlayers, teamSize);
-        break;
-
-      case "Remove": // remove a player
-        removeValidPlayer();
-        break;
-
-      case "Refresh Remove Page": // update the displayed players after removing
-        view.switchToStartPage();
-        view.switchToRemovePage(currentPlayers, teamSize);
-        break;
-
-      case "View Team Details": // switch to the Team Page
-        view.switchToTeamPage(currentPlayers, "", "", teamSize);
-        break;
-
-      case "Generate Starting Line Up":
-        startingLineUp = validateStartingLineUp();
-        playersOnTheBench = model.getBenchPlayers();
-        view.switchToStartPage();
-        view.switchToTeamPage(currentPlayers, startingLineUp, playersOnTheBench, teamSize);
-        break;
+    String name = e.getActionCommand();
+    Command command = commands.get(name);
+    if (command == null) {
+      return; // not a command of this controller
+    }
 
-      case "Go Back":
-        view.switchToStartPage();
-        break;
+    if (command.debounced && name.equals(lastCommand)
+        && clock.millis() - lastCommandEndMillis < DEBOUNCE_WINDOW_MILLIS
+        && model.getSnapshot().getVersion() == lastCommandVersion) {
+      coalescedCommands++;
+      return; // the view already shows what the command would show
+    }
 
-      case "Exit Application":
-        System.exit(0);
-        break;
+    long start = System.nanoTime();
+    try {
+      command.handler.run();
+    } finally {
+      command.times.accept(System.nanoTime() - start);
+      lastCommand = name;
+      lastCommandEndMillis = clock.millis();
+      lastCommandVersion = model.getSnapshot().getVersion();
+    }
+  }
 
+  /**
+   * Gets the execution times of the commands that have run, in nanoseconds.
+   * Dropped repetitions are not included.
+   *
+   * @return A copy of the statistics of every command that has run at least once, by command.
+   */
+  public Map<String, LongSummaryStatistics> getCommandTimes() {
+    Map<String, LongSummaryStatistics> times = new LinkedHashMap<>();
+    for (Map.Entry<String, Command> entry : commands.entrySet()) {
+      LongSummaryStatistics copy = new LongSummaryStatistics();
+      copy.combine(entry.getValue().times);
+      if (copy.getCount() > 0) {
+        times.put(entry.getKey(), copy);
+      }
     }
+    return Collections.unmodifiableMap(times);
+  }
+
+  /**
+   * Gets the number of repeated commands that were dropped by debouncing.
+   *
+   * @return The number of dropped commands.
+   */
+  public long getCoalescedCommands() {
+    return coalescedCommands;
   }
 
   /**
@@ -155,12 +259,13 @@ public class SwingTeamController implements ControllerInterface, ActionListener
   }
 
   /**
-   * Validates and retrieves the starting lineup from the model.
+   * Validates, commits and retrieves the starting lineup from the model.
    *
    * @return The starting lineup of the team as a formatted string.
    */
   private String validateStartingLineUp() {
     try {
+      model.commitLineup(model.computeStartingLineup());
       return model.getStartingLineupList();
     } catch (IllegalArgumentException e) {
       view.showFailureMessage(e.getMessage()); // Team size is less than 10
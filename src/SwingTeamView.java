@@ -1,6 +1,11 @@
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
 
@@ -17,14 +22,17 @@ public class SwingTeamView extends JFrame implements ViewInterface {
   private final JButton exitButton;
   private final JPanel panelContainer;
   private final JPanel panelStart;
-  private final JPanel panelAddPlayer;
-  private final JPanel panelRemovePlayer;
-  private final JPanel panelTeam;
+  // the other pages are built on their first visit and reused afterwards
+  private JPanel panelAddPlayer;
+  private JPanel panelRemovePlayer;
+  private JPanel panelTeam;
 
   private final JButton submitButton;
   private final JButton removeButton;
   private final JButton refreshButtonForAdd;
   private final JButton refreshButtonForRemove;
+  private final JButton undoButton;
+  private final JButton redoButton;
   private final JButton startingLineUpButton;
 
   private JTextField firstNameField, lastNameField, yearField, dayField, jerseyNumberField;
@@ -33,6 +41,28 @@ public class SwingTeamView extends JFrame implements ViewInterface {
   private static final int DEFAULT_SKILLED_LEVEL_INDEX = 0;
   private JComboBox<String> monthComboBox, positionComboBox, skilledLevelComboBox;
   private final CardLayout c1;
+  private Function<String, Map<Integer, String>> nameSearchHandler;
+  private Runnable firstPaintListener;
+
+  // the parts of the pages that change between visits
+  private JTextArea addPagePlayersTextArea, removePagePlayersTextArea;
+  private JTextArea teamPagePlayersTextArea, startingLineupTextArea, playersOnBenchTextArea;
+  private JPanel addPageReturnSlot, removePageReturnSlot, teamPageReturnSlot;
+
+  private static final String PLAYERS_HEADER =
+      "Current Players in the Team (Team Size: %d)\n\n"
+      + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
+      + "----------------------------------------------------------------\n";
+  private static final String TEAM_PLAYERS_HEADER =
+      "Current Players in the Team (Team Size: %d)\n\n"
+      + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
+      + "--------------------------------------------------\n";
+  private static final String STARTING_LINEUP_HEADER = "Starting Lineup\n\n"
+      + "Displayed Form:\nFirst Name, Last Name, Jersey Number, Position\n"
+      + "--------------------------------------------------\n";
+  private static final String BENCH_HEADER = "Players on Bench\n\n"
+      + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
+      + "--------------------------------------------------\n";
 
   /**
    * Constructs a SwingTeamView with the specified title.
@@ -49,9 +79,6 @@ public class SwingTeamView extends JFrame implements ViewInterface {
 
     panelContainer = new JPanel();
     panelStart = new JPanel();
-    panelAddPlayer = new JPanel();
-    panelRemovePlayer = new JPanel();
-    panelTeam = new JPanel();
 
     /*
       Very important point: Buttons must be defined within the view constructor.
@@ -77,6 +104,10 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     refreshButtonForAdd.setForeground(new Color(164, 89, 209));
     refreshButtonForRemove = new JButton("Refresh Remove Page");
     refreshButtonForRemove.setForeground(new Color(164, 89, 209));
+    undoButton = new JButton("Undo");
+    undoButton.setForeground(new Color(68, 119, 206));
+    redoButton = new JButton("Redo");
+    redoButton.setForeground(new Color(68, 119, 206));
     startingLineUpButton = new JButton("Generate Starting Line Up");
     startingLineUpButton.setForeground(new Color(0, 128, 0));
 
@@ -87,11 +118,9 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     initializeStartPage(); // initialize start page
 
     // These names are used as identifiers for each panel so that
-    // we can easily switch between them using the CardLayout methods
+    // we can easily switch between them using the CardLayout methods.
+    // The pages "2-1", "2-2" and "2-3" are added when they are first shown.
     panelContainer.add(panelStart, "1");
-    panelContainer.add(panelAddPlayer, "2-1");
-    panelContainer.add(panelRemovePlayer, "2-2");
-    panelContainer.add(panelTeam, "2-3");
 
     // By default, set the start page as the initially displayed panel.
     c1.show(panelContainer, "1");
@@ -99,6 +128,27 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     // Add the panelContainer to the main frame
     add(panelContainer);
     pack();
+    setVisible(true);
+  }
+
+  /**
+   * Sets a listener that is run once, on the Event Dispatch Thread,
+   * after the frame has been painted for the first time.
+   *
+   * @param listener The listener.
+   */
+  public void setFirstPaintListener(Runnable listener) {
+    this.firstPaintListener = listener;
+  }
+
+  @Override
+  public void paint(Graphics g) {
+    super.paint(g);
+    if (firstPaintListener != null) {
+      Runnable listener = firstPaintListener;
+      firstPaintListener = null;
+      listener.run();
+    }
   }
 
 
@@ -171,28 +221,29 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     removePageButton.setAlignmentX(Component.CENTER_ALIGNMENT);
     teamPageButton.setAlignmentX(Component.CENTER_ALIGNMENT);
     exitButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-    setVisible(true);
   }
 
 
 
   @Override
   public void switchToAddPage(String currentPlayers, int teamSize) {
-    showAddPage(currentPlayers, teamSize);
+    if (panelAddPlayer == null) {
+      initializeAddPage();
+      panelContainer.add(panelAddPlayer, "2-1");
+    } else {
+      clearPlayerInfoFields(); // a revisit starts with empty fields, like the first visit
+    }
+    addPagePlayersTextArea.setText(String.format(PLAYERS_HEADER, teamSize) + currentPlayers);
+    moveReturnButton(addPageReturnSlot);
     c1.show(panelContainer, "2-1");
   }
 
   /**
-   * Initializes and displays the "Add New Player" page with input fields and information.
-   *
-   * @param currentPlayers A string containing information about the current players in the team.
-   * @param teamSize The current size of the team.
+   * Builds the "Add New Player" page with input fields and information.
+   * The page is built once and its components are reused on every visit.
    */
-  private void showAddPage(String currentPlayers, int teamSize) {
-    clearPage(panelAddPlayer); // Clear existing components
-
-    panelAddPlayer.setLayout(new GridBagLayout());
+  private void initializeAddPage() {
+    panelAddPlayer = new JPanel(new GridBagLayout());
     GridBagConstraints gbc = new GridBagConstraints();
     gbc.insets = new Insets(10, 100, 20, 100);
 
@@ -294,9 +345,10 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     gbcFields.gridy = 6;
     buttonAndFieldsPanel.add(skilledLevelComboBox, gbcFields);
 
+    addPageReturnSlot = createReturnSlot();
     gbcFields.gridx = 0;
     gbcFields.gridy = 7;
-    buttonAndFieldsPanel.add(returnButton, gbcFields);
+    buttonAndFieldsPanel.add(addPageReturnSlot, gbcFields);
 
 
     gbcFields.gridx = 1;
@@ -314,12 +366,9 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     JPanel currentPlayersPanel = new JPanel();
     currentPlayersPanel.setLayout(new BorderLayout());
 
-    String displayText = "Current Players in the Team (Team Size: "+ teamSize + ")"+"\n\n"
-        + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
-        + "----------------------------------------------------------------\n";
-    JTextArea currentPlayersTextArea = new JTextArea(displayText + currentPlayers);
-    currentPlayersTextArea.setEditable(false);
-    currentPlayersPanel.add(currentPlayersTextArea, BorderLayout.CENTER);
+    addPagePlayersTextArea = new JTextArea();
+    addPagePlayersTextArea.setEditable(false);
+    currentPlayersPanel.add(addPagePlayersTextArea, BorderLayout.CENTER);
 
 
     gbc.gridx = 1;
@@ -386,20 +435,23 @@ public class SwingTeamView extends JFrame implements ViewInterface {
 
   @Override
   public void switchToRemovePage(String currentPlayers, int teamSize) {
-    showRemovePage(currentPlayers, teamSize);
+    if (panelRemovePlayer == null) {
+      initializeRemovePage();
+      panelContainer.add(panelRemovePlayer, "2-2");
+    } else {
+      clearJerseyNumberFields(); // a revisit starts with an empty field, like the first visit
+    }
+    removePagePlayersTextArea.setText(String.format(PLAYERS_HEADER, teamSize) + currentPlayers);
+    moveReturnButton(removePageReturnSlot);
     c1.show(panelContainer, "2-2");
   }
 
   /**
-   * Displays the "Remove Player" page with components for removing a player from the team.
-   *
-   * @param currentPlayers A formatted string containing the list of current players in the team.
-   * @param teamSize The current size of the team.
+   * Builds the "Remove Player" page with components for removing a player from the team.
+   * The page is built once and its components are reused on every visit.
    */
-  private void showRemovePage(String currentPlayers, int teamSize) {
-    clearPage(panelRemovePlayer); // Clear existing components
-
-    panelRemovePlayer.setLayout(new GridBagLayout());
+  private void initializeRemovePage() {
+    panelRemovePlayer = new JPanel(new GridBagLayout());
     GridBagConstraints gbc = new GridBagConstraints();
     gbc.insets = new Insets(10, 10, 20, 10);
 
@@ -439,29 +491,42 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     gbc.gridy = 1;
     panelRemovePlayer.add(removeButton, gbc);
 
+    // choosing a player found by name fills in the jersey number
     gbc.gridx = 0;
     gbc.gridy = 2;
-    panelRemovePlayer.add(returnButton, gbc);
+    gbc.gridwidth = 3; // Span across 3 columns
+    panelRemovePlayer.add(createNameSearchPanel(jerseyNumberField), gbc);
+    gbc.gridwidth = 1;
+
+    removePageReturnSlot = createReturnSlot();
+    gbc.gridx = 0;
+    gbc.gridy = 3;
+    panelRemovePlayer.add(removePageReturnSlot, gbc);
+
+    // a removed player can be brought back by undoing the removal
+    JPanel undoRedoPanel = new JPanel();
+    undoRedoPanel.add(undoButton);
+    undoRedoPanel.add(redoButton);
+    gbc.gridx = 1;
+    gbc.gridy = 3;
+    panelRemovePlayer.add(undoRedoPanel, gbc);
 
     gbc.gridx = 2;
-    gbc.gridy = 2;
+    gbc.gridy = 3;
     panelRemovePlayer.add(refreshButtonForRemove, gbc);
 
 
     // Add a JTextArea to display current players
-    String displayText = "Current Players in the Team (Team Size: "+ teamSize + ")"+"\n\n"
-        + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
-        + "----------------------------------------------------------------\n";
-    JTextArea playerDisplayArea = new JTextArea(displayText + currentPlayers);
-    playerDisplayArea.setEditable(false);
+    removePagePlayersTextArea = new JTextArea();
+    removePagePlayersTextArea.setEditable(false);
 
 
     gbc.gridx = 0;
-    gbc.gridy = 3;
+    gbc.gridy = 4;
     gbc.gridwidth = 3; // Span across 3 columns
     gbc.weighty = 1.0; // Take up available vertical space
     gbc.fill = GridBagConstraints.BOTH;
-    panelRemovePlayer.add(playerDisplayArea, gbc);
+    panelRemovePlayer.add(removePagePlayersTextArea, gbc);
   }
 
   @Override
@@ -477,23 +542,23 @@ public class SwingTeamView extends JFrame implements ViewInterface {
   @Override
   public void switchToTeamPage(String currentPlayers, String startingLineup,
       String playersOnBench, int teamSize) {
-    showTeamPage(currentPlayers, startingLineup, playersOnBench, teamSize);
+    if (panelTeam == null) {
+      initializeTeamPage();
+      panelContainer.add(panelTeam, "2-3");
+    }
+    teamPagePlayersTextArea.setText(String.format(TEAM_PLAYERS_HEADER, teamSize) + currentPlayers);
+    startingLineupTextArea.setText(STARTING_LINEUP_HEADER + startingLineup);
+    playersOnBenchTextArea.setText(BENCH_HEADER + playersOnBench);
+    moveReturnButton(teamPageReturnSlot);
     c1.show(panelContainer, "2-3");
   }
 
   /**
-   * Displays the "Team Details" page with components for viewing and managing the team's details.
-   *
-   * @param currentPlayers A formatted string containing the list of current players in the team.
-   * @param startingLineup A formatted string containing the starting lineup for the team.
-   * @param playersOnBench A formatted string containing the list of players on the bench.
-   * @param teamSize The current size of the team.
+   * Builds the "Team Details" page with components for viewing and managing the team's details.
+   * The page is built once and its components are reused on every visit.
    */
-  private void showTeamPage(String currentPlayers, String startingLineup, String playersOnBench,
-      int teamSize) {
-    clearPage(panelTeam); // Clear existing components
-
-    panelTeam.setLayout(new GridBagLayout());
+  private void initializeTeamPage() {
+    panelTeam = new JPanel(new GridBagLayout());
     GridBagConstraints gbc = new GridBagConstraints();
     gbc.insets = new Insets(10, 10, 10, 10);
 
@@ -519,25 +584,18 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     panelTeam.add(pageTitleLabel, gbc);
 
     // display all the current players in the team
-    String displayText1 = "Current Players in the Team (Team Size: "+ teamSize + ")\n\n"
-        + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
-        + "--------------------------------------------------\n";
-
-    JTextArea currentPlayersTextArea = new JTextArea(displayText1 + currentPlayers);
-    currentPlayersTextArea.setEditable(false);
+    teamPagePlayersTextArea = new JTextArea();
+    teamPagePlayersTextArea.setEditable(false);
     gbc.gridx = 0;
     gbc.gridy = 1;
     gbc.gridwidth = 1;
     gbc.weightx = 1.0; // Equal width for all three columns
     gbc.fill = GridBagConstraints.BOTH;
     gbc.weighty = 1.0;
-    panelTeam.add(currentPlayersTextArea, gbc);
+    panelTeam.add(teamPagePlayersTextArea, gbc);
 
 
-    String displayText2 = "Starting Lineup\n\n"
-        + "Displayed Form:\nFirst Name, Last Name, Jersey Number, Position\n"
-        + "--------------------------------------------------\n";
-    JTextArea startingLineupTextArea = new JTextArea(displayText2 + startingLineup);
+    startingLineupTextArea = new JTextArea();
     startingLineupTextArea.setEditable(false);
     gbc.gridx = 1;
     gbc.gridy = 1;
@@ -545,23 +603,29 @@ public class SwingTeamView extends JFrame implements ViewInterface {
 
 
     // Add players on bench text area
-    String displayText3 = "Players on Bench\n\n"
-        + "Displayed Form:\nFirst Name, Last Name, Jersey Number\n"
-        + "--------------------------------------------------\n";
-    JTextArea playersOnBenchTextArea = new JTextArea(displayText3 + playersOnBench);
+    playersOnBenchTextArea = new JTextArea();
     playersOnBenchTextArea.setEditable(false);
     gbc.gridx = 2;
     gbc.gridy = 1;
     panelTeam.add(playersOnBenchTextArea, gbc);
 
+    // Add the search by name below the lists
+    gbc.gridx = 0;
+    gbc.gridy = 2;
+    gbc.gridwidth = 3;
+    gbc.weighty = 0.0;
+    gbc.fill = GridBagConstraints.NONE;
+    panelTeam.add(createNameSearchPanel(null), gbc);
+
     // Add buttons panel
     JPanel buttonsPanel = new JPanel();
     buttonsPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 10));
-    buttonsPanel.add(returnButton);
+    teamPageReturnSlot = createReturnSlot();
+    buttonsPanel.add(teamPageReturnSlot);
     buttonsPanel.add(startingLineUpButton);
 
     gbc.gridx = 0;
-    gbc.gridy = 2;
+    gbc.gridy = 3;
     gbc.gridwidth = 3;
     gbc.weightx = 1.0; // Equal width for all three columns
     gbc.weighty = 0.0;
@@ -571,15 +635,126 @@ public class SwingTeamView extends JFrame implements ViewInterface {
   }
 
   /**
-   * Clears the content of a given JPanel by removing all its components.
+   * Creates a panel with a type-ahead search for players by name. The matches are computed
+   * off the Event Dispatch Thread after every keystroke and shown in a list below the field.
    *
-   * @param page The JPanel to be cleared.
+   * @param jerseyNumberTarget The field that receives the jersey number of a chosen match,
+   *                           or null if the matches are only displayed.
+   * @return The search panel.
    */
-  private void clearPage(JPanel page) {
-    page.removeAll();
+  private JPanel createNameSearchPanel(JTextField jerseyNumberTarget) {
+    JPanel searchPanel = new JPanel(new BorderLayout(10, 5));
+    JTextField searchField = new JTextField(15);
+    DefaultListModel<String> matchListModel = new DefaultListModel<>();
+    JList<String> matchList = new JList<>(matchListModel);
+    matchList.setVisibleRowCount(5);
+    List<Integer> matchJerseyNumbers = new ArrayList<>(); // parallel to matchListModel
+
+    searchField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        searchPlayersByName(searchField, matchListModel, matchJerseyNumbers);
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        searchPlayersByName(searchField, matchListModel, matchJerseyNumbers);
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        searchPlayersByName(searchField, matchListModel, matchJerseyNumbers);
+      }
+    });
+
+    if (jerseyNumberTarget != null) {
+      matchList.addListSelectionListener(e -> {
+        int index = matchList.getSelectedIndex();
+        if (!e.getValueIsAdjusting() && index >= 0 && index < matchJerseyNumbers.size()) {
+          jerseyNumberTarget.setText(String.valueOf(matchJerseyNumbers.get(index)));
+        }
+      });
+    }
+
+    searchPanel.add(new JLabel("<html><b>Search by Name:</b></html>"), BorderLayout.WEST);
+    searchPanel.add(searchField, BorderLayout.CENTER);
+    searchPanel.add(new JScrollPane(matchList), BorderLayout.SOUTH);
+    return searchPanel;
   }
 
+  /**
+   * Looks up the players matching the text of the search field in the background,
+   * and shows the matches once they are found, unless the text has changed in the meantime.
+   *
+   * @param searchField        The field with the typed prefix.
+   * @param matchListModel     The list model that displays the matches.
+   * @param matchJerseyNumbers The jersey numbers of the displayed matches.
+   */
+  private void searchPlayersByName(JTextField searchField,
+      DefaultListModel<String> matchListModel, List<Integer> matchJerseyNumbers) {
+    String prefix = searchField.getText().trim();
+    if (nameSearchHandler == null || prefix.isEmpty()) {
+      matchListModel.clear();
+      matchJerseyNumbers.clear();
+      return;
+    }
+
+    new SwingWorker<Map<Integer, String>, Void>() {
+      @Override
+      protected Map<Integer, String> doInBackground() {
+        return nameSearchHandler.apply(prefix);
+      }
+
+      @Override
+      protected void done() {
+        if (!prefix.equals(searchField.getText().trim())) {
+          return; // a newer keystroke has started another search
+        }
+        try {
+          Map<Integer, String> matches = get();
+          matchListModel.clear();
+          matchJerseyNumbers.clear();
+          for (Map.Entry<Integer, String> match : matches.entrySet()) {
+            matchListModel.addElement(match.getValue() + ", Jersey Number: " + match.getKey());
+            matchJerseyNumbers.add(match.getKey());
+          }
+        } catch (InterruptedException | ExecutionException e) {
+          matchListModel.clear();
+          matchJerseyNumbers.clear();
+        }
+      }
+    }.execute();
+  }
 
+  /**
+   * Creates an empty panel that holds the Go Back button while its page is shown.
+   *
+   * @return The panel.
+   */
+  private static JPanel createReturnSlot() {
+    return new JPanel(new FlowLayout(FlowLayout.CENTER, 0, 0));
+  }
+
+  /**
+   * Moves the Go Back button, which is shared by all pages, into the slot of the page
+   * about to be shown. A component has only one parent, so this removes it from the
+   * page where it was before.
+   *
+   * @param slot The slot of the page.
+   */
+  private void moveReturnButton(JPanel slot) {
+    if (returnButton.getParent() != slot) {
+      slot.add(returnButton);
+      slot.revalidate();
+    }
+  }
+
+
+
+  @Override
+  public void setNameSearchHandler(Function<String, Map<Integer, String>> handler) {
+    this.nameSearchHandler = handler;
+  }
 
   @Override
   public void setActionListener(ActionListener listener) {
@@ -593,6 +768,8 @@ public class SwingTeamView extends JFrame implements ViewInterface {
     removeButton.addActionListener(listener);
     refreshButtonForAdd.addActionListener(listener);
     refreshButtonForRemove.addActionListener(listener);
+    undoButton.addActionListener(listener);
+    redoButton.addActionListener(listener);
 
     startingLineUpButton.addActionListener(listener);
   }
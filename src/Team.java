@@ -1,34 +1,113 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
 
 /**
- * Represents a U10 soccer team that manages players and their positions.
+ * Represents a youth soccer team that manages players and their positions.
+ * Teams follow the rules of their division, U10 by default.
+ * Every change of the roster creates a new immutable version that shares the unchanged players
+ * with the previous one, so changes can be undone and past versions can be looked up.
  */
 public class Team implements TeamModel {
-  private final Map<Integer, PlayerInterface> playerMap;
+  // the roster as readers see it, replaced as a whole once a change is complete, so a reader
+  // needs no lock and takes the players by jersey number and in name order from one version
+  private volatile Roster current;
+  // the roster being changed, only used under the lock of the team
+  private PersistentMap<Integer, PlayerInterface> playerMap;
+  private static final long ALL_PLAYERS = -1L; // candidate mask that includes every jersey number
+  private volatile CachedLineup cachedLineup; // null until a lineup is computed
+
+  // every version of the roster, oldest first; versions after the cursor can be redone
+  private final List<RosterSnapshot> history;
+  private int currentIndex; // position of the current version in history
+  private int maxHistory = Integer.MAX_VALUE; // versions kept, the oldest are dropped past it
+  private long nextVersion;
+  private final List<RosterChange> pendingChanges; // changes not yet recorded as a version
+  private final RosterPublisher rosterPublisher; // feeds every new current version to subscribers
+
+  // the same players as playerMap, kept in last name, first name order
+  private PersistentMap<NameKey, PlayerInterface> playersByName;
+  private final Map<Integer, NameKey> nameKeys; // jersey number -> key in playersByName
+  // prefix index over first, last and full names for type-ahead search, which may run
+  // on another thread than the updates, so both are guarded by the lock of nameIndex
+  private final NamePrefixTrie nameIndex;
+  private final Map<Integer, String> displayNames; // jersey number -> "first last"
+
+  private final Map<Long, Integer> identities; // identity fingerprint -> jersey number
+
+  private final DivisionRules rules;
+  private final Clock clock;
+  // players ordered by the date on which they become too old for the team
+  private final TreeMap<LocalDate, Set<Integer>> eligibilityIndex;
+  private final Map<Integer, LocalDate> cutoffDates; // jersey number -> eligibility cutoff date
 
   /**
    * Constructs a new Team instance with an empty playerMap.
    */
   public Team() {
-    playerMap = new HashMap<>();  // initializes a new Team instance with an empty map to store players.
+    this(Clock.systemDefaultZone());
+  }
+
+  /**
+   * Constructs a new U10 Team instance with an empty playerMap,
+   * validating the age of the players against the current date of the given clock.
+   *
+   * @param clock The clock that provides the current date.
+   */
+  public Team(Clock clock) {
+    this(DivisionRules.U10, clock);
+  }
+
+  /**
+   * Constructs a new Team instance of the given division with an empty playerMap,
+   * validating the age of the players against the current date of the given clock.
+   *
+   * @param rules The rules of the division the team plays in.
+   * @param clock The clock that provides the current date.
+   */
+  public Team(DivisionRules rules, Clock clock) {
+    this.rules = rules;
+    playerMap = PersistentMap.empty();  // initializes a new Team instance with an empty map to store players.
+    this.clock = clock;
+    history = new ArrayList<>();
+    history.add(new RosterSnapshot(0, clock.instant(), playerMap, new ArrayList<>()));
+    nextVersion = 1;
+    pendingChanges = new ArrayList<>();
+    rosterPublisher = new RosterPublisher();
+    eligibilityIndex = new TreeMap<>();
+    cutoffDates = new HashMap<>();
+    playersByName = PersistentMap.empty();
+    current = new Roster(playerMap, playersByName);
+    nameKeys = new HashMap<>();
+    nameIndex = new NamePrefixTrie();
+    displayNames = new HashMap<>();
+    identities = new HashMap<>();
   }
 
   @Override
   public void createValidTeam() throws IllegalStateException{
-    // check whether the team has at least 10 players
-    if (playerMap.size() < 10) {
-      throw new IllegalStateException("The team must have a minimum of 10 players.");
+    // check whether the team has at least the minimum number of players, 10 for U10
+    if (current.players.size() < rules.getMinTeamSize()) {
+      throw new IllegalStateException("The team must have a minimum of "
+          + rules.getMinTeamSize() + " players.");
     }
   }
 
 
   @Override
-  public void addPlayer(String firstName, String lastName, int year, int month, int day,
+  public synchronized void addPlayer(String firstName, String lastName, int year, int month, int day,
       String positionString, int skilledLevel) {
 
     // convert the preferredPosition String to Position enum
@@ -36,16 +115,25 @@ public class Team implements TeamModel {
 
     // controller should only access Team, not access Player
     PlayerInterface player = new Player(firstName, lastName, year, month, day,
-        preferredPosition, skilledLevel);
+        preferredPosition, skilledLevel, clock, rules);
 
-    // If the team already has 20 players, the player with the lowest skill level must be ignored
-    if (playerMap.size() >= 20) {
+    // the same child cannot join the team twice under different jersey numbers
+    Integer registeredJerseyNumber = identities.get(PlayerIdentity.fingerprint(player));
+    if (registeredJerseyNumber != null) {
+      throw new IllegalArgumentException("The player is already in the team with jersey number "
+          + registeredJerseyNumber + ".");
+    }
+
+    // If the team is already full (20 players for U10),
+    // the player with the lowest skill level must be ignored
+    if (playerMap.size() >= rules.getMaxTeamSize()) {
       removeLowestSkilledLevelPlayers(player);
     } else {
       int jerseyNumber = generateUniqueJerseyNumber();
-      playerMap.put(jerseyNumber, player);
+      putPlayer(jerseyNumber, player);
+      pendingChanges.add(RosterChange.added(jerseyNumber, player));
     }
-
+    recordVersion();
   }
 
   /**
@@ -76,7 +164,7 @@ public class Team implements TeamModel {
 
   /**
    * Removes the player with the lowest skilled level from the team to ensure that
-   * the team size remains within the maximum limit of 20 players.
+   * the team size remains within the maximum limit of the division, 20 players for U10.
    */
   private void removeLowestSkilledLevelPlayers(PlayerInterface newPlayer) {
     List<PlayerInterface> playerList = new ArrayList<>(playerMap.values());
@@ -92,9 +180,12 @@ public class Team implements TeamModel {
     // if the lowest skilled player is not the newPlayer, then remove it
     // meanwhile we should put the newPlayer to the playerMap
     if (lowestSkilledLevelPlayer != newPlayer) {
-      playerMap.remove(getJerseyNumberByPlayer(lowestSkilledLevelPlayer));
+      int lowestJerseyNumber = getJerseyNumberByPlayer(lowestSkilledLevelPlayer);
+      deletePlayer(lowestJerseyNumber);
+      pendingChanges.add(RosterChange.evicted(lowestJerseyNumber, lowestSkilledLevelPlayer));
       int jerseyNumber = generateUniqueJerseyNumber();
-      playerMap.put(jerseyNumber, newPlayer);
+      putPlayer(jerseyNumber, newPlayer);
+      pendingChanges.add(RosterChange.added(jerseyNumber, newPlayer));
     }
 
     // if the lowest skilled player is the newPlayer, we just do nothing.
@@ -105,8 +196,8 @@ public class Team implements TeamModel {
 
   /**
    * Generates a unique jersey number for a player that is not already in use by another player.
-   * Jersey numbers are randomly assigned in the range of [1, 20],
-   * ensuring uniqueness within the team.
+   * Jersey numbers are randomly assigned in the range of [1, maximum team size],
+   * which is [1, 20] for U10, ensuring uniqueness within the team.
    *
    * @return A unique jersey number for a player.
    */
@@ -114,11 +205,11 @@ public class Team implements TeamModel {
     Random random = new Random();
     int jerseyNumber;
 
-    // nextInt(20) means [0, 19) and we want to get a number in the range [1, 21)
-    jerseyNumber = random.nextInt(20) + 1;
+    // nextInt(20) means [0, 19] and we want to get a number in the range [1, 20]
+    jerseyNumber = random.nextInt(rules.getMaxTeamSize()) + 1;
 
     while (playerMap.containsKey(jerseyNumber)) {
-      jerseyNumber = random.nextInt(20) + 1;
+      jerseyNumber = random.nextInt(rules.getMaxTeamSize()) + 1;
     }
 
     return jerseyNumber;
@@ -127,27 +218,432 @@ public class Team implements TeamModel {
 
 
   @Override
-  public String removePlayer(int jerseyNumber) {
+  public synchronized String removePlayer(int jerseyNumber) {
     if (playerMap.size() == 0) {
       throw new IllegalStateException("Cannot remove player. The team is empty.");
     }
 
-    PlayerInterface removedPlayer = playerMap.remove(jerseyNumber);
+    PlayerInterface removedPlayer = deletePlayer(jerseyNumber);
     if (removedPlayer != null) {
+      pendingChanges.add(RosterChange.removed(jerseyNumber, removedPlayer));
+      recordVersion();
       return "Player with jersey number " + jerseyNumber + " has been removed.";
     } else {
       return "No player found with the given jersey number.";
     }
   }
 
+  /**
+   * Puts a player into the team under the given jersey number and updates the indexes of the team.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param player       The player to put into the team.
+   */
+  private void putPlayer(int jerseyNumber, PlayerInterface player) {
+    playerMap = playerMap.plus(jerseyNumber, player);
+
+    identities.put(PlayerIdentity.fingerprint(player), jerseyNumber);
+
+    NameKey nameKey = new NameKey(player, jerseyNumber);
+    nameKeys.put(jerseyNumber, nameKey);
+    playersByName = playersByName.plus(nameKey, player);
+    synchronized (nameIndex) {
+      for (String name : nameKey.searchNames()) {
+        nameIndex.add(name, jerseyNumber);
+      }
+      displayNames.put(jerseyNumber, nameKey.firstName + " " + nameKey.lastName);
+    }
+
+    // the player can no longer be part of the team from the birthday on which
+    // the maximum age of the division is reached, the tenth birthday for U10
+    LocalDate cutoffDate = getCutoffDate(LocalDate.parse(player.getDateOfBirth()));
+    cutoffDates.put(jerseyNumber, cutoffDate);
+    eligibilityIndex.computeIfAbsent(cutoffDate, date -> new HashSet<>()).add(jerseyNumber);
+  }
+
+  /**
+   * Gets the first date on which a child born on the given date has the maximum age of the
+   * division, counting the age in whole years like Player does. A child born on February 29
+   * reaches that age on March 1 in a year that is not a leap year.
+   *
+   * @param dateOfBirth The date of birth.
+   * @return The cutoff date.
+   */
+  private LocalDate getCutoffDate(LocalDate dateOfBirth) {
+    LocalDate cutoffDate = dateOfBirth.plusYears(rules.getMaxAge());
+    if (Period.between(dateOfBirth, cutoffDate).getYears() < rules.getMaxAge()) {
+      cutoffDate = cutoffDate.plusDays(1); // plusYears moved February 29 back to February 28
+    }
+    return cutoffDate;
+  }
+
+  /**
+   * Replaces the player under a jersey number by another version of the same child,
+   * such as a copy at another position. The names and the date of birth are the same,
+   * so only the roster and the name-ordered roster refer to the player.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @param player       The new version of the player.
+   */
+  private void replacePlayer(int jerseyNumber, PlayerInterface player) {
+    playerMap = playerMap.plus(jerseyNumber, player);
+    playersByName = playersByName.plus(nameKeys.get(jerseyNumber), player);
+  }
+
+  /**
+   * Deletes a player from the team and from the indexes of the team.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return The deleted player, or null if there is no player with the jersey number.
+   */
+  private PlayerInterface deletePlayer(int jerseyNumber) {
+    PlayerInterface player = playerMap.get(jerseyNumber);
+    if (player == null) {
+      return null;
+    }
+    playerMap = playerMap.minus(jerseyNumber);
+    identities.values().remove(jerseyNumber);
+
+    NameKey nameKey = nameKeys.remove(jerseyNumber);
+    playersByName = playersByName.minus(nameKey);
+    synchronized (nameIndex) {
+      for (String name : nameKey.searchNames()) {
+        nameIndex.remove(name, jerseyNumber);
+      }
+      displayNames.remove(jerseyNumber);
+    }
+
+    LocalDate cutoffDate = cutoffDates.remove(jerseyNumber);
+    Set<Integer> jerseyNumbers = eligibilityIndex.get(cutoffDate);
+    jerseyNumbers.remove(jerseyNumber);
+    if (jerseyNumbers.isEmpty()) {
+      eligibilityIndex.remove(cutoffDate);
+    }
+    return player;
+  }
+
+  /**
+   * Records the pending changes as a new version of the roster.
+   * A new version discards the versions that could have been redone.
+   */
+  private void recordVersion() {
+    if (pendingChanges.isEmpty()) {
+      return;
+    }
+    history.subList(currentIndex + 1, history.size()).clear();
+    history.add(new RosterSnapshot(nextVersion++, clock.instant(), playerMap,
+        new ArrayList<>(pendingChanges)));
+    pendingChanges.clear();
+    currentIndex++;
+    trimHistory();
+    current = new Roster(playerMap, playersByName);
+    rosterPublisher.publish(history.get(currentIndex));
+  }
+
+  /**
+   * Limits the number of versions of the roster that are kept, so a long-running team does not
+   * grow its history without bound. Past the limit the oldest versions are dropped: they can
+   * no longer be looked up, and changes can be undone only back to the oldest kept version.
+   *
+   * @param maxVersions The number of versions to keep, the current version included.
+   * @throws IllegalArgumentException If the number is less than 1.
+   */
+  public synchronized void setMaxHistory(int maxVersions) {
+    if (maxVersions < 1) {
+      throw new IllegalArgumentException("At least one version of the roster must be kept.");
+    }
+    maxHistory = maxVersions;
+    trimHistory();
+  }
+
+  /**
+   * Drops the oldest versions past the limit of the history. The current version is never
+   * dropped, so versions that can be redone may keep the history above the limit for a while.
+   */
+  private void trimHistory() {
+    int excess = Math.min(history.size() - maxHistory, currentIndex);
+    if (excess > 0) {
+      history.subList(0, excess).clear();
+      currentIndex -= excess;
+    }
+  }
+
+  /**
+   * Applies a recorded change to the team and its indexes.
+   *
+   * @param change The change to apply.
+   */
+  private void apply(RosterChange change) {
+    switch (change.getType()) {
+      case ADDED:
+        putPlayer(change.getJerseyNumber(), change.getPlayer());
+        break;
+      case REMOVED:
+      case EVICTED:
+        deletePlayer(change.getJerseyNumber());
+        break;
+      case POSITION_CHANGED:
+      case SKILL_CHANGED:
+        replacePlayer(change.getJerseyNumber(), change.getPlayer());
+        break;
+      default:
+        // jersey changes only appear in diffs, which are never applied
+        break;
+    }
+  }
+
+  @Override
+  public synchronized boolean undo() {
+    if (currentIndex == 0) {
+      return false;
+    }
+    // revert the changes of the current version, last change first
+    List<RosterChange> changes = history.get(currentIndex).getChanges();
+    for (int i = changes.size() - 1; i >= 0; i--) {
+      apply(changes.get(i).inverse());
+    }
+    currentIndex--;
+    // share the restored version itself instead of the equal map rebuilt by the changes
+    playerMap = history.get(currentIndex).getPlayerMap();
+    current = new Roster(playerMap, playersByName);
+    rosterPublisher.publish(history.get(currentIndex));
+    return true;
+  }
+
+  @Override
+  public synchronized boolean redo() {
+    if (currentIndex == history.size() - 1) {
+      return false;
+    }
+    currentIndex++;
+    for (RosterChange change : history.get(currentIndex).getChanges()) {
+      apply(change);
+    }
+    playerMap = history.get(currentIndex).getPlayerMap();
+    current = new Roster(playerMap, playersByName);
+    rosterPublisher.publish(history.get(currentIndex));
+    return true;
+  }
+
+  @Override
+  public RosterPublisher getRosterPublisher() {
+    return rosterPublisher;
+  }
+
+  @Override
+  public synchronized RosterSnapshot getSnapshot() {
+    return history.get(currentIndex);
+  }
+
+  @Override
+  public synchronized RosterSnapshot getSnapshot(long version) {
+    return history.get(indexOf(version));
+  }
+
+  @Override
+  public synchronized RosterSnapshot getSnapshotAt(Instant time) {
+    // the last version created at or before the time, up to the current version
+    int low = 0;
+    int high = currentIndex;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (history.get(middle).getTime().isAfter(time)) {
+        high = middle - 1;
+      } else {
+        low = middle;
+      }
+    }
+    return history.get(low);
+  }
+
+  @Override
+  public synchronized List<RosterChange> diff(long fromVersion, long toVersion) {
+    int from = indexOf(fromVersion);
+    int to = indexOf(toVersion);
+
+    // only the versions between the two are visited, combining the changes per child;
+    // skill changes are combined apart, as a child can also change position in the range
+    Map<Long, RosterChange> netChanges = new HashMap<>();
+    Map<Long, RosterChange> netSkillChanges = new HashMap<>();
+    if (from <= to) {
+      for (int i = from + 1; i <= to; i++) {
+        for (RosterChange change : history.get(i).getChanges()) {
+          combine(netChanges, netSkillChanges, change);
+        }
+      }
+    } else {
+      for (int i = from; i > to; i--) {
+        List<RosterChange> changes = history.get(i).getChanges();
+        for (int j = changes.size() - 1; j >= 0; j--) {
+          combine(netChanges, netSkillChanges, changes.get(j).inverse());
+        }
+      }
+    }
+
+    List<RosterChange> result = new ArrayList<>(netChanges.values());
+    for (Map.Entry<Long, RosterChange> entry : netSkillChanges.entrySet()) {
+      // a child who joined or left in the range is only reported as such
+      RosterChange change = netChanges.get(entry.getKey());
+      if (change == null || change.getType() == RosterChange.Type.POSITION_CHANGED
+          || change.getType() == RosterChange.Type.JERSEY_CHANGED) {
+        result.add(entry.getValue());
+      }
+    }
+    result.sort(Comparator.comparingInt(RosterChange::getJerseyNumber)
+        .thenComparing(RosterChange::getType));
+    return result;
+  }
+
+  /**
+   * Combines a change with the earlier net change of the same child.
+   * A child that is removed and added again under another jersey number has changed jersey,
+   * and changes that cancel each other out leave no change at all.
+   *
+   * @param netChanges      The net changes so far, keyed by identity fingerprint of the child.
+   * @param netSkillChanges The net skill changes so far, keyed the same way.
+   * @param change          The next change.
+   */
+  private static void combine(Map<Long, RosterChange> netChanges,
+      Map<Long, RosterChange> netSkillChanges, RosterChange change) {
+    long identity = PlayerIdentity.fingerprint(change.getPlayer());
+    if (change.getType() == RosterChange.Type.SKILL_CHANGED) {
+      RosterChange previousSkill = netSkillChanges.get(identity);
+      if (previousSkill == null) {
+        netSkillChanges.put(identity, change);
+      } else if (previousSkill.getPreviousSkilledLevel() == change.getSkilledLevel()) {
+        netSkillChanges.remove(identity);
+      } else {
+        netSkillChanges.put(identity, RosterChange.skillChanged(change.getJerseyNumber(),
+            previousSkill.getPreviousPlayer(), change.getPlayer(),
+            previousSkill.getPreviousSkilledLevel(), change.getSkilledLevel()));
+      }
+      return;
+    }
+    RosterChange previous = netChanges.get(identity);
+    RosterChange combined = change;
+    if (previous != null) {
+      switch (change.getType()) {
+        case ADDED:
+          // the child left the team earlier in the range
+          combined = previous.getJerseyNumber() == change.getJerseyNumber() ? null
+              : RosterChange.jerseyChanged(previous.getJerseyNumber(), change.getJerseyNumber(),
+                  change.getPlayer());
+          break;
+        case REMOVED:
+        case EVICTED:
+          if (previous.getType() == RosterChange.Type.ADDED) {
+            combined = null;
+          } else if (previous.getType() == RosterChange.Type.JERSEY_CHANGED) {
+            combined = change.getType() == RosterChange.Type.REMOVED
+                ? RosterChange.removed(previous.getPreviousJerseyNumber(), change.getPlayer())
+                : RosterChange.evicted(previous.getPreviousJerseyNumber(), change.getPlayer());
+          }
+          break;
+        default:
+          if (previous.getType() == RosterChange.Type.POSITION_CHANGED) {
+            combined = previous.getPreviousPosition() == change.getPosition() ? null
+                : RosterChange.positionChanged(change.getJerseyNumber(),
+                    previous.getPreviousPlayer(), change.getPlayer(),
+                    previous.getPreviousPosition(), change.getPosition());
+          } else {
+            // a position change of a child who joined or changed jersey in the range
+            combined = previous;
+          }
+          break;
+      }
+    }
+    if (combined == null) {
+      netChanges.remove(identity);
+    } else {
+      netChanges.put(identity, combined);
+    }
+  }
+
+  /**
+   * Finds the position of a version in the history.
+   *
+   * @param version The version number.
+   * @return The position of the version in the history.
+   * @throws IllegalArgumentException If the version does not exist or has been discarded.
+   */
+  private int indexOf(long version) {
+    // versions are increasing along the history, so the version is found by binary search
+    int low = 0;
+    int high = history.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long middleVersion = history.get(middle).getVersion();
+      if (middleVersion == version) {
+        return middle;
+      } else if (middleVersion < version) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    throw new IllegalArgumentException("Version " + version + " of the roster does not exist.");
+  }
+
+  @Override
+  public Map<Integer, String> findPlayersByNamePrefix(String prefix, int limit) {
+    Map<Integer, String> matches = new LinkedHashMap<>();
+    if (prefix.isEmpty()) {
+      return matches;
+    }
+    synchronized (nameIndex) {
+      // a player is stored under three names, so the same player can match more than once
+      for (Integer jerseyNumber : nameIndex.findWithPrefix(prefix, limit * 3)) {
+        matches.putIfAbsent(jerseyNumber, displayNames.get(jerseyNumber));
+        if (matches.size() >= limit) {
+          break;
+        }
+      }
+    }
+    return matches;
+  }
+
+  @Override
+  public Map<Integer, PlayerInterface> revalidateEligibility() {
+    return revalidateEligibility(LocalDate.now(clock));
+  }
+
+  @Override
+  public synchronized Map<Integer, PlayerInterface> revalidateEligibility(
+      LocalDate referenceDate) {
+    Map<Integer, PlayerInterface> removedPlayers = new TreeMap<>();
+
+    // only the players whose cutoff date has been reached are visited
+    Map.Entry<LocalDate, Set<Integer>> expired = eligibilityIndex.firstEntry();
+    while (expired != null && !expired.getKey().isAfter(referenceDate)) {
+      for (Integer jerseyNumber : new ArrayList<>(expired.getValue())) {
+        PlayerInterface player = deletePlayer(jerseyNumber);
+        removedPlayers.put(jerseyNumber, player);
+        pendingChanges.add(RosterChange.evicted(jerseyNumber, player));
+      }
+      expired = eligibilityIndex.firstEntry();
+    }
+    recordVersion();
+    return removedPlayers;
+  }
+
   @Override
   public PlayerInterface getPlayerByJerseyNumber(int jerseyNumber) {
-    return playerMap.get(jerseyNumber);
+    return current.players.get(jerseyNumber);
+  }
+
+  @Override
+  public DivisionRules getDivisionRules() {
+    return rules;
+  }
+
+  @Override
+  public Map<Integer, PlayerInterface> getPlayers() {
+    return current.players;
   }
 
   @Override
   public int getJerseyNumberByPlayer(PlayerInterface player) {
-    for (Map.Entry<Integer, PlayerInterface> entry : playerMap.entrySet()) {
+    for (Map.Entry<Integer, PlayerInterface> entry : current.players.entrySet()) {
       if (entry.getValue() == player) {
         return entry.getKey();
       }
@@ -159,53 +655,67 @@ public class Team implements TeamModel {
 
   @Override
   public int getTeamSize() {
-    return playerMap.size();
+    return current.players.size();
   }
 
 
 
   /**
-   * Filters and selects players for the starting lin eup based on specific criteria:
-   * 1 Goalie, 2 Defenders, 3 Midfielders, 1 Forward.
+   * Selects players for the starting lineup based on the formation of the division,
+   * for U10: 1 Goalie, 2 Defenders, 3 Midfielders, 1 Forward.
    * If there are multiple candidates for the same position,
    * choose the player with the highest skilledLevel.
+   * This method only computes the assignment, it does not change the actualPosition of any player.
    *
-   * @return A list of players in the starting line up.
+   * @param roster     The version of the roster to select from.
+   * @param candidates The mask of the jersey numbers that can be selected,
+   *                   bit j of the mask belongs to jersey number j.
+   * @return The position of every candidate player, keyed by jersey number.
    */
-  private List<PlayerInterface> filterStartingLineupPlayers() {
-    // get the list of all players in the team using playerMap.values()
-    List<PlayerInterface> allPlayers = new ArrayList<>(playerMap.values());
+  private Map<Integer, Position> filterStartingLineupPlayers(Map<Integer, PlayerInterface> roster,
+      long candidates) {
+    // get the jersey numbers of the candidate players in the team using roster.keySet()
+    List<Integer> allJerseyNumbers = new ArrayList<>();
+    for (Integer jerseyNumber : roster.keySet()) {
+      if ((candidates & (1L << jerseyNumber)) != 0) {
+        allJerseyNumbers.add(jerseyNumber);
+      }
+    }
 
     // first, sort players by skilledLevel in descending order (highest skilled level first),
     // then by preferredPosition
-    allPlayers.sort(Comparator.comparing(PlayerInterface::getSkilledLevel).reversed()
-        .thenComparing(PlayerInterface::getPreferredPosition));
+    allJerseyNumbers.sort(Comparator.comparing(
+        (Integer jerseyNumber) -> roster.get(jerseyNumber).getSkilledLevel()).reversed()
+        .thenComparing(jerseyNumber -> roster.get(jerseyNumber).getPreferredPosition()));
 
-    List<PlayerInterface> startingLineup = new ArrayList<>();
+    Map<Integer, Position> startingLineup = new HashMap<>();
 
     // initializes counters for each position (goalies, defenders, midfielders, and forwards) to
     // keep track of how many players of each position have been selected for the starting lineup.
     int goalies = 0, defenders = 0, midfielders = 0, forwards = 0;
 
+    // the number of players per position comes from the formation of the division
+    int maxGoalies = rules.getPlayersAt(Position.GOALIE);
+    int maxDefenders = rules.getPlayersAt(Position.DEFENDER);
+    int maxMidfielders = rules.getPlayersAt(Position.MIDFIELDER);
+    int maxForwards = rules.getPlayersAt(Position.FORWARD);
 
-    for (PlayerInterface player : allPlayers) {
-      if (player.getPreferredPosition() == Position.GOALIE && goalies < 1) {
+    for (Integer jerseyNumber : allJerseyNumbers) {
+      Position preferredPosition = roster.get(jerseyNumber).getPreferredPosition();
+      if (preferredPosition == Position.GOALIE && goalies < maxGoalies) {
         // If a player's preferred position matches the criteria and
         // the required number of players for that position has not been reached,
-        startingLineup.add(player); // add this player to the starting lineup list
-        player.setActualPosition(Position.GOALIE); // actualPosition is set accordingly
+        // the player is assigned to that position in the starting lineup
+        startingLineup.put(jerseyNumber, Position.GOALIE);
         goalies++; // increment the counter for that position
-      } else if (player.getPreferredPosition() == Position.DEFENDER && defenders < 2) {
-        startingLineup.add(player);
-        player.setActualPosition(Position.DEFENDER);
+      } else if (preferredPosition == Position.DEFENDER && defenders < maxDefenders) {
+        startingLineup.put(jerseyNumber, Position.DEFENDER);
         defenders++;
-      } else if (player.getPreferredPosition() == Position.MIDFIELDER && midfielders < 3) {
-        startingLineup.add(player);
-        player.setActualPosition(Position.MIDFIELDER);
+      } else if (preferredPosition == Position.MIDFIELDER && midfielders < maxMidfielders) {
+        startingLineup.put(jerseyNumber, Position.MIDFIELDER);
         midfielders++;
-      } else if (player.getPreferredPosition() == Position.FORWARD && forwards < 1) {
-        startingLineup.add(player);
-        player.setActualPosition(Position.FORWARD);
+      } else if (preferredPosition == Position.FORWARD && forwards < maxForwards) {
+        startingLineup.put(jerseyNumber, Position.FORWARD);
         forwards++;
       }
     }
@@ -213,10 +723,10 @@ public class Team implements TeamModel {
 
     // After selecting players for each specific position
     // if any position is not filled, add remaining players based on skilledLevel
-    for (PlayerInterface player : allPlayers) {
+    for (Integer jerseyNumber : allJerseyNumbers) {
 
-      if (startingLineup.size() >= 7) {
-        break; //  checks if the starting lineup already contains 7 players. if so, break out of the loop
+      if (startingLineup.size() >= rules.getLineupSize()) {
+        break; //  checks if the starting lineup is already complete. if so, break out of the loop
       }
 
       /*
@@ -224,68 +734,191 @@ public class Team implements TeamModel {
         because I think the larger the number of players in the position,
         the higher the requirement for the skilledLevel.
        */
-      if (!startingLineup.contains(player)) {
-        startingLineup.add(player);
-        if (midfielders < 3) {
-          player.setActualPosition(Position.MIDFIELDER);
+      if (!startingLineup.containsKey(jerseyNumber)) {
+        if (midfielders < maxMidfielders) {
+          startingLineup.put(jerseyNumber, Position.MIDFIELDER);
           midfielders++;
-        } else if (defenders < 2) {
-          player.setActualPosition(Position.DEFENDER);
+        } else if (defenders < maxDefenders) {
+          startingLineup.put(jerseyNumber, Position.DEFENDER);
           defenders++;
-        } else if (forwards < 1) {
-          player.setActualPosition(Position.FORWARD);
+        } else if (forwards < maxForwards) {
+          startingLineup.put(jerseyNumber, Position.FORWARD);
           forwards++;
-        } else if (goalies < 1) {
-          player.setActualPosition(Position.GOALIE);
+        } else if (goalies < maxGoalies) {
+          startingLineup.put(jerseyNumber, Position.GOALIE);
           goalies++;
         }
       }
     }
 
     // Finally, any remaining players that have not been included in the starting lineup are assigned the Position.BENCH
-    for (PlayerInterface player : allPlayers) {
-      if (!startingLineup.contains(player)) {
-        player.setActualPosition(Position.BENCH);
-      }
+    for (Integer jerseyNumber : allJerseyNumbers) {
+      startingLineup.putIfAbsent(jerseyNumber, Position.BENCH);
     }
 
     return startingLineup;
   }
 
 
+  @Override
+  public LineupAssignment computeStartingLineup() {
+    checkLineupTeamSize("Cannot generate starting lineup. ");
+    return computeStartingLineup(current.players);
+  }
 
+  /**
+   * Computes the starting lineup of a version of the roster.
+   * The lineup only depends on the roster, so it is reused as long as the version is current.
+   *
+   * @param roster The version of the roster.
+   * @return The assignment of every player of the version to a position.
+   */
+  private LineupAssignment computeStartingLineup(PersistentMap<Integer, PlayerInterface> roster) {
+    CachedLineup cached = cachedLineup;
+    if (cached == null || cached.roster != roster) {
+      cached = new CachedLineup(roster,
+          new LineupAssignment(filterStartingLineupPlayers(roster, ALL_PLAYERS)));
+      cachedLineup = cached;
+    }
+    return cached.lineup;
+  }
 
+  @Override
+  public LineupAssignment computeStartingLineup(AvailabilityCalendar calendar, LocalDate date) {
+    checkLineupTeamSize("Cannot generate starting lineup. ");
+    PersistentMap<Integer, PlayerInterface> roster = current.players;
+    long candidates = calendar.availableMask(getRosterMask(roster), date);
+    return new LineupAssignment(filterStartingLineupPlayers(roster, candidates));
+  }
+
+  @Override
+  public List<LineupAssignment> computeSeasonLineups(AvailabilityCalendar calendar) {
+    checkLineupTeamSize("Cannot generate starting lineup. ");
+
+    PersistentMap<Integer, PlayerInterface> roster = current.players;
+    long[] candidatesByDay = calendar.availableMasks(getRosterMask(roster));
+    List<LineupAssignment> lineups = new ArrayList<>(candidatesByDay.length);
+
+    // most days share the same available players, so each distinct mask is only computed once
+    Map<Long, LineupAssignment> lineupByCandidates = new HashMap<>();
+    for (long candidates : candidatesByDay) {
+      lineups.add(lineupByCandidates.computeIfAbsent(candidates,
+          mask -> new LineupAssignment(filterStartingLineupPlayers(roster, mask))));
+    }
+    return lineups;
+  }
+
+  /**
+   * Checks that the team is large enough to generate a starting lineup.
+   *
+   * @param message The beginning of the error message, describing the failed operation.
+   * @throws IllegalArgumentException If the team has less than the minimum number of players.
+   */
+  private void checkLineupTeamSize(String message) {
+    if (getTeamSize() < rules.getMinTeamSize()) {
+      throw new IllegalArgumentException(message + "The team must have at least "
+          + rules.getMinTeamSize() + " players.");
+    }
+  }
+
+  /**
+   * Gets the mask of the jersey numbers in the team, bit j of the mask belongs to jersey number j.
+   *
+   * @param roster The version of the roster.
+   * @return The mask of the jersey numbers in the team.
+   */
+  private static long getRosterMask(Map<Integer, PlayerInterface> roster) {
+    long mask = 0L;
+    for (Integer jerseyNumber : roster.keySet()) {
+      mask |= 1L << jerseyNumber;
+    }
+    return mask;
+  }
+
+  @Override
+  public synchronized void commitLineup(LineupAssignment lineup) {
+    for (Map.Entry<Integer, PlayerInterface> entry : playerMap.entrySet()) {
+      Position position = lineup.getPosition(entry.getKey());
+      // players that are not part of the given lineup are sent to the bench
+      if (position == null) {
+        position = Position.BENCH;
+      }
+      PlayerInterface player = entry.getValue();
+      if (player.getActualPosition() != position) {
+        // the player of the older versions keeps its position, the new version gets a copy
+        PlayerInterface moved = player.copy();
+        moved.setActualPosition(position);
+        pendingChanges.add(RosterChange.positionChanged(entry.getKey(), player, moved,
+            player.getActualPosition(), position));
+        replacePlayer(entry.getKey(), moved);
+      }
+    }
+    recordVersion();
+  }
+
+
+
+  @Override
+  public synchronized int updateSkilledLevels(Map<Integer, Integer> skilledLevels) {
+    // everything is checked first, so an invalid entry changes nothing
+    for (Map.Entry<Integer, Integer> entry : skilledLevels.entrySet()) {
+      if (!playerMap.containsKey(entry.getKey())) {
+        throw new IllegalArgumentException("No player found with jersey number "
+            + entry.getKey() + ".");
+      }
+      if (!rules.isValidSkilledLevel(entry.getValue())) {
+        throw new IllegalArgumentException("Skilled level must be between "
+            + rules.getMinSkilledLevel() + " and " + rules.getMaxSkilledLevel() + ".");
+      }
+    }
+
+    int changed = 0;
+    for (Map.Entry<Integer, Integer> entry : skilledLevels.entrySet()) {
+      PlayerInterface player = playerMap.get(entry.getKey());
+      if (player.getSkilledLevel() != entry.getValue()) {
+        // the player of the older versions keeps its level, the new version gets a copy
+        PlayerInterface rated = player.copy();
+        rated.setSkilledLevel(entry.getValue());
+        pendingChanges.add(RosterChange.skillChanged(entry.getKey(), player, rated,
+            player.getSkilledLevel(), entry.getValue()));
+        replacePlayer(entry.getKey(), rated);
+        changed++;
+      }
+    }
+    recordVersion();
+    return changed;
+  }
 
 
   @Override
   public String getAllPlayersInTheTeam() {
-    // allPlayers is a list of Player objects
-    List<PlayerInterface> allPlayers = new ArrayList<>(playerMap.values());
-    return outputPlayerList(allPlayers);
+    return outputPlayerList(current, jerseyNumber -> true);
   }
 
 
 
   @Override
   public String getStartingLineupList() {
-    if (getTeamSize() < 10) {
-      throw new IllegalArgumentException("Cannot generate starting lineup. "
-          + "The team must have at least 10 players.");
-    }
+    checkLineupTeamSize("Cannot generate starting lineup. ");
+
+    // read one version of the roster, so the lineup and the names belong together
+    PersistentMap<Integer, PlayerInterface> roster = current.players;
+    LineupAssignment lineup = computeStartingLineup(roster);
 
-    // startingLineup is a list of Player objects
-    List<PlayerInterface> startingLineup = filterStartingLineupPlayers();
+    // startingLineup is a list of jersey numbers of the starting players
+    List<Integer> startingLineup = lineup.getStarters();
 
-    startingLineup.sort(Comparator.comparing(PlayerInterface::getActualPosition)
-        .thenComparing(PlayerInterface::getLastName)
-        .thenComparing(PlayerInterface::getFirstName));
+    startingLineup.sort(Comparator.comparing(lineup::getPosition)
+        .thenComparing(jerseyNumber -> roster.get(jerseyNumber).getLastName())
+        .thenComparing(jerseyNumber -> roster.get(jerseyNumber).getFirstName()));
 
     StringBuilder listBuilder = new StringBuilder();
 
-    for (PlayerInterface player : startingLineup) {
+    for (Integer jerseyNumber : startingLineup) {
+      PlayerInterface player = roster.get(jerseyNumber);
       listBuilder.append(player.getFirstName()).append(", ").append(player.getLastName())
-          .append(", Jersey Number: ").append(getJerseyNumberByPlayer(player)).append(", Position: ")
-          .append(player.getActualPosition()).append("\n");
+          .append(", Jersey Number: ").append(jerseyNumber).append(", Position: ")
+          .append(lineup.getPosition(jerseyNumber)).append("\n");
     }
     return listBuilder.toString();
   }
@@ -294,40 +927,99 @@ public class Team implements TeamModel {
 
   @Override
   public String getBenchPlayers() {
-    if (getTeamSize() < 10) {
-      throw new IllegalArgumentException("Cannot retrieve bench players. "
-          + "The team must have at least 10 players.");
-    }
-
-    List<PlayerInterface> benchPlayers = new ArrayList<>();
+    checkLineupTeamSize("Cannot retrieve bench players. ");
 
-    for (PlayerInterface player : playerMap.values()) {
-      if (player.getActualPosition() == Position.BENCH) {
-        benchPlayers.add(player);
-      }
-    }
-    return outputPlayerList(benchPlayers);
+    // the bench is derived from the lineup, not from the actualPosition of the players;
+    // both come from one version of the roster, so the names belong to the lineup
+    Roster roster = current;
+    LineupAssignment lineup = computeStartingLineup(roster.players);
+    return outputPlayerList(roster, jerseyNumber -> !lineup.isStarter(jerseyNumber));
   }
 
   /**
-   * Generates a formatted player list with details for each player.
+   * Generates a formatted player list with details for each player, ordered by last name
+   * and then first name.
    *
-   * @param players The list of players to be included in the list.
+   * @param roster   The version of the roster to list.
+   * @param included Decides by jersey number which players are included in the list.
    * @return A formatted string containing player details.
    */
-  private String outputPlayerList(List<PlayerInterface> players) {
-    // sort by last name
-    players.sort(Comparator.comparing(PlayerInterface::getLastName));
+  private String outputPlayerList(Roster roster, IntPredicate included) {
     StringBuilder listBuilder = new StringBuilder();
 
-
-    for (PlayerInterface player : players) {
-      listBuilder.append(player.getFirstName()).append(", ").append(player.getLastName())
-          .append(", Jersey Number: ").append(getJerseyNumberByPlayer(player));
-      listBuilder.append("\n");
+    // the roster is kept in name order, so the players are listed without sorting
+    for (Map.Entry<NameKey, PlayerInterface> entry : roster.playersByName.entrySet()) {
+      int jerseyNumber = entry.getKey().jerseyNumber;
+      if (included.test(jerseyNumber)) {
+        PlayerInterface player = entry.getValue();
+        listBuilder.append(player.getFirstName()).append(", ").append(player.getLastName())
+            .append(", Jersey Number: ").append(jerseyNumber);
+        listBuilder.append("\n");
+      }
     }
 
     return listBuilder.toString();
   }
 
+  /**
+   * A version of the roster by jersey number together with the same players in name order.
+   */
+  private static final class Roster {
+    private final PersistentMap<Integer, PlayerInterface> players;
+    private final PersistentMap<NameKey, PlayerInterface> playersByName;
+
+    private Roster(PersistentMap<Integer, PlayerInterface> players,
+        PersistentMap<NameKey, PlayerInterface> playersByName) {
+      this.players = players;
+      this.playersByName = playersByName;
+    }
+  }
+
+  /**
+   * A computed lineup together with the version of the roster it was computed from.
+   */
+  private static final class CachedLineup {
+    private final PersistentMap<Integer, PlayerInterface> roster;
+    private final LineupAssignment lineup;
+
+    private CachedLineup(PersistentMap<Integer, PlayerInterface> roster,
+        LineupAssignment lineup) {
+      this.roster = roster;
+      this.lineup = lineup;
+    }
+  }
+
+  /**
+   * The key of a player in the name-ordered roster: last name, then first name,
+   * then jersey number so that players with the same name are kept apart.
+   * The names are copied when the player joins the team.
+   */
+  private static final class NameKey implements Comparable<NameKey> {
+    private final String lastName;
+    private final String firstName;
+    private final int jerseyNumber;
+
+    private NameKey(PlayerInterface player, int jerseyNumber) {
+      this.lastName = player.getLastName();
+      this.firstName = player.getFirstName();
+      this.jerseyNumber = jerseyNumber;
+    }
+
+    /**
+     * Gets the names under which the player can be found by type-ahead search.
+     */
+    private String[] searchNames() {
+      return new String[] {firstName, lastName, firstName + " " + lastName};
+    }
+
+    @Override
+    public int compareTo(NameKey other) {
+      int result = lastName.compareTo(other.lastName);
+      if (result == 0) {
+        result = firstName.compareTo(other.firstName);
+      }
+      return result != 0 ? result : Integer.compare(jerseyNumber, other.jerseyNumber);
+    }
+  }
+
   }
@@ -0,0 +1,181 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures TeamHttpServer under a local load. The requests are sent at a fixed rate whether or
+ * not the earlier ones have been answered, nine lookups of a player for every starting lineup,
+ * and the latency of every request is counted from the time it was due to be sent. A request
+ * that waits for the client, because the load generator falls behind the rate or too many
+ * requests are in flight, therefore shows its wait in the latency instead of hiding it.
+ *
+ * <p>The latency distribution of the answered requests, the rate that was reached and the
+ * share of requests rejected with 503 Service Unavailable are printed.
+ */
+public class TeamHttpLoadHarness {
+  private static final String[] POSITIONS = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+
+  private final Clock clock;
+  private final int threads;
+  private final int queueThreshold;
+  private final int maxInFlight;
+
+  /**
+   * The outcome of a measurement.
+   */
+  static final class Result {
+    final long[] latencies; // of the answered requests in nanoseconds, sorted
+    final int rejected;
+    final int failed;
+    final long elapsed;
+
+    private Result(long[] latencies, int rejected, int failed, long elapsed) {
+      this.latencies = latencies;
+      this.rejected = rejected;
+      this.failed = failed;
+      this.elapsed = elapsed;
+    }
+  }
+
+  /**
+   * Constructs a new TeamHttpLoadHarness.
+   *
+   * @param clock          The clock of the team, which decides the eligible birth years.
+   * @param threads        The number of worker threads of the server.
+   * @param queueThreshold The number of waiting requests at which the server rejects requests.
+   * @param maxInFlight    The number of requests that may be in flight at a time.
+   * @throws IllegalArgumentException If a number is not positive.
+   */
+  public TeamHttpLoadHarness(Clock clock, int threads, int queueThreshold, int maxInFlight) {
+    if (threads <= 0 || queueThreshold <= 0 || maxInFlight <= 0) {
+      throw new IllegalArgumentException("The numbers of threads, waiting requests and requests "
+          + "in flight must be positive.");
+    }
+    this.clock = clock;
+    this.threads = threads;
+    this.queueThreshold = queueThreshold;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Starts a server for a team of 15 players and sends it requests at the given rate.
+   *
+   * @param rate     The requests per second.
+   * @param requests The number of requests.
+   * @return The outcome of the requests.
+   * @throws IllegalArgumentException If the rate or the number of requests is not positive.
+   * @throws Exception                If the server cannot be started.
+   */
+  public Result measure(int rate, int requests) throws Exception {
+    if (rate <= 0 || requests <= 0) {
+      throw new IllegalArgumentException("The rate and the number of requests must be positive.");
+    }
+    int birthYear = LocalDate.now(clock).getYear() - 7;
+    TeamModel team = new Team(clock);
+    for (int p = 0; p < 15; p++) {
+      team.addPlayer("Player" + p, "Team", birthYear, 1 + p % 12, 1 + p,
+          POSITIONS[p % POSITIONS.length], 1 + p % 5);
+    }
+    int[] jerseyNumbers = team.getPlayers().keySet().stream().mapToInt(Integer::intValue)
+        .toArray();
+
+    TeamHttpServer server = new TeamHttpServer(team, 0, threads, queueThreshold);
+    server.start();
+    try {
+      String base = "http://localhost:" + server.getPort();
+      HttpRequest[] targets = new HttpRequest[jerseyNumbers.length + 1];
+      for (int j = 0; j < jerseyNumbers.length; j++) {
+        targets[j] = HttpRequest.newBuilder(URI.create(base + "/players/" + jerseyNumbers[j]))
+            .build();
+      }
+      targets[jerseyNumbers.length] = HttpRequest.newBuilder(URI.create(base + "/lineup")).build();
+
+      HttpClient client = HttpClient.newHttpClient();
+      Semaphore inFlight = new Semaphore(maxInFlight);
+      long[] latencies = new long[requests];
+      AtomicInteger answered = new AtomicInteger();
+      AtomicInteger rejected = new AtomicInteger();
+      AtomicInteger failed = new AtomicInteger();
+      CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+      double interval = 1e9 / rate;
+      long start = System.nanoTime();
+      for (int i = 0; i < requests; i++) {
+        long due = start + (long) (i * interval);
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        inFlight.acquire();
+        HttpRequest request = i % 10 == 9 ? targets[jerseyNumbers.length]
+            : targets[i % jerseyNumbers.length];
+        responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+              long latency = System.nanoTime() - due;
+              inFlight.release();
+              if (error != null) {
+                failed.incrementAndGet();
+              } else if (response.statusCode() == 503) {
+                rejected.incrementAndGet();
+              } else if (response.statusCode() == 200) {
+                latencies[answered.getAndIncrement()] = latency;
+              } else {
+                failed.incrementAndGet();
+              }
+            });
+      }
+      CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+      long elapsed = System.nanoTime() - start;
+
+      long[] sorted = Arrays.copyOf(latencies, answered.get());
+      Arrays.sort(sorted);
+      return new Result(sorted, rejected.get(), failed.get(), elapsed);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  /**
+   * Measures the server at a target rate and prints the latencies in milliseconds.
+   *
+   * @param args The requests per second, 50000 by default, the number of measured requests,
+   *             five seconds of requests by default, the number of worker threads, 16 by
+   *             default, and the number of requests in flight, 1024 by default. The same
+   *             number of requests is sent before measuring, to warm up the JIT.
+   * @throws Exception If the server cannot be started.
+   */
+  public static void main(String[] args) throws Exception {
+    int rate = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    int requests = args.length > 1 ? Integer.parseInt(args[1]) : rate * 5;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+    int maxInFlight = args.length > 3 ? Integer.parseInt(args[3]) : 1024;
+    TeamHttpLoadHarness harness = new TeamHttpLoadHarness(Clock.systemDefaultZone(), threads,
+        threads * 64, maxInFlight);
+    harness.measure(rate, requests);
+    Result result = harness.measure(rate, requests);
+
+    long[] sorted = result.latencies;
+    System.out.println(String.format("%,d requests at a target of %,d/s: %,.0f requests/s",
+        requests, rate, requests / (result.elapsed / 1e9)));
+    System.out.println(String.format("  503: %,d (%.2f%%), failed: %,d", result.rejected,
+        100.0 * result.rejected / requests, result.failed));
+    if (sorted.length > 0) {
+      System.out.println("  Latency of the answered requests (milliseconds):");
+      System.out.println(String.format("  %8s %8s %8s %8s %8s", "p50", "p90", "p99", "p99.9",
+          "max"));
+      System.out.println(String.format("  %8.2f %8.2f %8.2f %8.2f %8.2f",
+          ControllerLatencyHarness.percentile(sorted, 50) / 1e6,
+          ControllerLatencyHarness.percentile(sorted, 90) / 1e6,
+          ControllerLatencyHarness.percentile(sorted, 99) / 1e6,
+          ControllerLatencyHarness.percentile(sorted, 99.9) / 1e6,
+          sorted[sorted.length - 1] / 1e6));
+    }
+  }
+}
@@ -0,0 +1,365 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a TeamModel over HTTP without a user interface, using the HTTP server of the JDK.
+ * Responses are JSON, written by hand without reflection.
+ *
+ * <pre>
+ * POST   /players?firstName=..&amp;lastName=..&amp;year=..&amp;month=..&amp;day=..
+ *                &amp;position=..&amp;skilledLevel=..   adds a player (parameters may also be the body)
+ * DELETE /players/{jerseyNumber}                   removes a player
+ * GET    /players                                  all players by jersey number
+ * GET    /players/{jerseyNumber}                   one player
+ * GET    /lineup                                   the starting lineup
+ * GET    /bench                                    the players on the bench
+ * </pre>
+ *
+ * <p>Requests are handled by a bounded pool of worker threads. The thread of the HTTP server
+ * that accepts the requests only hands them to the pool. When as many requests are waiting
+ * as the queue threshold, new requests are answered at once with 503 Service Unavailable by
+ * that thread instead of waiting, so the latency of the accepted requests stays low and
+ * connections keep being accepted under overload.
+ */
+public class TeamHttpServer {
+  private static final String PLAYERS_PATH = "/players";
+
+  static {
+    // the JDK server writes the headers and the body of a response apart, so with Nagle's
+    // algorithm every small response waits about 40 ms for the delayed ACK of the client;
+    // the property is read once, when the first server is created
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  private final TeamModel model;
+  private final HttpServer server;
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Constructs a new TeamHttpServer. The server does not accept requests until it is started.
+   *
+   * @param model          The team to serve.
+   * @param port           The port to listen on, or 0 for any free port.
+   * @param threads        The number of worker threads.
+   * @param queueThreshold The number of waiting requests at which new requests are rejected.
+   * @throws IOException If the port cannot be bound.
+   */
+  public TeamHttpServer(TeamModel model, int port, int threads, int queueThreshold)
+      throws IOException {
+    if (threads <= 0 || queueThreshold <= 0) {
+      throw new IllegalArgumentException("The threads and the queue threshold must be positive.");
+    }
+    this.model = model;
+    // a full queue rejects the request, which dispatch answers with 503
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueThreshold), new ThreadPoolExecutor.AbortPolicy());
+    this.server = HttpServer.create(new InetSocketAddress(port), 0);
+    // without an executor of its own, the server calls dispatch on its accepting thread
+    server.createContext(PLAYERS_PATH, this::dispatch);
+    server.createContext("/lineup", this::dispatch);
+    server.createContext("/bench", this::dispatch);
+  }
+
+  /**
+   * Starts accepting requests.
+   */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * Stops accepting requests and waits up to the given number of seconds
+   * for the running requests to finish.
+   *
+   * @param delaySeconds The maximum number of seconds to wait.
+   */
+  public void stop(int delaySeconds) {
+    server.stop(delaySeconds);
+    executor.shutdown();
+  }
+
+  /**
+   * Gets the port the server listens on.
+   *
+   * @return The port.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Gets the number of requests waiting for a worker thread.
+   *
+   * @return The number of waiting requests.
+   */
+  int getWaitingRequests() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Hands a request to the worker threads, or answers it at once with 503 if the queue
+   * of waiting requests is full. Runs on the accepting thread of the HTTP server.
+   *
+   * @param exchange The request and its response.
+   * @throws IOException If the 503 response cannot be sent.
+   */
+  private void dispatch(HttpExchange exchange) throws IOException {
+    try {
+      executor.execute(() -> handle(exchange));
+    } catch (RejectedExecutionException e) {
+      try {
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        send(exchange, 503, error("The server is overloaded."));
+      } finally {
+        exchange.close();
+      }
+    }
+  }
+
+  /**
+   * Handles a request on a worker thread.
+   *
+   * @param exchange The request and its response.
+   */
+  private void handle(HttpExchange exchange) {
+    try {
+      respond(exchange);
+    } catch (IOException e) {
+      // the client closed the connection, so there is no one to answer
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Answers a request, turning invalid requests into 400 and conflicts into 409.
+   */
+  private void respond(HttpExchange exchange) throws IOException {
+    try {
+      route(exchange);
+    } catch (NumberFormatException e) {
+      send(exchange, 400, error("Invalid number: " + e.getMessage()));
+    } catch (IllegalArgumentException e) {
+      send(exchange, 400, error(e.getMessage()));
+    } catch (IllegalStateException e) {
+      send(exchange, 409, error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Dispatches a request by its method and path.
+   */
+  private void route(HttpExchange exchange) throws IOException {
+    String method = exchange.getRequestMethod();
+    String path = exchange.getRequestURI().getPath();
+
+    if (path.equals("/lineup") && method.equals("GET")) {
+      LineupAssignment lineup = model.computeStartingLineup();
+      StringBuilder json = new StringBuilder("[");
+      for (Integer jerseyNumber : lineup.getStarters()) {
+        PlayerInterface player = model.getPlayerByJerseyNumber(jerseyNumber);
+        if (player != null) {
+          appendSeparator(json);
+          appendPlayer(json, jerseyNumber, player, lineup.getPosition(jerseyNumber));
+        }
+      }
+      send(exchange, 200, json.append(']').toString());
+    } else if (path.equals("/bench") && method.equals("GET")) {
+      LineupAssignment lineup = model.computeStartingLineup();
+      StringBuilder json = new StringBuilder("[");
+      for (Integer jerseyNumber : lineup.getBench()) {
+        PlayerInterface player = model.getPlayerByJerseyNumber(jerseyNumber);
+        if (player != null) {
+          appendSeparator(json);
+          appendPlayer(json, jerseyNumber, player, Position.BENCH);
+        }
+      }
+      send(exchange, 200, json.append(']').toString());
+    } else if (path.equals(PLAYERS_PATH) && method.equals("GET")) {
+      StringBuilder json = new StringBuilder("[");
+      for (Map.Entry<Integer, PlayerInterface> entry : model.getPlayers().entrySet()) {
+        appendSeparator(json);
+        appendPlayer(json, entry.getKey(), entry.getValue(), null);
+      }
+      send(exchange, 200, json.append(']').toString());
+    } else if (path.equals(PLAYERS_PATH) && method.equals("POST")) {
+      addPlayer(exchange);
+    } else if (path.startsWith(PLAYERS_PATH + "/")) {
+      int jerseyNumber = Integer.parseInt(path.substring(PLAYERS_PATH.length() + 1));
+      if (method.equals("GET")) {
+        PlayerInterface player = model.getPlayerByJerseyNumber(jerseyNumber);
+        if (player == null) {
+          send(exchange, 404, error("No player found with the given jersey number."));
+        } else {
+          StringBuilder json = new StringBuilder();
+          appendPlayer(json, jerseyNumber, player, null);
+          send(exchange, 200, json.toString());
+        }
+      } else if (method.equals("DELETE")) {
+        PlayerInterface player = model.getPlayerByJerseyNumber(jerseyNumber);
+        String message = model.removePlayer(jerseyNumber);
+        send(exchange, player == null ? 404 : 200,
+            "{\"message\":" + quote(message) + "}");
+      } else {
+        send(exchange, 405, error("Method not allowed."));
+      }
+    } else {
+      send(exchange, path.equals(PLAYERS_PATH) || path.equals("/lineup")
+          || path.equals("/bench") ? 405 : 404, error("Not found: " + method + " " + path));
+    }
+  }
+
+  /**
+   * Adds the player described by the parameters of the request.
+   */
+  private void addPlayer(HttpExchange exchange) throws IOException {
+    Map<String, String> parameters = parseParameters(exchange.getRequestURI().getRawQuery());
+    try (InputStream body = exchange.getRequestBody()) {
+      parameters.putAll(parseParameters(new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+    }
+    model.addPlayer(required(parameters, "firstName"), required(parameters, "lastName"),
+        Integer.parseInt(required(parameters, "year")),
+        Integer.parseInt(required(parameters, "month")),
+        Integer.parseInt(required(parameters, "day")),
+        required(parameters, "position"),
+        Integer.parseInt(required(parameters, "skilledLevel")));
+    send(exchange, 201, "{\"teamSize\":" + model.getTeamSize() + "}");
+  }
+
+  /**
+   * Parses URL encoded parameters such as "firstName=James&amp;lastName=Garcia".
+   */
+  private static Map<String, String> parseParameters(String encoded) {
+    Map<String, String> parameters = new HashMap<>();
+    if (encoded == null || encoded.isEmpty()) {
+      return parameters;
+    }
+    for (String pair : encoded.split("&")) {
+      int separator = pair.indexOf('=');
+      if (separator > 0) {
+        parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+            URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return parameters;
+  }
+
+  /**
+   * Gets a parameter that must be present.
+   *
+   * @throws IllegalArgumentException If the parameter is missing.
+   */
+  private static String required(Map<String, String> parameters, String name) {
+    String value = parameters.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("Missing parameter: " + name);
+    }
+    return value;
+  }
+
+  /**
+   * Appends a player as a JSON object.
+   *
+   * @param position The position to include, or null to leave it out.
+   */
+  private static void appendPlayer(StringBuilder json, int jerseyNumber, PlayerInterface player,
+      Position position) {
+    json.append("{\"jerseyNumber\":").append(jerseyNumber)
+        .append(",\"firstName\":").append(quote(player.getFirstName()))
+        .append(",\"lastName\":").append(quote(player.getLastName()))
+        .append(",\"dateOfBirth\":").append(quote(player.getDateOfBirth()))
+        .append(",\"preferredPosition\":").append(quote(player.getPreferredPosition().name()))
+        .append(",\"skilledLevel\":").append(player.getSkilledLevel());
+    if (position != null) {
+      json.append(",\"position\":").append(quote(position.name()));
+    }
+    json.append('}');
+  }
+
+  /**
+   * Appends a comma unless the JSON array is still empty.
+   */
+  private static void appendSeparator(StringBuilder json) {
+    if (json.length() > 1) {
+      json.append(',');
+    }
+  }
+
+  private static String error(String message) {
+    return "{\"error\":" + quote(message) + "}";
+  }
+
+  /**
+   * Quotes a string as a JSON string literal.
+   */
+  static String quote(String value) {
+    StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          quoted.append("\\\"");
+          break;
+        case '\\':
+          quoted.append("\\\\");
+          break;
+        case '\n':
+          quoted.append("\\n");
+          break;
+        case '\r':
+          quoted.append("\\r");
+          break;
+        case '\t':
+          quoted.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            quoted.append(String.format("\\u%04x", (int) c));
+          } else {
+            quoted.append(c);
+          }
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  /**
+   * Sends a JSON response.
+   */
+  private static void send(HttpExchange exchange, int status, String json) throws IOException {
+    byte[] body = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+
+  /**
+   * Starts a server for a new, empty team.
+   *
+   * @param args The port, 8080 by default, and the number of worker threads, 16 by default.
+   * @throws IOException If the port cannot be bound.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+    TeamHttpServer server = new TeamHttpServer(new Team(), port, threads, threads * 64);
+    server.start();
+    System.out.println("Serving the team on port " + server.getPort());
+  }
+}
@@ -1,3 +1,7 @@
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This interface defines the operations that a soccer team can perform.
@@ -18,7 +22,7 @@ public interface TeamModel {
       String preferredPosition, int skilledLevel);
 
   /**
-   * Checks if it is a valid team with a minimum of 10 players.
+   * Checks if it is a valid team with the minimum number of players of its division (10 for U10).
    *
    * @throws IllegalStateException If a valid team cannot be created.
    */
@@ -31,6 +35,34 @@ public interface TeamModel {
    */
   String removePlayer(int jerseyNumber);
 
+  /**
+   * Finds the players whose first name, last name or full name starts with the prefix,
+   * ignoring case. This method may be called from another thread than the one changing the team.
+   *
+   * @param prefix The prefix typed so far.
+   * @param limit  The maximum number of players to return.
+   * @return The "first last" name of the matching players, keyed by jersey number,
+   *         in alphabetical order of the matched name.
+   */
+  Map<Integer, String> findPlayersByNamePrefix(String prefix, int limit);
+
+  /**
+   * Removes all players who have become too old for the team by the current date.
+   * Only the players whose eligibility ends on or before the date are visited.
+   *
+   * @return The removed players, keyed by their former jersey number.
+   */
+  Map<Integer, PlayerInterface> revalidateEligibility();
+
+  /**
+   * Removes all players who have become too old for the team by the given reference date.
+   * Only the players whose eligibility ends on or before the date are visited.
+   *
+   * @param referenceDate The date at which the eligibility is checked.
+   * @return The removed players, keyed by their former jersey number.
+   */
+  Map<Integer, PlayerInterface> revalidateEligibility(LocalDate referenceDate);
+
   /**
    * Retrieves a player from the team based on the jersey number.
    *
@@ -39,6 +71,85 @@ public interface TeamModel {
    */
   PlayerInterface getPlayerByJerseyNumber(int jerseyNumber);
 
+  /**
+   * Gets the rules of the division the team plays in.
+   *
+   * @return The rules of the division.
+   */
+  DivisionRules getDivisionRules();
+
+  /**
+   * Retrieves all players of the team.
+   *
+   * @return An immutable snapshot of all players in the team, keyed by jersey number,
+   *         which does not change when the team changes later.
+   */
+  Map<Integer, PlayerInterface> getPlayers();
+
+  /**
+   * Undoes the last change of the roster: an added, removed or evicted player,
+   * or the positions set by a committed lineup.
+   *
+   * @return True if a change has been undone, false if there is nothing to undo.
+   */
+  boolean undo();
+
+  /**
+   * Redoes the last undone change of the roster. A new change of the roster
+   * discards the changes that could have been redone.
+   *
+   * @return True if a change has been redone, false if there is nothing to redo.
+   */
+  boolean redo();
+
+  /**
+   * Gets the current version of the roster.
+   *
+   * @return The immutable snapshot of the current roster.
+   */
+  RosterSnapshot getSnapshot();
+
+  /**
+   * Gets a past version of the roster.
+   *
+   * @param version The version number.
+   * @return The immutable snapshot of the roster at that version.
+   * @throws IllegalArgumentException If the version does not exist or has been discarded.
+   */
+  RosterSnapshot getSnapshot(long version);
+
+  /**
+   * Gets the version of the roster as it was at a point in time, for example a week ago.
+   *
+   * @param time The point in time.
+   * @return The last version created at or before the time, or the first version
+   *         if the time is before it. Undone versions are not considered.
+   */
+  RosterSnapshot getSnapshotAt(Instant time);
+
+  /**
+   * Computes what changed between two versions of the roster. Only the changes recorded between
+   * the two versions are visited, so the time depends on the number of changes,
+   * not on the size of the team. Changes that cancel each other out are not reported,
+   * and a child removed and added again under another jersey number is reported as a
+   * JERSEY_CHANGED. If the first version is newer, the changes lead back to it.
+   *
+   * @param fromVersion The version number to compare from.
+   * @param toVersion   The version number to compare to.
+   * @return The net changes, ordered by jersey number.
+   * @throws IllegalArgumentException If one of the versions does not exist or has been discarded.
+   */
+  List<RosterChange> diff(long fromVersion, long toVersion);
+
+  /**
+   * Gets the publisher of the roster versions. Every change, undo and redo publishes the new
+   * current version, so after an undo a subscriber receives an older version number again.
+   * Publishing never waits for the subscribers.
+   *
+   * @return The publisher of the current roster versions.
+   */
+  RosterPublisher getRosterPublisher();
+
   /**
    * Note: this method is only used for testing, not interacting with the controller.
    * Retrieves the jersey number associated with a specific player in the team.
@@ -65,6 +176,59 @@ public interface TeamModel {
   String getAllPlayersInTheTeam();
 
 
+  /**
+   * Computes the starting lineup of the team without changing any player.
+   * The actualPosition of the players is only updated when the result is passed to commitLineup.
+   *
+   * @return The immutable assignment of every player in the team to a position.
+   * @throws IllegalArgumentException If the team has less than the minimum number of players.
+   */
+  LineupAssignment computeStartingLineup();
+
+  /**
+   * Computes the starting lineup of the team for a date, only considering the players
+   * that are available on that date. Unavailable players are not part of the result.
+   *
+   * @param calendar The availability of the players during the season.
+   * @param date     The date of the match.
+   * @return The immutable assignment of every available player to a position.
+   * @throws IllegalArgumentException If the team has less than the minimum number of players,
+   *                                  or the date is outside the season of the calendar.
+   */
+  LineupAssignment computeStartingLineup(AvailabilityCalendar calendar, LocalDate date);
+
+  /**
+   * Computes the starting lineup of the team for every date of the season of the calendar.
+   *
+   * @param calendar The availability of the players during the season.
+   * @return The lineups of every day of the season, starting with the first date.
+   * @throws IllegalArgumentException If the team has less than the minimum number of players.
+   */
+  List<LineupAssignment> computeSeasonLineups(AvailabilityCalendar calendar);
+
+  /**
+   * Commits a lineup to the team by setting the actualPosition of every player.
+   * Players that are not part of the lineup are assigned Position.BENCH.
+   * A player whose position changes is replaced by a copy at the new position,
+   * so the older versions of the roster keep the previous positions.
+   *
+   * @param lineup The lineup to commit.
+   */
+  void commitLineup(LineupAssignment lineup);
+
+  /**
+   * Gives players new skill levels as one version of the roster, which can be undone.
+   * Only the players whose level actually changes are recorded, and the starting lineup is
+   * only recomputed if at least one level changed. A player whose level changes is replaced by
+   * a copy with the new level, so the older versions of the roster keep the previous levels.
+   *
+   * @param skilledLevels The new skill level of the players, by jersey number.
+   * @return The number of players whose skill level changed.
+   * @throws IllegalArgumentException If a jersey number is not in the team, or a level is not
+   *                                  on the skill scale of the division. Nothing is changed then.
+   */
+  int updateSkilledLevels(Map<Integer, Integer> skilledLevels);
+
   /**
    * Retrieves a formatted list of players in the starting lineup.
    *
@@ -0,0 +1,364 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A client of TeamRpcServer. Single requests are sent with the methods named after the
+ * operations of the team. A pipeline sends many requests together and reads the responses
+ * while it is still sending, so a batch costs about one round trip instead of one per request,
+ * and a batch larger than the socket buffers does not wait for a server that has stopped
+ * reading until its responses are read. A client must only be used by one thread at a time.
+ */
+public class TeamRpcClient implements Closeable {
+  private final SocketChannel channel;
+  private final Selector selector;
+  private final SelectionKey key;
+  private ByteBuffer output = ByteBuffer.allocate(8192); // in write mode
+  private ByteBuffer input = ByteBuffer.allocate(8192); // in read mode
+  private int nextRequestId;
+
+  /**
+   * The data of a player as sent by the server.
+   */
+  public static final class PlayerData {
+    private final String firstName;
+    private final String lastName;
+    private final String dateOfBirth;
+    private final Position preferredPosition;
+    private final int skilledLevel;
+
+    private PlayerData(String firstName, String lastName, String dateOfBirth,
+        Position preferredPosition, int skilledLevel) {
+      this.firstName = firstName;
+      this.lastName = lastName;
+      this.dateOfBirth = dateOfBirth;
+      this.preferredPosition = preferredPosition;
+      this.skilledLevel = skilledLevel;
+    }
+
+    /**
+     * Gets the first name of the player.
+     */
+    public String getFirstName() {
+      return firstName;
+    }
+
+    /**
+     * Gets the last name of the player.
+     */
+    public String getLastName() {
+      return lastName;
+    }
+
+    /**
+     * Gets the date of birth of the player, formatted as yyyy-MM-dd.
+     */
+    public String getDateOfBirth() {
+      return dateOfBirth;
+    }
+
+    /**
+     * Gets the preferred position of the player.
+     */
+    public Position getPreferredPosition() {
+      return preferredPosition;
+    }
+
+    /**
+     * Gets the skill level of the player.
+     */
+    public int getSkilledLevel() {
+      return skilledLevel;
+    }
+  }
+
+  /**
+   * Connects to a server.
+   *
+   * @param address The address of the server, an InetSocketAddress or a UnixDomainSocketAddress.
+   * @throws IOException If the connection fails.
+   */
+  public TeamRpcClient(SocketAddress address) throws IOException {
+    channel = SocketChannel.open(address);
+    channel.configureBlocking(false);
+    selector = Selector.open();
+    key = channel.register(selector, SelectionKey.OP_READ);
+    input.flip();
+  }
+
+  /**
+   * Starts a new pipeline of requests.
+   *
+   * @return The empty pipeline.
+   */
+  public Pipeline pipeline() {
+    return new Pipeline();
+  }
+
+  /**
+   * Adds a new player to the team.
+   *
+   * @return The size of the team afterwards.
+   * @throws IOException If the connection fails.
+   */
+  public int addPlayer(String firstName, String lastName, int year, int month, int day,
+      String preferredPosition, int skilledLevel) throws IOException {
+    return (Integer) single(pipeline().addPlayer(firstName, lastName, year, month, day,
+        preferredPosition, skilledLevel));
+  }
+
+  /**
+   * Removes a player from the team.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return The message describing the result of the removal.
+   * @throws IOException If the connection fails.
+   */
+  public String removePlayer(int jerseyNumber) throws IOException {
+    return (String) single(pipeline().removePlayer(jerseyNumber));
+  }
+
+  /**
+   * Retrieves a player from the team.
+   *
+   * @param jerseyNumber The jersey number of the player.
+   * @return The player, or null if not found.
+   * @throws IOException If the connection fails.
+   */
+  public PlayerData getPlayerByJerseyNumber(int jerseyNumber) throws IOException {
+    return (PlayerData) single(pipeline().getPlayerByJerseyNumber(jerseyNumber));
+  }
+
+  /**
+   * Computes the starting lineup of the team.
+   *
+   * @return The assignment of every player to a position.
+   * @throws IOException If the connection fails.
+   */
+  public LineupAssignment computeStartingLineup() throws IOException {
+    return (LineupAssignment) single(pipeline().computeStartingLineup());
+  }
+
+  /**
+   * Gets the size of the team.
+   *
+   * @return The number of players.
+   * @throws IOException If the connection fails.
+   */
+  public int getTeamSize() throws IOException {
+    return (Integer) single(pipeline().getTeamSize());
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+    selector.close();
+  }
+
+  /**
+   * Executes a pipeline of one request, throwing its error if it failed.
+   */
+  private Object single(Pipeline pipeline) throws IOException {
+    Object result = pipeline.execute().get(0);
+    if (result instanceof RuntimeException) {
+      throw (RuntimeException) result;
+    }
+    return result;
+  }
+
+  /**
+   * Requests that are sent together. Every method adds a request and returns the pipeline,
+   * and execute sends them all and reads all responses.
+   */
+  public final class Pipeline {
+    private final List<Byte> operations = new ArrayList<>();
+    private final int firstRequestId = nextRequestId;
+
+    private Pipeline() {
+      output.clear();
+    }
+
+    /**
+     * Adds a request to add a player, whose result is the team size afterwards.
+     */
+    public Pipeline addPlayer(String firstName, String lastName, int year, int month, int day,
+        String preferredPosition, int skilledLevel) {
+      int start = begin(TeamRpcProtocol.ADD_PLAYER, 32 + 3 * (firstName.length()
+          + lastName.length() + preferredPosition.length()));
+      TeamRpcProtocol.putString(output, firstName);
+      TeamRpcProtocol.putString(output, lastName);
+      output.putInt(year).put((byte) month).put((byte) day);
+      TeamRpcProtocol.putString(output, preferredPosition);
+      output.put((byte) skilledLevel);
+      return end(start);
+    }
+
+    /**
+     * Adds a request to remove a player, whose result is the message of the removal.
+     */
+    public Pipeline removePlayer(int jerseyNumber) {
+      int start = begin(TeamRpcProtocol.REMOVE_PLAYER, 4);
+      output.putInt(jerseyNumber);
+      return end(start);
+    }
+
+    /**
+     * Adds a request for a player, whose result is the PlayerData or null.
+     */
+    public Pipeline getPlayerByJerseyNumber(int jerseyNumber) {
+      int start = begin(TeamRpcProtocol.GET_PLAYER, 4);
+      output.putInt(jerseyNumber);
+      return end(start);
+    }
+
+    /**
+     * Adds a request for the starting lineup, whose result is the LineupAssignment.
+     */
+    public Pipeline computeStartingLineup() {
+      return end(begin(TeamRpcProtocol.GET_LINEUP, 0));
+    }
+
+    /**
+     * Adds a request for the team size, whose result is an Integer.
+     */
+    public Pipeline getTeamSize() {
+      return end(begin(TeamRpcProtocol.GET_TEAM_SIZE, 0));
+    }
+
+    /**
+     * Sends all requests and reads their responses, reading whenever the connection does not
+     * take more requests.
+     *
+     * @return The results in the order of the requests. The result of a failed request is
+     *         the IllegalArgumentException or IllegalStateException the team threw.
+     * @throws IOException If the connection fails.
+     */
+    public List<Object> execute() throws IOException {
+      output.flip();
+      List<Object> results = new ArrayList<>(operations.size());
+      while (true) {
+        channel.write(output);
+        ByteBuffer response;
+        while (results.size() < operations.size() && (response = nextFrame()) != null) {
+          int requestId = response.getInt();
+          if (requestId != firstRequestId + results.size()) {
+            throw new IOException("Unexpected response to request " + requestId + ".");
+          }
+          results.add(decode(operations.get(results.size()), response));
+        }
+        if (results.size() == operations.size()) {
+          break;
+        }
+        key.interestOps(output.hasRemaining()
+            ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        selector.select();
+        selector.selectedKeys().clear();
+        read();
+      }
+      output.clear();
+      return results;
+    }
+
+    /**
+     * Starts a request frame, leaving room for its length.
+     *
+     * @return The position of the frame in the output.
+     */
+    private int begin(byte operation, int argumentBytes) {
+      output = TeamRpcProtocol.ensureCapacity(output, 9 + argumentBytes);
+      int start = output.position();
+      output.putInt(0).putInt(nextRequestId++).put(operation);
+      operations.add(operation);
+      return start;
+    }
+
+    /**
+     * Completes a request frame by writing its length.
+     */
+    private Pipeline end(int start) {
+      output.putInt(start, output.position() - start - 4);
+      return this;
+    }
+  }
+
+  /**
+   * Decodes the result of a response.
+   */
+  private static Object decode(byte operation, ByteBuffer response) {
+    byte status = response.get();
+    if (status == TeamRpcProtocol.INVALID_STATE) {
+      return new IllegalStateException(TeamRpcProtocol.getString(response));
+    } else if (status != TeamRpcProtocol.OK) {
+      return new IllegalArgumentException(TeamRpcProtocol.getString(response));
+    }
+
+    switch (operation) {
+      case TeamRpcProtocol.ADD_PLAYER:
+      case TeamRpcProtocol.GET_TEAM_SIZE:
+        return response.getInt();
+      case TeamRpcProtocol.REMOVE_PLAYER:
+        return TeamRpcProtocol.getString(response);
+      case TeamRpcProtocol.GET_PLAYER:
+        if (response.get() == 0) {
+          return null;
+        }
+        return new PlayerData(TeamRpcProtocol.getString(response),
+            TeamRpcProtocol.getString(response), TeamRpcProtocol.getString(response),
+            Position.values()[response.get()], response.get());
+      default:
+        int count = response.getInt();
+        Map<Integer, Position> positions = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+          positions.put((int) response.get(), Position.values()[response.get()]);
+        }
+        return new LineupAssignment(positions);
+    }
+  }
+
+  /**
+   * Takes the next response frame from the input if it has arrived completely.
+   *
+   * @return The frame without its length, or null if it has not arrived yet.
+   * @throws IOException If the length of the frame is invalid.
+   */
+  private ByteBuffer nextFrame() throws IOException {
+    if (input.remaining() < 4) {
+      return null;
+    }
+    int length = input.getInt(input.position());
+    if (length < 5 || length > TeamRpcProtocol.MAX_FRAME_LENGTH) {
+      throw new IOException("Invalid frame length: " + length);
+    }
+    if (input.remaining() < 4 + length) {
+      return null;
+    }
+    ByteBuffer frame = input.slice(input.position() + 4, length);
+    input.position(input.position() + 4 + length);
+    return frame;
+  }
+
+  /**
+   * Reads what has arrived from the connection without waiting.
+   */
+  private void read() throws IOException {
+    input.compact();
+    if (!input.hasRemaining()) {
+      // a frame larger than the buffer is still arriving
+      input = TeamRpcProtocol.ensureCapacity(input, input.capacity());
+    }
+    int read = channel.read(input);
+    input.flip();
+    if (read < 0) {
+      throw new EOFException("The server closed the connection.");
+    }
+  }
+}
@@ -0,0 +1,74 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary protocol between TeamRpcServer and TeamRpcClient.
+ * Every message is a frame of a 4-byte length followed by that many bytes. A request frame holds
+ * a 4-byte request id, a 1-byte operation and its arguments; a response frame holds the request
+ * id, a 1-byte status and the result, or an error message if the status is not OK.
+ * Strings are an unsigned 2-byte length followed by UTF-8 bytes. Responses are sent in the order
+ * of the requests, so a client may send many requests before reading any response.
+ */
+final class TeamRpcProtocol {
+  // first name, last name, year int, month byte, day byte, position, skill byte -> team size int
+  static final byte ADD_PLAYER = 1;
+  // jersey number int -> message
+  static final byte REMOVE_PLAYER = 2;
+  // jersey number int -> found byte, if found: first name, last name, date of birth,
+  // preferred position byte, skill byte
+  static final byte GET_PLAYER = 3;
+  // -> count int, count * (jersey number byte, position byte), bench players included
+  static final byte GET_LINEUP = 4;
+  // -> team size int
+  static final byte GET_TEAM_SIZE = 5;
+
+  static final byte OK = 0;
+  static final byte INVALID_ARGUMENT = 1; // an IllegalArgumentException, the message follows
+  static final byte INVALID_STATE = 2; // an IllegalStateException, the message follows
+
+  static final int MAX_FRAME_LENGTH = 1 << 20;
+
+  private TeamRpcProtocol() {
+  }
+
+  /**
+   * Writes a string as its length and UTF-8 bytes.
+   *
+   * @throws IllegalArgumentException If the string is longer than 65535 bytes.
+   */
+  static void putString(ByteBuffer buffer, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > 0xFFFF) {
+      throw new IllegalArgumentException("The string is too long: " + bytes.length + " bytes.");
+    }
+    buffer.putShort((short) bytes.length).put(bytes);
+  }
+
+  /**
+   * Reads a string written by putString.
+   */
+  static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Makes sure a buffer in write mode has room for more bytes, copying it into a larger buffer
+   * if needed.
+   *
+   * @return The buffer itself, or the larger copy.
+   */
+  static ByteBuffer ensureCapacity(ByteBuffer buffer, int needed) {
+    if (buffer.remaining() >= needed) {
+      return buffer;
+    }
+    int capacity = buffer.capacity();
+    while (capacity - buffer.position() < needed) {
+      capacity *= 2;
+    }
+    ByteBuffer larger = ByteBuffer.allocate(capacity);
+    buffer.flip();
+    return larger.put(buffer);
+  }
+}
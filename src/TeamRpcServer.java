@@ -0,0 +1,395 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Serves a TeamModel over the compact binary protocol of TeamRpcProtocol, on a TCP port or a
+ * Unix domain socket. One thread serves all connections with a non-blocking selector.
+ * The operations of the team take microseconds, so they run directly on that thread: all
+ * requests that arrive together are executed in order and their responses are sent back
+ * together with a single write, which makes pipelined requests cheap.
+ *
+ * <p>A client that sends requests without reading the responses is not read from while more
+ * than OUTPUT_LIMIT bytes of responses are waiting for it, so its connection cannot take
+ * up memory without bound. Reading resumes once the responses have been sent.
+ */
+public class TeamRpcServer implements Closeable {
+  // the pending responses of a connection above which its requests are no longer read
+  static final int OUTPUT_LIMIT = 64 * 1024;
+
+  private final TeamModel model;
+  private final ServerSocketChannel serverChannel;
+  private final Path socketPath; // the file of a Unix domain socket, or null for TCP
+  private final Selector selector;
+  private final Thread thread;
+  private final ByteBuffer response; // the response being encoded, reused for every request
+  private volatile boolean running;
+
+  /**
+   * The buffers of one client connection.
+   */
+  private static final class Connection {
+    private ByteBuffer input = ByteBuffer.allocate(8192); // in write mode
+    private ByteBuffer output = ByteBuffer.allocate(8192); // in write mode
+  }
+
+  /**
+   * Constructs a new TeamRpcServer. The server does not accept connections until it is started.
+   *
+   * @param model   The team to serve.
+   * @param address The address to listen on, an InetSocketAddress or a UnixDomainSocketAddress.
+   * @throws IOException If the address cannot be bound.
+   */
+  public TeamRpcServer(TeamModel model, SocketAddress address) throws IOException {
+    this.model = model;
+    this.serverChannel = address instanceof UnixDomainSocketAddress
+        ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+    serverChannel.bind(address);
+    this.socketPath = address instanceof UnixDomainSocketAddress
+        ? ((UnixDomainSocketAddress) serverChannel.getLocalAddress()).getPath() : null;
+    serverChannel.configureBlocking(false);
+    this.selector = Selector.open();
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    this.response = ByteBuffer.allocate(TeamRpcProtocol.MAX_FRAME_LENGTH);
+    this.thread = new Thread(this::run, "team-rpc-server");
+    thread.setDaemon(true);
+  }
+
+  /**
+   * Starts accepting connections.
+   */
+  public void start() {
+    running = true;
+    thread.start();
+  }
+
+  /**
+   * Gets the address the server listens on, including the chosen port.
+   *
+   * @return The local address.
+   * @throws IOException If the address cannot be read.
+   */
+  public SocketAddress getLocalAddress() throws IOException {
+    return serverChannel.getLocalAddress();
+  }
+
+  /**
+   * Stops the server, closes all connections and deletes the file of a Unix domain socket.
+   */
+  @Override
+  public void close() throws IOException {
+    running = false;
+    selector.wakeup();
+    try {
+      thread.join(1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (SelectionKey key : selector.keys()) {
+      key.channel().close();
+    }
+    selector.close();
+    if (socketPath != null) {
+      Files.deleteIfExists(socketPath);
+    }
+  }
+
+  /**
+   * Waits for ready connections and serves them until the server is closed.
+   */
+  private void run() {
+    while (running) {
+      try {
+        selector.select();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          try {
+            if (key.isAcceptable()) {
+              accept();
+            } else {
+              if (key.isReadable()) {
+                read(key);
+              }
+              if (key.isValid() && key.isWritable()) {
+                drain(key);
+              }
+            }
+          } catch (IOException | RuntimeException e) {
+            // the client went away or sent garbage, only its connection is closed
+            key.channel().close();
+          }
+        }
+      } catch (IOException e) {
+        running = false;
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel = serverChannel.accept();
+    if (channel != null) {
+      channel.configureBlocking(false);
+      channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+  }
+
+  /**
+   * Reads what has arrived and serves it.
+   */
+  private void read(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    SocketChannel channel = (SocketChannel) key.channel();
+    if (channel.read(connection.input) < 0) {
+      channel.close();
+      return;
+    }
+    serve(key);
+  }
+
+  /**
+   * Executes the complete requests that have been read and sends all responses at once.
+   * Stops early when the pending responses exceed OUTPUT_LIMIT, leaving the remaining
+   * requests in the input until the responses have been sent.
+   */
+  private void serve(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    boolean held;
+    do {
+      ByteBuffer input = connection.input;
+      input.flip();
+      boolean partial = false;
+      held = false;
+      while (input.remaining() >= 4) {
+        if (connection.output.position() > OUTPUT_LIMIT) {
+          held = true;
+          break;
+        }
+        int length = input.getInt(input.position());
+        if (length < 5 || length > TeamRpcProtocol.MAX_FRAME_LENGTH) {
+          throw new IOException("Invalid frame length: " + length);
+        }
+        if (input.remaining() < 4 + length) {
+          partial = true;
+          break;
+        }
+        int start = input.position() + 4;
+        connection.output = execute(input.slice(start, length), connection.output);
+        input.position(start + length);
+      }
+      input.compact();
+      if (partial && !input.hasRemaining()) {
+        // a frame larger than the buffer is still arriving
+        connection.input = TeamRpcProtocol.ensureCapacity(input, input.capacity());
+      }
+      flush(key);
+      // if the connection took the responses at once, the held requests are served now
+    } while (held && connection.output.position() <= OUTPUT_LIMIT);
+  }
+
+  /**
+   * Sends pending responses once the connection is writable, and serves the requests
+   * that were held back once the responses are below OUTPUT_LIMIT again.
+   */
+  private void drain(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    flush(key);
+    if (connection.output.position() <= OUTPUT_LIMIT && connection.input.position() > 0) {
+      serve(key);
+    }
+  }
+
+  /**
+   * Writes as much of the pending responses as the connection accepts,
+   * waiting for the connection to become writable if some are left. The connection
+   * is not read from while the pending responses exceed OUTPUT_LIMIT.
+   */
+  private void flush(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    ByteBuffer output = connection.output;
+    output.flip();
+    ((SocketChannel) key.channel()).write(output);
+    output.compact();
+    int pending = output.position();
+    key.interestOps((pending <= OUTPUT_LIMIT ? SelectionKey.OP_READ : 0)
+        | (pending > 0 ? SelectionKey.OP_WRITE : 0));
+  }
+
+  /**
+   * Executes one request and appends its response frame to the output.
+   *
+   * @param request The request frame without its length.
+   * @param output  The pending responses of the connection, in write mode.
+   * @return The output, or a larger copy of it if the response did not fit.
+   */
+  private ByteBuffer execute(ByteBuffer request, ByteBuffer output) {
+    int requestId = request.getInt();
+    response.clear();
+    response.putInt(0).putInt(requestId).put(TeamRpcProtocol.OK);
+    try {
+      executeOperation(request);
+    } catch (IllegalStateException e) {
+      fail(TeamRpcProtocol.INVALID_STATE, e.getMessage(), requestId);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      fail(TeamRpcProtocol.INVALID_ARGUMENT, e.getMessage(), requestId);
+    } catch (BufferUnderflowException e) {
+      fail(TeamRpcProtocol.INVALID_ARGUMENT, "Malformed request.", requestId);
+    }
+    response.putInt(0, response.position() - 4);
+    response.flip();
+    output = TeamRpcProtocol.ensureCapacity(output, response.remaining());
+    return output.put(response);
+  }
+
+  /**
+   * Replaces the result of a failed request by the status and message of the error.
+   */
+  private void fail(byte status, String message, int requestId) {
+    response.clear();
+    response.putInt(0).putInt(requestId).put(status);
+    TeamRpcProtocol.putString(response, message == null ? "" : message);
+  }
+
+  /**
+   * Executes the operation of a request and writes its result to the response.
+   */
+  private void executeOperation(ByteBuffer request) {
+    byte operation = request.get();
+    switch (operation) {
+      case TeamRpcProtocol.ADD_PLAYER: {
+        String firstName = TeamRpcProtocol.getString(request);
+        String lastName = TeamRpcProtocol.getString(request);
+        int year = request.getInt();
+        int month = request.get();
+        int day = request.get();
+        String position = TeamRpcProtocol.getString(request);
+        int skilledLevel = request.get();
+        model.addPlayer(firstName, lastName, year, month, day, position, skilledLevel);
+        response.putInt(model.getTeamSize());
+        break;
+      }
+      case TeamRpcProtocol.REMOVE_PLAYER:
+        TeamRpcProtocol.putString(response, model.removePlayer(request.getInt()));
+        break;
+      case TeamRpcProtocol.GET_PLAYER: {
+        PlayerInterface player = model.getPlayerByJerseyNumber(request.getInt());
+        response.put((byte) (player == null ? 0 : 1));
+        if (player != null) {
+          TeamRpcProtocol.putString(response, player.getFirstName());
+          TeamRpcProtocol.putString(response, player.getLastName());
+          TeamRpcProtocol.putString(response, player.getDateOfBirth());
+          response.put((byte) player.getPreferredPosition().ordinal());
+          response.put((byte) player.getSkilledLevel());
+        }
+        break;
+      }
+      case TeamRpcProtocol.GET_LINEUP: {
+        Map<Integer, Position> lineup = model.computeStartingLineup().asMap();
+        response.putInt(lineup.size());
+        for (Map.Entry<Integer, Position> entry : lineup.entrySet()) {
+          response.put(entry.getKey().byteValue()).put((byte) entry.getValue().ordinal());
+        }
+        break;
+      }
+      case TeamRpcProtocol.GET_TEAM_SIZE:
+        response.putInt(model.getTeamSize());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown operation: " + operation);
+    }
+  }
+
+  /**
+   * Compares the throughput of player lookups over HTTP with TeamHttpServer, over this protocol
+   * one request at a time, and over this protocol in pipelines, on the loopback interface.
+   *
+   * @param args The number of lookups per mode, 20000 by default, and the number of requests
+   *             per pipeline, 1000 by default.
+   * @throws Exception If a server cannot be started or a request fails.
+   */
+  public static void main(String[] args) throws Exception {
+    int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    int batch = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    Clock clock = Clock.systemDefaultZone();
+    int birthYear = LocalDate.now(clock).getYear() - 7;
+    String[] positions = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+    TeamModel team = new Team(clock);
+    for (int p = 0; p < 15; p++) {
+      team.addPlayer("Player" + p, "Team", birthYear, 1 + p % 12, 1 + p,
+          positions[p % positions.length], 1 + p % 5);
+    }
+    int[] jerseyNumbers = team.getPlayers().keySet().stream().mapToInt(Integer::intValue)
+        .toArray();
+
+    TeamHttpServer httpServer = new TeamHttpServer(team, 0, 4, 1024);
+    httpServer.start();
+    HttpClient httpClient = HttpClient.newHttpClient();
+    String base = "http://localhost:" + httpServer.getPort() + "/players/";
+    for (int round = 0; round < 2; round++) { // the first round warms up the JIT
+      long start = System.nanoTime();
+      for (int i = 0; i < requests; i++) {
+        HttpRequest request = HttpRequest.newBuilder(
+            URI.create(base + jerseyNumbers[i % jerseyNumbers.length])).build();
+        httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      }
+      report(round, "HTTP", requests, System.nanoTime() - start);
+    }
+    httpServer.stop(0);
+
+    try (TeamRpcServer rpcServer = new TeamRpcServer(team,
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+      rpcServer.start();
+      try (TeamRpcClient client = new TeamRpcClient(rpcServer.getLocalAddress())) {
+        for (int round = 0; round < 2; round++) {
+          long start = System.nanoTime();
+          for (int i = 0; i < requests; i++) {
+            client.getPlayerByJerseyNumber(jerseyNumbers[i % jerseyNumbers.length]);
+          }
+          report(round, "RPC", requests, System.nanoTime() - start);
+
+          start = System.nanoTime();
+          for (int i = 0; i < requests; i += batch) {
+            TeamRpcClient.Pipeline pipeline = client.pipeline();
+            for (int j = i; j < Math.min(i + batch, requests); j++) {
+              pipeline.getPlayerByJerseyNumber(jerseyNumbers[j % jerseyNumbers.length]);
+            }
+            pipeline.execute();
+          }
+          report(round, "RPC pipelines of " + batch, requests, System.nanoTime() - start);
+        }
+      }
+    }
+  }
+
+  /**
+   * Prints the throughput of a mode, skipping the warm-up round.
+   */
+  private static void report(int round, String mode, int requests, long elapsed) {
+    if (round > 0) {
+      System.out.println(String.format("%s: %,d lookups in %,d ms, %,.0f lookups/s", mode,
+          requests, elapsed / 1_000_000, requests / (elapsed / 1e9)));
+    }
+  }
+}
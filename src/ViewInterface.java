@@ -1,5 +1,7 @@
 import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * This interface defines the methods that a view in the U10 Soccer Team Manager should implement.
@@ -69,6 +71,13 @@ public interface ViewInterface {
   void switchToTeamPage(String currentPlayers, String startingLineup,
       String playersOnBench, int teamSize);
 
+  /**
+   * Sets the handler that finds players by a typed name prefix for the type-ahead search.
+   * The handler is called off the Event Dispatch Thread.
+   * @param handler Maps a name prefix to the matching player names, keyed by jersey number.
+   */
+  void setNameSearchHandler(Function<String, Map<Integer, String>> handler);
+
   /**
    * Sets an action listener for handling user interactions.
    * @param listener The action listener to set.
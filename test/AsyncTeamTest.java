@@ -0,0 +1,99 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the AsyncTeam class.
+ */
+public class AsyncTeamTest {
+
+  AsyncTeam team;
+
+  /**
+   * Sets up an asynchronous team on an empty U10 team.
+   */
+  @Before
+  public void setUp() {
+    Clock clock = Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC);
+    team = new AsyncTeam(new Team(clock));
+  }
+
+  /**
+   * Stops the writer of the team.
+   */
+  @After
+  public void tearDown() {
+    team.close();
+  }
+
+  /**
+   * Tests that the changes are carried out in the order they were submitted.
+   */
+  @Test
+  public void testWritesInOrder() {
+    List<CompletableFuture<Void>> adds = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      adds.add(team.addPlayer("First" + (char) ('A' + i), "Last", 2019, 1, 1 + i, "DEFENDER",
+          1 + i % 5));
+    }
+    for (CompletableFuture<Void> add : adds) {
+      add.join();
+    }
+    Assert.assertEquals(12, (int) team.getTeamSize().join());
+
+    int jerseyNumber = team.getModel().getPlayers().keySet().iterator().next();
+    CompletableFuture<String> removal = team.removePlayer(jerseyNumber);
+    CompletableFuture<String> secondRemoval = team.removePlayer(jerseyNumber);
+    Assert.assertEquals("Player with jersey number " + jerseyNumber + " has been removed.",
+        removal.join());
+    Assert.assertEquals("No player found with the given jersey number.", secondRemoval.join());
+    Assert.assertNull(team.getPlayerByJerseyNumber(jerseyNumber).join());
+  }
+
+  /**
+   * Tests that many concurrent readers see consistent lineups while the team changes.
+   */
+  @Test
+  public void testConcurrentReads() {
+    for (int i = 0; i < 12; i++) {
+      team.addPlayer("First" + (char) ('A' + i), "Last", 2019, 1, 1 + i, "MIDFIELDER", 3);
+    }
+    // reads do not wait for earlier writes, so the team is complete before reading
+    team.addPlayer("Last", "Write", 2019, 3, 3, "GOALIE", 1).join();
+    List<CompletableFuture<LineupAssignment>> lineups = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      if (i % 100 == 0) {
+        team.addPlayer("Extra" + (char) ('A' + i / 100), "Last", 2018, 2, 1 + i / 100,
+            "FORWARD", 2);
+      }
+      lineups.add(team.computeStartingLineup());
+    }
+    for (CompletableFuture<LineupAssignment> lineup : lineups) {
+      Assert.assertEquals(7, lineup.join().getStarters().size());
+    }
+    team.removePlayer(0).join(); // waits for all earlier writes
+    Assert.assertEquals(20, team.getModel().getTeamSize());
+  }
+
+  /**
+   * Tests that an invalid player completes the future exceptionally.
+   */
+  @Test
+  public void testInvalidPlayer() {
+    try {
+      team.addPlayer("Kelvin", "Taylor", 2019, 7, 1, "DEFENDER", 9).join();
+      Assert.fail("The skill level is invalid.");
+    } catch (CompletionException e) {
+      Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+    Assert.assertEquals(0, (int) team.getTeamSize().join());
+  }
+}
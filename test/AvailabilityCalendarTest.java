@@ -0,0 +1,103 @@
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the AvailabilityCalendar class
+ * and the lineups that are generated from it.
+ */
+public class AvailabilityCalendarTest {
+
+  TeamModel team;
+  AvailabilityCalendar calendar;
+
+  /**
+   * Set up a team of eleven players and a season of one week.
+   */
+  @Before
+  public void setUp() {
+    team = new Team();
+    team.addPlayer("A", "A", 2019, 7, 21, "Goalie", 5);
+    team.addPlayer("B", "B", 2019, 8, 17, "Goalie", 3);
+    team.addPlayer("C", "C", 2018, 7, 10, "Defender", 4);
+    team.addPlayer("D", "D", 2020, 9, 12, "Defender", 4);
+    team.addPlayer("E", "E", 2019, 7, 3, "Midfielder", 5);
+    team.addPlayer("F", "F", 2019, 3, 14, "Midfielder", 3);
+    team.addPlayer("G", "G", 2019, 7, 21, "Forward", 5);
+    team.addPlayer("H", "H", 2019, 6, 26, "Forward", 1);
+    team.addPlayer("I", "I", 2018, 5, 1, "Defender", 2);
+    team.addPlayer("J", "J", 2018, 1, 13, "Midfielder", 2);
+    team.addPlayer("K", "K", 2018, 2, 3, "Midfielder", 1);
+    calendar = new AvailabilityCalendar(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 7));
+  }
+
+  /**
+   * Returns the jersey number of the player with the given first name.
+   */
+  private int jerseyOf(String firstName) {
+    for (int jerseyNumber : team.getPlayers().keySet()) {
+      if (team.getPlayerByJerseyNumber(jerseyNumber).getFirstName().equals(firstName)) {
+        return jerseyNumber;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Tests setting and clearing the availability of a player.
+   */
+  @Test
+  public void testSetAvailable() {
+    LocalDate date = LocalDate.of(2024, 5, 3);
+    Assert.assertTrue(calendar.isAvailable(5, date));
+    calendar.setAvailable(5, date, false);
+    Assert.assertFalse(calendar.isAvailable(5, date));
+    Assert.assertTrue(calendar.isAvailable(5, date.plusDays(1)));
+    calendar.setAvailable(5, date, true);
+    Assert.assertTrue(calendar.isAvailable(5, date));
+    Assert.assertEquals(7, calendar.getDays());
+  }
+
+  /**
+   * Tests that a date outside the season is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDateOutsideSeason() {
+    calendar.setAvailable(5, LocalDate.of(2024, 5, 8), false);
+  }
+
+  /**
+   * Tests that an unavailable player is left out of the lineup of that date.
+   */
+  @Test
+  public void testLineupForDate() {
+    LocalDate date = LocalDate.of(2024, 5, 4);
+    calendar.setAvailable(jerseyOf("A"), date, false);
+
+    LineupAssignment lineup = team.computeStartingLineup(calendar, date);
+    Assert.assertNull(lineup.getPosition(jerseyOf("A")));
+    Assert.assertEquals(Position.GOALIE, lineup.getPosition(jerseyOf("B")));
+    Assert.assertEquals(7, lineup.getStarters().size());
+    Assert.assertEquals(3, lineup.getBench().size());
+  }
+
+  /**
+   * Tests that the lineups of the whole season match the lineups of the single dates.
+   */
+  @Test
+  public void testSeasonLineups() {
+    calendar.setAvailable(jerseyOf("A"), LocalDate.of(2024, 5, 2), false);
+    calendar.setAvailable(jerseyOf("E"), LocalDate.of(2024, 5, 6), false);
+
+    List<LineupAssignment> lineups = team.computeSeasonLineups(calendar);
+    Assert.assertEquals(7, lineups.size());
+    for (int day = 0; day < lineups.size(); day++) {
+      LocalDate date = calendar.getFirstDate().plusDays(day);
+      Assert.assertEquals(team.computeStartingLineup(calendar, date).asMap(),
+          lineups.get(day).asMap());
+    }
+    Assert.assertEquals(team.computeStartingLineup().asMap(), lineups.get(0).asMap());
+  }
+}
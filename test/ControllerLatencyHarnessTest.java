@@ -0,0 +1,38 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the ControllerLatencyHarness class.
+ */
+public class ControllerLatencyHarnessTest {
+
+  private final ControllerLatencyHarness harness = new ControllerLatencyHarness(
+      Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC), 5, 20);
+
+  /**
+   * Tests that every command of the cycle is measured at a full roster.
+   */
+  @Test
+  public void testMeasure() {
+    Map<String, long[]> latencies = harness.measure(20);
+    Assert.assertEquals(8, latencies.size());
+    for (long[] sorted : latencies.values()) {
+      Assert.assertEquals(20, sorted.length);
+      Assert.assertTrue(sorted[0] <= sorted[19]);
+      Assert.assertEquals(sorted[19], ControllerLatencyHarness.percentile(sorted, 100));
+      Assert.assertEquals(sorted[9], ControllerLatencyHarness.percentile(sorted, 50));
+    }
+  }
+
+  /**
+   * Tests that a roster larger than a team is rejected.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidRosterSize() {
+    harness.measure(21);
+  }
+}
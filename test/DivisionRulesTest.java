@@ -0,0 +1,78 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the DivisionRules class
+ * and for players and teams of divisions other than U10.
+ */
+public class DivisionRulesTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+  /**
+   * Tests the age window and skill scale of the predefined divisions.
+   */
+  @Test
+  public void testThresholds() {
+    Assert.assertTrue(DivisionRules.U8.isEligibleAge(7));
+    Assert.assertFalse(DivisionRules.U8.isEligibleAge(8));
+    Assert.assertTrue(DivisionRules.U12.isEligibleAge(11));
+    Assert.assertFalse(DivisionRules.U10.isEligibleAge(0));
+    Assert.assertTrue(DivisionRules.U10.isValidSkilledLevel(5));
+    Assert.assertFalse(DivisionRules.U10.isValidSkilledLevel(6));
+    Assert.assertEquals(7, DivisionRules.U10.getLineupSize());
+    Assert.assertEquals(9, DivisionRules.U12.getLineupSize());
+  }
+
+  /**
+   * Tests that a formation which does not fit into a valid team is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testFormationLargerThanTeam() {
+    new DivisionRules("U6", 6, 3, 10, 1, 5, 1, 1, 1, 1);
+  }
+
+  /**
+   * Tests that an eleven year old player can join a U12 team but not a U10 team.
+   */
+  @Test
+  public void testPlayerAgeByDivision() {
+    PlayerInterface player = new Player("James", "Garcia", 2013, 1, 10, Position.FORWARD, 4,
+        clock, DivisionRules.U12);
+    Assert.assertEquals("2013-01-10", player.getDateOfBirth());
+  }
+
+  /**
+   * Tests that an eleven year old player cannot join a U10 team.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayerTooOldForDivision() {
+    new Player("James", "Garcia", 2013, 1, 10, Position.FORWARD, 4, clock, DivisionRules.U10);
+  }
+
+  /**
+   * Tests that a U12 team uses the formation and team size of its division.
+   */
+  @Test
+  public void testU12TeamLineup() {
+    TeamModel team = new Team(DivisionRules.U12, clock);
+    for (int i = 0; i < 11; i++) {
+      team.addPlayer("P" + i, "Q" + i, 2014, 1, 1 + i, "Midfielder", 3);
+    }
+    Assert.assertEquals(11, team.getTeamSize());
+    try {
+      team.computeStartingLineup();
+      Assert.fail("a U12 team needs at least 12 players");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    team.addPlayer("P11", "Q11", 2014, 2, 1, "Goalie", 3);
+    LineupAssignment lineup = team.computeStartingLineup();
+    Assert.assertEquals(9, lineup.getStarters().size());
+    Assert.assertEquals(3, lineup.getBench().size());
+  }
+}
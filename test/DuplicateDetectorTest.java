@@ -0,0 +1,55 @@
+import java.time.LocalDate;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the DuplicateDetector class and the player identity.
+ */
+public class DuplicateDetectorTest {
+
+  /**
+   * Tests that the same child is detected regardless of case, accents and spacing.
+   */
+  @Test
+  public void testDetectsDuplicates() {
+    DuplicateDetector detector = new DuplicateDetector(100);
+    LocalDate dateOfBirth = LocalDate.of(2016, 7, 1);
+    Assert.assertEquals(-1, detector.register("Kelvin", "Taylor", dateOfBirth, 1));
+    Assert.assertEquals(-1, detector.register("Kelvin", "Taylor", dateOfBirth.plusDays(1), 2));
+    Assert.assertEquals(-1, detector.register("Kelvin", "Tailor", dateOfBirth, 3));
+    Assert.assertEquals(1, detector.register(" KELVIN ", "taylor", dateOfBirth, 4));
+    Assert.assertEquals(-1, detector.register("Zo\u00eb", "Brown", dateOfBirth, 5));
+    Assert.assertEquals(5, detector.register("Zoe", "Brown", dateOfBirth, 6));
+    Assert.assertEquals(4, detector.size());
+  }
+
+  /**
+   * Tests that the detector keeps working beyond the expected number of registrations.
+   */
+  @Test
+  public void testManyRegistrations() {
+    DuplicateDetector detector = new DuplicateDetector(10);
+    LocalDate dateOfBirth = LocalDate.of(2016, 1, 1);
+    for (int i = 0; i < 5000; i++) {
+      Assert.assertEquals(-1, detector.register("First" + i, "Last", dateOfBirth, i));
+    }
+    for (int i = 0; i < 5000; i += 7) {
+      Assert.assertEquals(i, detector.register("first" + i, "LAST", dateOfBirth, 10000 + i));
+    }
+    Assert.assertEquals(5000, detector.size());
+  }
+
+  /**
+   * Tests the Bloom filter on its own.
+   */
+  @Test
+  public void testBloomFilter() {
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+    for (long i = 0; i < 1000; i++) {
+      filter.put(i * 0x9E3779B97F4A7C15L);
+    }
+    for (long i = 0; i < 1000; i++) {
+      Assert.assertTrue(filter.mightContain(i * 0x9E3779B97F4A7C15L));
+    }
+  }
+}
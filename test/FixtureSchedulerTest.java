@@ -0,0 +1,129 @@
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the FixtureScheduler and FixtureSchedule classes.
+ */
+public class FixtureSchedulerTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2023, 10, 7); // a Saturday
+
+  private static List<String> teams(int count) {
+    List<String> teams = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      teams.add("Team " + i);
+    }
+    return teams;
+  }
+
+  /**
+   * Tests that the seasons of small and large divisions respect all constraints,
+   * for scarce and plentiful venues.
+   */
+  @Test
+  public void testConstraints() {
+    for (int capacity : new int[] {1, 3, 100}) {
+      FixtureScheduler scheduler = new FixtureScheduler(FIRST_DAY,
+          EnumSet.of(DayOfWeek.SATURDAY), capacity);
+      for (int n = 0; n <= 25; n++) {
+        FixtureSchedule schedule = scheduler.schedule(teams(n));
+        schedule.validate();
+        Assert.assertEquals(n * (n - 1) / 2, schedule.size());
+      }
+    }
+  }
+
+  /**
+   * Tests that the season is as short as the teams and the venues allow,
+   * and that the home and away fixtures alternate with few breaks.
+   */
+  @Test
+  public void testSeasonLength() {
+    FixtureScheduler plenty = new FixtureScheduler(FIRST_DAY, EnumSet.of(DayOfWeek.SATURDAY), 50);
+    // every team plays once per match day
+    Assert.assertEquals(19, plenty.schedule(teams(20)).getNumberOfMatchDays());
+    Assert.assertEquals(21, plenty.schedule(teams(21)).getNumberOfMatchDays());
+    Assert.assertEquals(18, plenty.schedule(teams(20)).getBreaks());
+
+    // the venues host at most 4 of the 190 fixtures per match day
+    FixtureScheduler scarce = new FixtureScheduler(FIRST_DAY, EnumSet.of(DayOfWeek.SATURDAY), 4);
+    Assert.assertEquals(48, scarce.schedule(teams(20)).getNumberOfMatchDays());
+  }
+
+  /**
+   * Tests that fixtures are only played on the match days of the week, in order.
+   */
+  @Test
+  public void testDates() {
+    FixtureSchedule schedule = new FixtureScheduler(FIRST_DAY,
+        EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), 2).schedule(teams(6));
+    Assert.assertEquals(FIRST_DAY, schedule.getDate(0));
+    Assert.assertEquals(0, schedule.getVenue(0));
+    Assert.assertEquals(1, schedule.getVenue(1));
+    Assert.assertEquals(FIRST_DAY.plusDays(1), schedule.getDate(2));
+    Assert.assertEquals(FIRST_DAY.plusDays(7), schedule.getDate(4));
+    for (int i = 0; i < schedule.size(); i++) {
+      DayOfWeek day = schedule.getDate(i).getDayOfWeek();
+      Assert.assertTrue(day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY);
+    }
+    Assert.assertEquals(schedule.getDate(schedule.size() - 1), schedule.getLastDate());
+  }
+
+  /**
+   * Tests that every division of a league gets its own season with only its own teams.
+   */
+  @Test
+  public void testLeague() {
+    Clock clock = Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC);
+    League league = new League();
+    for (int i = 0; i < 9; i++) {
+      league.registerTeam("U10 " + i, new Team(DivisionRules.U10, clock));
+    }
+    for (int i = 0; i < 4; i++) {
+      league.registerTeam("U12 " + i, new Team(DivisionRules.U12, clock));
+    }
+    Map<DivisionRules, FixtureSchedule> season =
+        new FixtureScheduler(FIRST_DAY, EnumSet.of(DayOfWeek.SATURDAY), 3).schedule(league);
+    Assert.assertEquals(Arrays.asList(DivisionRules.U10, DivisionRules.U12),
+        new ArrayList<>(season.keySet()));
+    Assert.assertEquals(36, season.get(DivisionRules.U10).size());
+    Assert.assertEquals(6, season.get(DivisionRules.U12).size());
+    Assert.assertTrue(season.get(DivisionRules.U12).getHomeTeam(0).startsWith("U12 "));
+  }
+
+  /**
+   * Tests that validation finds a team playing twice on a day.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testValidateTwiceOnADay() {
+    new FixtureSchedule(teams(3), 3, new int[] {0, 1, 2}, new int[] {1, 2, 0},
+        new int[] {0, 0, 0}, new int[] {0, 1, 2}, new LocalDate[] {FIRST_DAY}).validate();
+  }
+
+  /**
+   * Tests that a team cannot be listed twice.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testDuplicateTeam() {
+    new FixtureScheduler(FIRST_DAY, EnumSet.of(DayOfWeek.SATURDAY), 2)
+        .schedule(Arrays.asList("A", "B", "A"));
+  }
+
+  /**
+   * Tests that the venues must host at least one fixture per day.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new FixtureScheduler(FIRST_DAY, EnumSet.of(DayOfWeek.SATURDAY), 0);
+  }
+}
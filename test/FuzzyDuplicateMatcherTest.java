@@ -0,0 +1,45 @@
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the FuzzyDuplicateMatcher class.
+ */
+public class FuzzyDuplicateMatcherTest {
+
+  /**
+   * Tests that a misspelled first name with the same date of birth is reported.
+   */
+  @Test
+  public void testFindsMisspelledName() {
+    FuzzyDuplicateMatcher matcher = new FuzzyDuplicateMatcher(0.8);
+    LocalDate dateOfBirth = LocalDate.of(2016, 7, 1);
+    matcher.add(1, "Kelvin", "Taylor", dateOfBirth);
+    matcher.add(2, "Kelvn", "Taylor", dateOfBirth);
+    matcher.add(3, "Kelvin", "Taylor", dateOfBirth.plusDays(1)); // different child
+    matcher.add(4, "Maria", "Taylor", dateOfBirth); // same block, different name
+    matcher.add(5, "Kelvin", "Tailor", dateOfBirth);
+
+    List<DuplicateMatch> matches = matcher.findDuplicates();
+    Assert.assertEquals(3, matches.size());
+    for (DuplicateMatch match : matches) {
+      Assert.assertTrue(match.getScore() >= 0.8);
+      Assert.assertTrue(match.getFirstId() != 3 && match.getSecondId() != 3);
+      Assert.assertTrue(match.getFirstId() != 4 && match.getSecondId() != 4);
+    }
+  }
+
+  /**
+   * Tests the edit distance and the Soundex code.
+   */
+  @Test
+  public void testHelpers() {
+    Assert.assertEquals(1, FuzzyDuplicateMatcher.editDistance("kelvin", "kelvn"));
+    Assert.assertEquals(3, FuzzyDuplicateMatcher.editDistance("kitten", "sitting"));
+    Assert.assertEquals("T460", FuzzyDuplicateMatcher.soundex("taylor"));
+    Assert.assertEquals("T460", FuzzyDuplicateMatcher.soundex("tailor"));
+    Assert.assertEquals("R163", FuzzyDuplicateMatcher.soundex("robert"));
+    Assert.assertEquals("A261", FuzzyDuplicateMatcher.soundex("ashcraft"));
+  }
+}
@@ -0,0 +1,121 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the MatchSimulator and SeasonForecast classes.
+ */
+public class MatchSimulatorTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC);
+  private static final String[] POSITIONS = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+
+  Map<String, TeamModel> teams;
+
+  /**
+   * Creates a team of ten players who all have the given skill level.
+   */
+  private static TeamModel team(String name, int skilledLevel) {
+    TeamModel team = new Team(CLOCK);
+    for (int i = 0; i < 10; i++) {
+      team.addPlayer("Player" + (char) ('A' + i), name, 2018, 1 + i, 10,
+          POSITIONS[i % POSITIONS.length], skilledLevel);
+    }
+    return team;
+  }
+
+  /**
+   * Sets up a strong, an average and a weak team.
+   */
+  @Before
+  public void setUp() {
+    teams = new LinkedHashMap<>();
+    teams.put("Strong", team("Strong", 5));
+    teams.put("Average", team("Average", 3));
+    teams.put("Weak", team("Weak", 1));
+  }
+
+  /**
+   * Tests that the strength of the lineups decides the mean goals, with an advantage at home.
+   */
+  @Test
+  public void testMeanGoals() {
+    MatchSimulator simulator = new MatchSimulator(teams);
+    double[] strongAtHome = simulator.getMeanGoals("Strong", "Weak");
+    Assert.assertTrue(strongAtHome[0] > strongAtHome[1]);
+    double[] weakAtHome = simulator.getMeanGoals("Weak", "Strong");
+    Assert.assertEquals(MatchSimulator.HOME_ADVANTAGE, strongAtHome[0] / weakAtHome[1], 1e-9);
+    Assert.assertEquals(MatchSimulator.HOME_ADVANTAGE, weakAtHome[0] / strongAtHome[1], 1e-9);
+  }
+
+  /**
+   * Tests that the forecast is consistent and ranks the teams by strength.
+   */
+  @Test
+  public void testForecast() {
+    SeasonForecast forecast = new MatchSimulator(teams).simulateSeasons(2000, 1);
+    Assert.assertEquals(2000, forecast.getSeasons());
+    Assert.assertEquals(2000 * 6, forecast.getMatches());
+    Assert.assertEquals(Arrays.asList("Strong", "Average", "Weak"), forecast.getStandings());
+
+    double titles = 0;
+    double goalsFor = 0;
+    double goalsAgainst = 0;
+    for (String team : forecast.getTeams()) {
+      Assert.assertEquals(1.0, forecast.getWinProbability(team) + forecast.getDrawProbability(team)
+          + forecast.getLossProbability(team), 1e-9);
+      titles += forecast.getTitleProbability(team);
+      goalsFor += forecast.getExpectedGoalsFor(team);
+      goalsAgainst += forecast.getExpectedGoalsAgainst(team);
+    }
+    Assert.assertEquals(1.0, titles, 1e-9);
+    Assert.assertEquals(goalsFor, goalsAgainst, 1e-9);
+    Assert.assertTrue(forecast.getTitleProbability("Strong") > 0.5);
+    Assert.assertTrue(forecast.toString().startsWith("Team"));
+  }
+
+  /**
+   * Tests that the result only depends on the seed, not on the number of threads.
+   */
+  @Test
+  public void testDeterministic() {
+    MatchSimulator simulator = new MatchSimulator(teams);
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool multiple = new ForkJoinPool(4);
+    try {
+      SeasonForecast first = simulator.simulateSeasons(500, 99, single);
+      SeasonForecast second = simulator.simulateSeasons(500, 99, multiple);
+      Assert.assertEquals(first.toString(), second.toString());
+      Assert.assertEquals(first.getExpectedGoalsFor("Weak"), second.getExpectedGoalsFor("Weak"),
+          0.0);
+    } finally {
+      single.shutdown();
+      multiple.shutdown();
+    }
+  }
+
+  /**
+   * Tests that every team must be able to field a starting lineup.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testTeamTooSmall() {
+    teams.put("Small", new Team(CLOCK));
+    new MatchSimulator(teams);
+  }
+
+  /**
+   * Tests that an unknown team is rejected.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testUnknownTeam() {
+    new MatchSimulator(teams).simulateSeasons(1, 1).getExpectedPoints("Unknown");
+  }
+}
@@ -0,0 +1,98 @@
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the MatchState class.
+ */
+public class MatchStateTest {
+
+  TeamModel team;
+  MatchState match;
+
+  /**
+   * Set up a team of ten players and start a match with its starting lineup.
+   */
+  @Before
+  public void setUp() {
+    team = new Team();
+    team.addPlayer("A", "A", 2019, 7, 21, "Goalie", 5);
+    team.addPlayer("B", "B", 2019, 8, 17, "Goalie", 3);
+    team.addPlayer("C", "C", 2018, 7, 10, "Defender", 4);
+    team.addPlayer("D", "D", 2020, 9, 12, "Defender", 4);
+    team.addPlayer("E", "E", 2019, 7, 3, "Midfielder", 5);
+    team.addPlayer("F", "F", 2019, 3, 14, "Midfielder", 3);
+    team.addPlayer("G", "G", 2019, 7, 21, "Forward", 5);
+    team.addPlayer("H", "H", 2019, 6, 26, "Forward", 1);
+    team.addPlayer("I", "I", 2018, 5, 1, "Defender", 2);
+    team.addPlayer("J", "J", 2018, 1, 13, "Midfielder", 2);
+    match = new MatchState(team, team.computeStartingLineup());
+  }
+
+  /**
+   * Returns the jersey number of the player with the given first name.
+   */
+  private int jerseyOf(String firstName) {
+    for (int i = 1; i <= 20; i++) {
+      PlayerInterface player = team.getPlayerByJerseyNumber(i);
+      if (player != null && player.getFirstName().equals(firstName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Tests that a substitution swaps the positions of the two players.
+   */
+  @Test
+  public void testSubstitute() {
+    Assert.assertEquals(Position.GOALIE, match.getPosition(jerseyOf("A")));
+    match.substitute(jerseyOf("A"), jerseyOf("B"));
+    Assert.assertEquals(Position.GOALIE, match.getPosition(jerseyOf("B")));
+    Assert.assertEquals(Position.BENCH, match.getPosition(jerseyOf("A")));
+    Assert.assertEquals(7, match.getPlayersOnField());
+  }
+
+  /**
+   * Tests that a substitution with a player who is not on the bench is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSubstituteWithPlayerOnField() {
+    match.substitute(jerseyOf("A"), jerseyOf("C"));
+  }
+
+  /**
+   * Tests that the replacement prefers the position, then the highest skilled level.
+   */
+  @Test
+  public void testSuggestReplacement() {
+    Assert.assertEquals(jerseyOf("B"), match.suggestReplacement(Position.GOALIE));
+    Assert.assertEquals(jerseyOf("I"), match.suggestReplacement(Position.DEFENDER));
+    Assert.assertEquals(jerseyOf("H"), match.suggestReplacement(Position.FORWARD));
+    // no midfielder on the bench, so the best bench player is suggested
+    Assert.assertEquals(jerseyOf("B"), match.suggestReplacement(Position.MIDFIELDER));
+  }
+
+  /**
+   * Tests that an injured player on the field is replaced by the suggested player.
+   */
+  @Test
+  public void testInjure() {
+    int replacement = match.injure(jerseyOf("C"));
+    Assert.assertEquals(jerseyOf("I"), replacement);
+    Assert.assertEquals(Position.DEFENDER, match.getPosition(jerseyOf("I")));
+    Assert.assertTrue(match.isInjured(jerseyOf("C")));
+    Assert.assertEquals(7, match.getPlayersOnField());
+  }
+
+  /**
+   * Tests the position change of a player on the field.
+   */
+  @Test
+  public void testChangePosition() {
+    match.changePosition(jerseyOf("G"), Position.MIDFIELDER);
+    Assert.assertEquals(Position.MIDFIELDER,
+        match.toLineupAssignment().getPosition(jerseyOf("G")));
+  }
+}
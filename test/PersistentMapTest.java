@@ -0,0 +1,68 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the PersistentMap class.
+ */
+public class PersistentMapTest {
+
+  /**
+   * Tests that adding and removing keys leaves the older versions unchanged.
+   */
+  @Test
+  public void testVersionsAreUnchanged() {
+    PersistentMap<Integer, String> empty = PersistentMap.empty();
+    PersistentMap<Integer, String> one = empty.plus(1, "a");
+    PersistentMap<Integer, String> two = one.plus(2, "b");
+    PersistentMap<Integer, String> replaced = two.plus(1, "c");
+    PersistentMap<Integer, String> removed = replaced.minus(2);
+
+    Assert.assertEquals(0, empty.size());
+    Assert.assertEquals("a", one.get(1));
+    Assert.assertNull(one.get(2));
+    Assert.assertEquals("a", two.get(1));
+    Assert.assertEquals("c", replaced.get(1));
+    Assert.assertEquals(2, replaced.size());
+    Assert.assertEquals(1, removed.size());
+    Assert.assertTrue(two.containsKey(2));
+    Assert.assertSame(removed, removed.minus(5));
+  }
+
+  /**
+   * Tests the map against a TreeMap over many insertions and removals.
+   */
+  @Test
+  public void testAgainstTreeMap() {
+    PersistentMap<Integer, Integer> map = PersistentMap.empty();
+    TreeMap<Integer, Integer> expected = new TreeMap<>();
+    for (int i = 0; i < 2000; i++) {
+      int key = (i * 7919) % 500;
+      if (i % 3 == 0) {
+        map = map.minus(key);
+        expected.remove(key);
+      } else {
+        map = map.plus(key, i);
+        expected.put(key, i);
+      }
+    }
+
+    Assert.assertEquals(expected, map);
+    List<Integer> keys = new ArrayList<>();
+    for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+      keys.add(entry.getKey());
+    }
+    Assert.assertEquals(new ArrayList<>(expected.keySet()), keys);
+  }
+
+  /**
+   * Tests that the map cannot be changed in place.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPutIsUnsupported() {
+    PersistentMap.<Integer, String>empty().put(1, "a");
+  }
+}
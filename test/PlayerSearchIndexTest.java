@@ -0,0 +1,136 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the PlayerSearchIndex class.
+ */
+public class PlayerSearchIndexTest {
+
+  League league;
+  PlayerSearchIndex index;
+
+  /**
+   * Set up a league with two teams and an index over their players.
+   */
+  @Before
+  public void setUp() {
+    Clock clock = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+    TeamModel lions = new Team(clock);
+    lions.addPlayer("James", "Garcia", 2015, 5, 15, "FORWARD", 4);
+    lions.addPlayer("Kelvin", "Taylor", 2016, 7, 1, "DEFENDER", 3);
+    lions.addPlayer("Maria", "Johnson", 2016, 12, 10, "MIDFIELDER", 1);
+    lions.addPlayer("Sarah", "Williams", 2016, 9, 5, "FORWARD", 4);
+    TeamModel tigers = new Team(clock);
+    tigers.addPlayer("Tyler", "Brown", 2016, 4, 20, "DEFENDER", 2);
+    tigers.addPlayer("Linda", "Miller", 2016, 8, 12, "MIDFIELDER", 3);
+    tigers.addPlayer("Nick", "Anderson", 2016, 11, 28, "GOALIE", 4);
+    tigers.addPlayer("Emily", "Gardner", 2017, 3, 22, "FORWARD", 3);
+
+    league = new League();
+    league.registerTeam("Lions", lions);
+    league.registerTeam("Tigers", tigers);
+    index = PlayerSearchIndex.of(league);
+  }
+
+  /**
+   * Tests queries with a single criterion.
+   */
+  @Test
+  public void testSingleCriterion() {
+    Assert.assertEquals(8, index.size());
+    Assert.assertEquals(3, index.search(PlayerQuery.all().withPosition(Position.FORWARD)).size());
+    Assert.assertEquals(4, index.search(PlayerQuery.all().withSkilledLevel(3, 3)
+        .withSkilledLevel(2, 3)).size());
+    Assert.assertEquals(2, index.search(PlayerQuery.all().withLastNamePrefix("gar")).size());
+    Assert.assertEquals(1, index.search(PlayerQuery.all()
+        .withBirthDate(LocalDate.of(2017, 1, 1), LocalDate.of(2017, 12, 31))).size());
+  }
+
+  /**
+   * Tests birth date ranges that are open at one end, on the index and on a full scan.
+   */
+  @Test
+  public void testOpenBirthDateRange() {
+    PlayerQuery bornSince = PlayerQuery.all().withBirthDate(LocalDate.of(2016, 11, 1), null);
+    Assert.assertEquals(3, index.search(bornSince).size());
+    Assert.assertEquals(3, index.scan(bornSince).size());
+
+    PlayerQuery bornUntil = PlayerQuery.all().withBirthDate(null, LocalDate.of(2016, 7, 1));
+    Assert.assertEquals(3, index.search(bornUntil).size());
+    Assert.assertEquals(3, index.scan(bornUntil).size());
+    Assert.assertEquals(2, index.search(bornUntil.withSkilledLevel(3, 4)).size());
+  }
+
+  /**
+   * Tests that combined queries return the same players as a full scan.
+   */
+  @Test
+  public void testCombinedCriteriaMatchScan() {
+    PlayerQuery query = PlayerQuery.all().withPosition(Position.FORWARD)
+        .withSkilledLevel(3, 5).withLastNamePrefix("G");
+    List<PlayerRecord> result = index.search(query);
+    Assert.assertEquals(index.scan(query).size(), result.size());
+    Assert.assertEquals(2, result.size());
+    Assert.assertEquals("Lions", result.get(0).getTeamName());
+    Assert.assertEquals("Gardner", result.get(1).getPlayer().getLastName());
+  }
+
+  /**
+   * Tests that removed players are no longer found.
+   */
+  @Test
+  public void testRemove() {
+    PlayerRecord record = index.search(PlayerQuery.all().withLastNamePrefix("Anderson")).get(0);
+    Assert.assertTrue(index.remove(record.getTeamName(), record.getJerseyNumber()));
+    Assert.assertFalse(index.remove(record.getTeamName(), record.getJerseyNumber()));
+    Assert.assertTrue(index.search(PlayerQuery.all().withPosition(Position.GOALIE)).isEmpty());
+    Assert.assertTrue(index.search(PlayerQuery.all().withLastNamePrefix("And")).isEmpty());
+    Assert.assertEquals(7, index.size());
+  }
+
+  /**
+   * Tests that a player who changes after being indexed is still found and removed
+   * by the attributes it was indexed with, by both the indexes and the full scan.
+   */
+  @Test
+  public void testPlayerChangedAfterIndexing() {
+    PlayerRecord record = index.search(PlayerQuery.all().withLastNamePrefix("Johnson")).get(0);
+    record.getPlayer().setSkilledLevel(5);
+    record.getPlayer().setLastName("Smith");
+
+    PlayerQuery query = PlayerQuery.all().withSkilledLevel(1, 1);
+    Assert.assertEquals(1, index.search(query).size());
+    Assert.assertEquals(index.scan(query).size(), index.search(query).size());
+    PlayerQuery changed = PlayerQuery.all().withSkilledLevel(5, 5);
+    Assert.assertEquals(index.scan(changed).size(), index.search(changed).size());
+    Assert.assertEquals(1, index.search(PlayerQuery.all().withLastNamePrefix("john")).size());
+
+    Assert.assertTrue(index.remove(record.getTeamName(), record.getJerseyNumber()));
+    Assert.assertTrue(index.search(query).isEmpty());
+    Assert.assertTrue(index.search(PlayerQuery.all().withLastNamePrefix("john")).isEmpty());
+    Assert.assertEquals(7, index.size());
+  }
+
+  /**
+   * Tests the prefix tree on its own.
+   */
+  @Test
+  public void testNamePrefixTrie() {
+    NamePrefixTrie trie = new NamePrefixTrie();
+    trie.add("Martinez", 1);
+    trie.add("Miller", 2);
+    trie.add("martin", 3);
+    Assert.assertEquals(2, trie.countWithPrefix("MART"));
+    Assert.assertEquals(List.of(3, 1), trie.findWithPrefix("mar", 10));
+    Assert.assertEquals(List.of(3), trie.findWithPrefix("m", 1));
+    Assert.assertTrue(trie.remove("Martin", 3));
+    Assert.assertEquals(1, trie.countWithPrefix("mart"));
+    Assert.assertEquals(0, trie.countWithPrefix("x"));
+  }
+}
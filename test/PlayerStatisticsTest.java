@@ -0,0 +1,173 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the PlayerStatistics and PlayerTotals classes.
+ */
+public class PlayerStatisticsTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC);
+  private static final LocalDate SEASON = LocalDate.of(2023, 9, 2);
+
+  PlayerStatistics statistics;
+  PlayerInterface james, jane, maria;
+
+  /**
+   * Sets up a store with a window of three matches and three players.
+   */
+  @Before
+  public void setUp() {
+    statistics = new PlayerStatistics(SEASON, 3);
+    james = new Player("James", "Garcia", 2018, 5, 15, Position.FORWARD, 4, CLOCK);
+    jane = new Player("Jane", "Gardner", 2019, 7, 1, Position.DEFENDER, 3, CLOCK);
+    maria = new Player("Maria", "Jansen", 2018, 12, 10, Position.MIDFIELDER, 2, CLOCK);
+  }
+
+  /**
+   * Tests the season totals and the totals of the last matches.
+   */
+  @Test
+  public void testTotals() {
+    for (int week = 0; week < 5; week++) {
+      statistics.record(james, SEASON.plusWeeks(week), 40, week, 1,
+          week == 0 ? Position.MIDFIELDER : Position.FORWARD);
+    }
+    PlayerTotals season = statistics.getSeasonTotals(james);
+    Assert.assertEquals("James Garcia", season.getName());
+    Assert.assertEquals(5, season.getMatches());
+    Assert.assertEquals(200, season.getMinutes());
+    Assert.assertEquals(10, season.getGoals());
+    Assert.assertEquals(5, season.getAssists());
+    Assert.assertEquals(4, season.getMatchesAt(Position.FORWARD));
+    Assert.assertEquals(1, season.getMatchesAt(Position.MIDFIELDER));
+
+    PlayerTotals recent = statistics.getRecentTotals(james);
+    Assert.assertEquals(3, recent.getMatches());
+    Assert.assertEquals(2 + 3 + 4, recent.getGoals());
+    Assert.assertEquals(0, recent.getMatchesAt(Position.MIDFIELDER));
+    Assert.assertEquals(recent.getGoals(), recent.get(PlayerStatistics.Statistic.GOALS));
+
+    Assert.assertEquals(5, statistics.getMatchCount(james));
+    Assert.assertEquals(Position.MIDFIELDER, statistics.getPosition(james, 0));
+    Assert.assertEquals(0, statistics.getSeasonTotals(jane).getMatches());
+    Assert.assertEquals(0, statistics.getMatchCount(jane));
+  }
+
+  /**
+   * Tests that the totals over many chunks of matches are the sums of the matches.
+   */
+  @Test
+  public void testLongHistory() {
+    int goals = 0;
+    int minutes = 0;
+    for (int day = 0; day < 200; day++) {
+      statistics.record(jane, SEASON.plusDays(day), day % 50, day % 3, 0, Position.DEFENDER);
+      goals += day % 3;
+      minutes += day % 50;
+    }
+    Assert.assertEquals(goals, statistics.getSeasonTotals(jane).getGoals());
+    Assert.assertEquals(minutes, statistics.getSeasonTotals(jane).getMinutes());
+    Assert.assertEquals(197 % 50 + 198 % 50 + 199 % 50,
+        statistics.getRecentTotals(jane).getMinutes());
+
+    PlayerTotals range = statistics.getTotals(jane, SEASON.plusDays(100), SEASON.plusDays(109));
+    Assert.assertEquals(10, range.getMatches());
+    Assert.assertEquals(100 % 3 + 101 % 3 + 102 % 3 + 103 % 3 + 104 % 3 + 105 % 3 + 106 % 3
+        + 107 % 3 + 108 % 3 + 109 % 3, range.getGoals());
+    Assert.assertEquals(0, statistics.getTotals(jane, SEASON.minusDays(10), SEASON.minusDays(1))
+        .getMatches());
+  }
+
+  /**
+   * Tests that a new season starts the season totals over, and a late match of the
+   * previous season does not count.
+   */
+  @Test
+  public void testNewSeason() {
+    statistics.record(james, SEASON, 40, 2, 0, Position.FORWARD);
+    statistics.record(maria, SEASON, 40, 1, 0, Position.FORWARD);
+    LocalDate nextSeason = SEASON.plusYears(1);
+    statistics.startSeason(nextSeason);
+    Assert.assertEquals(0, statistics.getSeasonTotals(james).getMatches());
+    Assert.assertEquals(0, statistics.getSeasonTotals(maria).getMatches());
+
+    statistics.record(maria, nextSeason.minusDays(1), 40, 1, 0, Position.FORWARD);
+    statistics.record(maria, nextSeason, 30, 1, 0, Position.FORWARD);
+    Assert.assertEquals(1, statistics.getSeasonTotals(maria).getMatches());
+    Assert.assertEquals(30, statistics.getSeasonTotals(maria).getMinutes());
+    Assert.assertEquals(3, statistics.getRecentTotals(maria).getMatches());
+  }
+
+  /**
+   * Tests the order of the leaderboards, and that players without matches are not ranked.
+   */
+  @Test
+  public void testLeaderboards() {
+    statistics.record(james, SEASON, 40, 3, 0, Position.FORWARD);
+    statistics.record(jane, SEASON, 40, 1, 2, Position.DEFENDER);
+    statistics.record(maria, SEASON, 40, 1, 1, Position.MIDFIELDER);
+    statistics.record(maria, SEASON.plusWeeks(1), 40, 1, 1, Position.MIDFIELDER);
+
+    List<PlayerTotals> scorers =
+        statistics.getSeasonLeaderboard(PlayerStatistics.Statistic.GOALS, 10);
+    Assert.assertEquals(3, scorers.size());
+    Assert.assertEquals("James Garcia", scorers.get(0).getName());
+    Assert.assertEquals("Maria Jansen", scorers.get(1).getName());
+    Assert.assertEquals("Jane Gardner", scorers.get(2).getName());
+
+    // ties are ordered by name
+    List<PlayerTotals> assists =
+        statistics.getSeasonLeaderboard(PlayerStatistics.Statistic.ASSISTS, 2);
+    Assert.assertEquals(2, assists.size());
+    Assert.assertEquals("Jane Gardner", assists.get(0).getName());
+    Assert.assertEquals("Maria Jansen", assists.get(1).getName());
+
+    Assert.assertEquals("Maria Jansen", statistics.getRecentLeaderboard(
+        PlayerStatistics.Statistic.MINUTES, 1).get(0).getName());
+    statistics.startSeason(SEASON.plusWeeks(1));
+    Assert.assertEquals(1,
+        statistics.getSeasonLeaderboard(PlayerStatistics.Statistic.MATCHES, 10).size());
+    Assert.assertTrue(
+        statistics.getSeasonLeaderboard(PlayerStatistics.Statistic.GOALS, 0).isEmpty());
+  }
+
+  /**
+   * Tests that the matches of a player cannot be recorded out of order.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testRecordOutOfOrder() {
+    statistics.record(james, SEASON.plusWeeks(1), 40, 0, 0, Position.FORWARD);
+    statistics.record(james, SEASON, 40, 0, 0, Position.FORWARD);
+  }
+
+  /**
+   * Tests that negative statistics cannot be recorded.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testRecordNegativeGoals() {
+    statistics.record(james, SEASON, 40, -1, 0, Position.FORWARD);
+  }
+
+  /**
+   * Tests that the window must hold at least one match.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testEmptyWindow() {
+    new PlayerStatistics(SEASON, 0);
+  }
+
+  /**
+   * Tests that a season cannot start before the current one.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testSeasonBackwards() {
+    statistics.startSeason(SEASON.minusDays(1));
+  }
+}
@@ -208,6 +208,16 @@ public class PlayerTest {
     assertEquals(Position.MIDFIELDER, player4.getActualPosition());
   }
 
-
+  /**
+   * Tests that players with the same names and date of birth are equal.
+   */
+  @Test
+  public void testEquals() {
+    PlayerInterface sameChild = new Player("harry", "POTTER", 2019, 2, 24,
+        Position.FORWARD, 2);
+    Assert.assertEquals(player2, sameChild);
+    Assert.assertEquals(player2.hashCode(), sameChild.hashCode());
+    Assert.assertNotEquals(player2, player3);
+  }
 
 }
@@ -0,0 +1,145 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the RosterPublisher class.
+ */
+public class RosterPublisherTest {
+
+  TeamModel team;
+  int added; // number of players added so far, so every added player is a different child
+
+  /**
+   * Sets up an empty U10 team.
+   */
+  @Before
+  public void setUp() {
+    team = new Team(Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC));
+  }
+
+  /**
+   * A subscriber that records the versions it receives and requests them one at a time,
+   * optionally waiting for a latch before returning from the first onNext.
+   */
+  private static class RecordingSubscriber implements Flow.Subscriber<RosterSnapshot> {
+    final List<RosterSnapshot> received = new CopyOnWriteArrayList<>();
+    final CountDownLatch firstReceived = new CountDownLatch(1);
+    final CountDownLatch completed = new CountDownLatch(1);
+    final CountDownLatch release;
+    final long initialRequest;
+    volatile Flow.Subscription subscription;
+
+    RecordingSubscriber(long initialRequest, CountDownLatch release) {
+      this.initialRequest = initialRequest;
+      this.release = release;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0) {
+        subscription.request(initialRequest);
+      }
+    }
+
+    @Override
+    public void onNext(RosterSnapshot item) {
+      received.add(item);
+      firstReceived.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      completed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed.countDown();
+    }
+  }
+
+  /**
+   * Adds the given number of valid players to the team.
+   */
+  private void addPlayers(int count) {
+    for (int i = 0; i < count; i++, added++) {
+      team.addPlayer("First" + (char) ('A' + added), "Last", 2019, 1, 1 + added, "DEFENDER", 3);
+    }
+  }
+
+  /**
+   * Tests that a subscriber stuck in onNext does not block adding players, and that
+   * its buffer keeps only the newest versions.
+   */
+  @Test
+  public void testSlowSubscriberDoesNotBlock() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE, release);
+    team.getRosterPublisher().subscribe(subscriber, 2, RosterPublisher.OverflowPolicy.DROP_OLDEST);
+
+    try {
+      addPlayers(1);
+      Assert.assertTrue(subscriber.firstReceived.await(5, TimeUnit.SECONDS));
+      addPlayers(15); // the subscriber is still stuck in its first onNext
+      Assert.assertEquals(16, team.getTeamSize());
+      Assert.assertEquals(1, subscriber.received.size());
+    } finally {
+      release.countDown();
+    }
+    team.getRosterPublisher().close();
+    Assert.assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(3, subscriber.received.size());
+    Assert.assertEquals(team.getSnapshot().getVersion(),
+        subscriber.received.get(2).getVersion());
+  }
+
+  /**
+   * Tests that a conflating buffer keeps only the latest version until it is requested.
+   */
+  @Test
+  public void testConflate() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(0);
+    RecordingSubscriber subscriber = new RecordingSubscriber(0, release);
+    team.getRosterPublisher().subscribe(subscriber, 4, RosterPublisher.OverflowPolicy.CONFLATE);
+
+    addPlayers(10);
+    while (subscriber.subscription == null) {
+      Thread.sleep(1);
+    }
+    subscriber.subscription.request(10);
+    team.getRosterPublisher().close();
+    Assert.assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(2, subscriber.received.size());
+    Assert.assertEquals(10, subscriber.received.get(1).getTeamSize());
+  }
+
+  /**
+   * Tests that a cancelled subscriber no longer receives versions.
+   */
+  @Test
+  public void testCancel() throws InterruptedException {
+    RecordingSubscriber subscriber = new RecordingSubscriber(1, new CountDownLatch(0));
+    team.getRosterPublisher().subscribe(subscriber);
+    addPlayers(1);
+    Assert.assertTrue(subscriber.firstReceived.await(5, TimeUnit.SECONDS));
+    subscriber.subscription.cancel();
+    Assert.assertEquals(0, team.getRosterPublisher().getSubscriberCount());
+    addPlayers(2);
+    Assert.assertEquals(1, subscriber.received.size());
+  }
+}
@@ -0,0 +1,82 @@
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the RotationPlanner class.
+ */
+public class RotationPlannerTest {
+
+  TeamModel team;
+
+  /**
+   * Set up a team of twelve players.
+   */
+  @Before
+  public void setUp() {
+    team = new Team();
+    team.addPlayer("A", "A", 2019, 7, 21, "Goalie", 5);
+    team.addPlayer("B", "B", 2019, 8, 17, "Defender", 3);
+    team.addPlayer("C", "C", 2018, 7, 10, "Defender", 4);
+    team.addPlayer("D", "D", 2020, 9, 12, "Defender", 4);
+    team.addPlayer("E", "E", 2019, 7, 3, "Midfielder", 5);
+    team.addPlayer("F", "F", 2019, 3, 14, "Midfielder", 3);
+    team.addPlayer("G", "G", 2019, 7, 21, "Forward", 5);
+    team.addPlayer("H", "H", 2019, 6, 26, "Forward", 1);
+    team.addPlayer("I", "I", 2018, 5, 1, "Defender", 2);
+    team.addPlayer("J", "J", 2018, 1, 13, "Defender", 3);
+    team.addPlayer("K", "K", 2018, 2, 3, "Midfielder", 1);
+    team.addPlayer("L", "L", 2018, 4, 9, "Forward", 1);
+  }
+
+  /**
+   * Tests that every planned lineup follows the formation.
+   */
+  @Test
+  public void testLineupsFollowFormation() {
+    RotationPlanner planner = new RotationPlanner(team, 4, 10);
+    List<LineupAssignment> lineups = planner.planSeason(30);
+    Assert.assertEquals(120, lineups.size());
+
+    for (LineupAssignment lineup : lineups) {
+      Map<Position, Integer> counts = new EnumMap<>(Position.class);
+      for (Position position : lineup.asMap().values()) {
+        counts.merge(position, 1, Integer::sum);
+      }
+      Assert.assertEquals(Integer.valueOf(1), counts.get(Position.GOALIE));
+      Assert.assertEquals(Integer.valueOf(2), counts.get(Position.DEFENDER));
+      Assert.assertEquals(Integer.valueOf(3), counts.get(Position.MIDFIELDER));
+      Assert.assertEquals(Integer.valueOf(1), counts.get(Position.FORWARD));
+      Assert.assertEquals(Integer.valueOf(5), counts.get(Position.BENCH));
+    }
+  }
+
+  /**
+   * Tests that the playing time of all players differs by at most one period.
+   */
+  @Test
+  public void testPlayingTimeIsBalanced() {
+    RotationPlanner planner = new RotationPlanner(team, 4, 10);
+    planner.planSeason(30);
+
+    int min = Integer.MAX_VALUE;
+    int max = 0;
+    for (int jerseyNumber : team.getPlayers().keySet()) {
+      min = Math.min(min, planner.getMinutesPlayed(jerseyNumber));
+      max = Math.max(max, planner.getMinutesPlayed(jerseyNumber));
+    }
+    Assert.assertTrue(max - min <= 10);
+    Assert.assertEquals(-1, planner.getMinutesPlayed(99));
+  }
+
+  /**
+   * Tests that the planner rejects a team with less than ten players.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTeamTooSmall() {
+    new RotationPlanner(new Team(), 4, 10);
+  }
+}
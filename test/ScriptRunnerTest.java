@@ -0,0 +1,130 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the ScriptRunner class.
+ */
+public class ScriptRunnerTest {
+
+  TeamModel team;
+  StringWriter output;
+  ScriptRunner runner;
+
+  /**
+   * Sets up a runner on an empty U10 team.
+   */
+  @Before
+  public void setUp() {
+    team = new Team(Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC));
+    output = new StringWriter();
+    runner = new ScriptRunner(team, output);
+  }
+
+  private long run(String script) throws IOException {
+    return runner.run(new BufferedReader(new StringReader(script)));
+  }
+
+  /**
+   * Tests adding players, printing the team size and undoing.
+   */
+  @Test
+  public void testCommands() throws IOException {
+    long errors = run("# two players\n"
+        + "add James Garcia 2019-05-15 FORWARD 4\n"
+        + "\n"
+        + "  add   Jane Gardner 2019-07-01 defender 3  \n"
+        + "size\n"
+        + "undo\n"
+        + "size\n"
+        + "redo\n"
+        + "players\n");
+    Assert.assertEquals(0, errors);
+    Assert.assertTrue(output.toString().startsWith("2\n1\n"));
+    Assert.assertTrue(output.toString().contains("Jane, Gardner, Jersey Number: "));
+    Assert.assertEquals(2, team.getTeamSize());
+  }
+
+  /**
+   * Tests that failing commands are reported with their line number and the script continues.
+   */
+  @Test
+  public void testErrors() throws IOException {
+    long errors = run("remove 3\n"
+        + "add James Garcia 2019/05/15 FORWARD 4\n"
+        + "add James Garcia\n"
+        + "kick 3\n"
+        + "lineup\n"
+        + "add James Garcia 2019-05-15 FORWARD 4\n"
+        + "size\n"
+        + "# a comment may have any number of words: one two three four five six seven\n"
+        + "size 1 2 3 4 5 6 7 8\n");
+    Assert.assertEquals(6, errors);
+    String[] lines = output.toString().split("\n");
+    Assert.assertEquals("line 1: error: Cannot remove player. The team is empty.", lines[0]);
+    Assert.assertEquals("line 2: error: Invalid date of birth: 2019/05/15", lines[1]);
+    Assert.assertTrue(lines[2].startsWith("line 3: error: Usage: add"));
+    Assert.assertEquals("line 4: error: Unknown command: kick", lines[3]);
+    Assert.assertTrue(lines[4].startsWith("line 5: error: Cannot generate starting lineup."));
+    Assert.assertEquals("1", lines[5]);
+    Assert.assertEquals("line 9: error: Too many arguments: a command has at most 7.", lines[6]);
+  }
+
+  /**
+   * Tests saving the players as CSV.
+   */
+  @Test
+  public void testSave() throws IOException {
+    Path file = Files.createTempFile("team", ".csv");
+    try {
+      Assert.assertEquals(0, run("add James Garcia 2019-05-15 FORWARD 4\nsave " + file + "\n"));
+      List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+      Assert.assertEquals(2, lines.size());
+      Assert.assertTrue(lines.get(1).endsWith(",James,Garcia,2019-05-15,FORWARD,4"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that a file that cannot be written fails the save command only,
+   * and the script continues.
+   */
+  @Test
+  public void testSaveUnwritable() throws IOException {
+    Path directory = Files.createTempDirectory("team");
+    try {
+      Path file = directory.resolve("missing").resolve("team.csv");
+      Assert.assertEquals(1, run("add James Garcia 2019-05-15 FORWARD 4\n"
+          + "save " + file + "\n"
+          + "size\n"));
+      String[] lines = output.toString().split("\n");
+      Assert.assertEquals("line 2: error: Cannot save to " + file + " (NoSuchFileException).",
+          lines[0]);
+      Assert.assertEquals("1", lines[1]);
+    } finally {
+      Files.delete(directory);
+    }
+  }
+
+  /**
+   * Tests that CSV fields holding commas or quotes are quoted.
+   */
+  @Test
+  public void testCsv() {
+    Assert.assertEquals("Garcia", ScriptRunner.csv("Garcia"));
+    Assert.assertEquals("\"Garcia, Jr.\"", ScriptRunner.csv("Garcia, Jr."));
+    Assert.assertEquals("\"O\"\"Neil\"", ScriptRunner.csv("O\"Neil"));
+  }
+}
@@ -0,0 +1,205 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the SkillRatings class.
+ */
+public class SkillRatingsTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC);
+  private static final String[] POSITIONS = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+
+  League league;
+  SkillRatings ratings;
+
+  /**
+   * Creates a team of ten players who all have the given skill level.
+   */
+  private static TeamModel team(String name, int skilledLevel) {
+    TeamModel team = new Team(CLOCK);
+    for (int i = 0; i < 10; i++) {
+      team.addPlayer("Player" + (char) ('A' + i), name, 2018, 1 + i, 10,
+          POSITIONS[i % POSITIONS.length], skilledLevel);
+    }
+    return team;
+  }
+
+  /**
+   * Sets up a league of three U10 teams and one U8 team.
+   */
+  @Before
+  public void setUp() {
+    league = new League();
+    league.registerTeam("Lions", team("Lions", 3));
+    league.registerTeam("Tigers", team("Tigers", 3));
+    league.registerTeam("Bears", team("Bears", 3));
+    TeamModel minis = new Team(DivisionRules.U8, CLOCK);
+    for (int i = 0; i < 6; i++) {
+      minis.addPlayer("Player" + (char) ('A' + i), "Minis", 2017, 1 + i, 10,
+          POSITIONS[i % POSITIONS.length], 3);
+    }
+    league.registerTeam("Minis", minis);
+    ratings = new SkillRatings(league);
+  }
+
+  /**
+   * Tests the mapping between skill levels and ratings.
+   */
+  @Test
+  public void testScale() {
+    DivisionRules rules = DivisionRules.U10;
+    Assert.assertEquals(SkillRatings.INITIAL_RATING, SkillRatings.toRating(3, rules), 1e-9);
+    for (int level = rules.getMinSkilledLevel(); level <= rules.getMaxSkilledLevel(); level++) {
+      Assert.assertEquals(level, SkillRatings.toSkilledLevel(SkillRatings.toRating(level, rules),
+          rules));
+    }
+    Assert.assertEquals(rules.getMaxSkilledLevel(), SkillRatings.toSkilledLevel(3000, rules));
+    Assert.assertEquals(rules.getMinSkilledLevel(), SkillRatings.toSkilledLevel(0, rules));
+  }
+
+  /**
+   * Tests that the starters of the winner gain what the starters of the loser lose,
+   * and the more so for a clear win.
+   */
+  @Test
+  public void testWinnerGains() {
+    TeamModel lions = league.getTeam("Lions");
+    TeamModel tigers = league.getTeam("Tigers");
+    int lionsStarter = lions.computeStartingLineup().getStarters().get(0);
+    int tigersStarter = tigers.computeStartingLineup().getStarters().get(0);
+    Assert.assertTrue(ratings.processResults(
+        Collections.singletonList(new MatchResult("Tigers", "Lions", 1, 2))).isEmpty());
+
+    double gain = ratings.getRating(lions.getPlayerByJerseyNumber(lionsStarter),
+        DivisionRules.U10) - SkillRatings.INITIAL_RATING;
+    double loss = ratings.getRating(tigers.getPlayerByJerseyNumber(tigersStarter),
+        DivisionRules.U10) - SkillRatings.INITIAL_RATING;
+    Assert.assertTrue(gain > 0);
+    Assert.assertEquals(-gain, loss, 1e-9);
+    // winning away against an equal team is more than half of the points at stake
+    Assert.assertTrue(gain > SkillRatings.K_FACTOR / 2);
+
+    SkillRatings clearWin = new SkillRatings(league);
+    clearWin.processResults(Collections.singletonList(new MatchResult("Tigers", "Lions", 0, 4)));
+    Assert.assertTrue(clearWin.getRating(lions.getPlayerByJerseyNumber(lionsStarter),
+        DivisionRules.U10) - SkillRatings.INITIAL_RATING > gain);
+  }
+
+  /**
+   * Tests that a season of results changes the skill levels of the affected teams only,
+   * as one version of their rosters that can be undone.
+   */
+  @Test
+  public void testSeason() {
+    List<MatchResult> results = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      results.add(new MatchResult("Lions", "Tigers", 5, 0));
+      results.add(new MatchResult("Tigers", "Lions", 0, 5));
+    }
+    TeamModel lions = league.getTeam("Lions");
+    TeamModel tigers = league.getTeam("Tigers");
+    List<Integer> lionsStarters = lions.computeStartingLineup().getStarters();
+    List<Integer> tigersStarters = tigers.computeStartingLineup().getStarters();
+    int starters = lionsStarters.size();
+    long bearsVersion = league.getTeam("Bears").getSnapshot().getVersion();
+    long lionsVersion = lions.getSnapshot().getVersion();
+
+    Map<String, Integer> changed = ratings.processResults(results);
+    Assert.assertEquals(2, changed.size());
+    Assert.assertEquals(starters, (int) changed.get("Lions"));
+    Assert.assertEquals(starters, (int) changed.get("Tigers"));
+    Assert.assertEquals(bearsVersion, league.getTeam("Bears").getSnapshot().getVersion());
+
+    for (int jerseyNumber : lionsStarters) {
+      Assert.assertTrue(lions.getPlayerByJerseyNumber(jerseyNumber).getSkilledLevel() > 3);
+    }
+    for (int jerseyNumber : tigersStarters) {
+      Assert.assertTrue(tigers.getPlayerByJerseyNumber(jerseyNumber).getSkilledLevel() < 3);
+    }
+    List<RosterChange> changes = lions.diff(lionsVersion, lions.getSnapshot().getVersion());
+    Assert.assertEquals(starters, changes.size());
+    for (RosterChange change : changes) {
+      Assert.assertEquals(RosterChange.Type.SKILL_CHANGED, change.getType());
+    }
+
+    Assert.assertTrue(lions.undo());
+    Assert.assertEquals(lionsVersion, lions.getSnapshot().getVersion());
+    for (PlayerInterface player : lions.getPlayers().values()) {
+      Assert.assertEquals(3, player.getSkilledLevel());
+    }
+  }
+
+  /**
+   * Tests that the divisions of a league are rated in the same batch.
+   */
+  @Test
+  public void testDivisions() {
+    league.registerTeam("Cubs", new Team(DivisionRules.U8, CLOCK));
+    TeamModel cubs = league.getTeam("Cubs");
+    for (int i = 0; i < 6; i++) {
+      cubs.addPlayer("Player" + (char) ('A' + i), "Cubs", 2017, 1 + i, 10,
+          POSITIONS[i % POSITIONS.length], 3);
+    }
+    Map<String, Integer> changed = ratings.processResults(Arrays.asList(
+        new MatchResult("Minis", "Cubs", 9, 0), new MatchResult("Lions", "Bears", 9, 0),
+        new MatchResult("Cubs", "Minis", 0, 9), new MatchResult("Bears", "Lions", 0, 9),
+        new MatchResult("Minis", "Cubs", 9, 0), new MatchResult("Lions", "Bears", 9, 0)));
+    Assert.assertEquals(4, changed.size());
+    Assert.assertFalse(changed.containsKey("Tigers"));
+  }
+
+  /**
+   * Tests that a player whose skill level was changed by hand is rated from it again.
+   */
+  @Test
+  public void testManualChange() {
+    TeamModel lions = league.getTeam("Lions");
+    int starter = lions.computeStartingLineup().getStarters().get(0);
+    ratings.processResults(Collections.singletonList(new MatchResult("Lions", "Tigers", 1, 0)));
+    lions.updateSkilledLevels(Collections.singletonMap(starter, 5));
+    Assert.assertEquals(SkillRatings.toRating(5, DivisionRules.U10),
+        ratings.getRating(lions.getPlayerByJerseyNumber(starter), DivisionRules.U10), 1e-9);
+  }
+
+  /**
+   * Tests that a result of a team that is not part of the league changes nothing.
+   */
+  @Test
+  public void testUnknownTeam() {
+    long version = league.getTeam("Lions").getSnapshot().getVersion();
+    try {
+      ratings.processResults(Arrays.asList(new MatchResult("Lions", "Tigers", 9, 0),
+          new MatchResult("Lions", "Wolves", 1, 0)));
+      Assert.fail("Wolves is not registered.");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(version, league.getTeam("Lions").getSnapshot().getVersion());
+    }
+  }
+
+  /**
+   * Tests that teams of different divisions cannot play each other.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testDifferentDivisions() {
+    ratings.processResults(Collections.singletonList(new MatchResult("Lions", "Minis", 1, 0)));
+  }
+
+  /**
+   * Tests that a team without a starting lineup cannot be rated.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testTeamTooSmall() {
+    league.registerTeam("Wolves", new Team(CLOCK));
+    ratings.processResults(Collections.singletonList(new MatchResult("Lions", "Wolves", 1, 0)));
+  }
+}
@@ -0,0 +1,205 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the SwingTeamController class,
+ * driven through a HeadlessTeamView.
+ */
+public class SwingTeamControllerTest {
+
+  TeamModel team;
+  HeadlessTeamView view;
+  SwingTeamController controller;
+  Instant now = Instant.parse("2023-10-01T12:00:00Z");
+
+  /**
+   * Sets up a controller on an empty U10 team and a headless view.
+   * The clock of the controller only advances when a test sets the field now.
+   */
+  @Before
+  public void setUp() {
+    team = new Team(Clock.fixed(now, ZoneOffset.UTC));
+    view = new HeadlessTeamView();
+    controller = new SwingTeamController(team, view, new Clock() {
+      @Override
+      public ZoneId getZone() {
+        return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Instant instant() {
+        return now;
+      }
+    });
+    controller.start();
+  }
+
+  /**
+   * Tests that submitting the entered information adds a player and clears the fields.
+   */
+  @Test
+  public void testSubmit() {
+    view.fire("Add New Player");
+    view.enterPlayerInfo("James", "Garcia", "2019", "5", "15", "Forward", "4");
+    view.fire("Submit");
+    Assert.assertEquals(1, team.getTeamSize());
+    Assert.assertEquals(Arrays.asList("switchToAddPage(0)", "getPlayerInfo()",
+        "showSuccessMessage(Player added successfully!)", "clearPlayerInfoFields()"),
+        view.getCalls());
+
+    view.fire("Refresh Add Page");
+    Assert.assertEquals("add", view.getCurrentPage());
+    Assert.assertEquals(1, view.getTeamSize());
+    Assert.assertTrue(view.getCurrentPlayers().contains("James, Garcia, Jersey Number: "));
+  }
+
+  /**
+   * Tests that invalid information is reported and nothing is added.
+   */
+  @Test
+  public void testSubmitInvalid() {
+    view.enterPlayerInfo("James", "Garcia", "2019", "5", "15", "Striker", "4");
+    view.fire("Submit");
+    view.enterPlayerInfo("James", "Garcia", "year", "5", "15", "Forward", "4");
+    view.fire("Submit");
+    Assert.assertEquals(0, team.getTeamSize());
+    Assert.assertEquals("Error adding player: For input string: \"year\"", view.getLastMessage());
+  }
+
+  /**
+   * Tests removing a player by the typed jersey number, and undoing and redoing the removal.
+   */
+  @Test
+  public void testRemoveUndoRedo() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    int jerseyNumber = team.getPlayers().keySet().iterator().next();
+
+    view.enterJerseyNumber("abc");
+    view.fire("Remove");
+    Assert.assertEquals("Invalid jersey number. Please enter a valid number.",
+        view.getLastMessage());
+
+    view.enterJerseyNumber(String.valueOf(jerseyNumber));
+    view.fire("Remove");
+    Assert.assertEquals(0, team.getTeamSize());
+
+    view.fire("Undo");
+    Assert.assertEquals(1, team.getTeamSize());
+    Assert.assertEquals("remove", view.getCurrentPage());
+    Assert.assertEquals(1, view.getTeamSize());
+    view.fire("Redo");
+    Assert.assertEquals(0, team.getTeamSize());
+    view.fire("Redo");
+    Assert.assertEquals("There is nothing to redo.", view.getLastMessage());
+  }
+
+  /**
+   * Tests that the starting lineup is only generated for a team of at least ten players.
+   */
+  @Test
+  public void testGenerateStartingLineup() {
+    String[] positions = {"GOALIE", "DEFENDER", "MIDFIELDER", "FORWARD"};
+    for (int i = 0; i < 9; i++) {
+      team.addPlayer("Player" + (char) ('A' + i), "Lineup", 2018, 1 + i, 10,
+          positions[i % 4], 1 + i % 5);
+    }
+    view.fire("Generate Starting Line Up");
+    Assert.assertEquals("team", view.getCurrentPage());
+    Assert.assertEquals("", view.getStartingLineup());
+    Assert.assertTrue(view.getCalls().get(0).startsWith("showFailureMessage("));
+
+    team.addPlayer("PlayerJ", "Lineup", 2018, 10, 10, "GOALIE", 5);
+    view.fire("Generate Starting Line Up");
+    Assert.assertEquals(10, view.getTeamSize());
+    Assert.assertFalse(view.getStartingLineup().isEmpty());
+  }
+
+  /**
+   * Tests that the name search handler of the view asks the model.
+   */
+  @Test
+  public void testNameSearchHandler() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    Assert.assertEquals(1, view.getNameSearchHandler().apply("Jam").size());
+    Assert.assertTrue(view.getNameSearchHandler().apply("Zed").isEmpty());
+  }
+
+  /**
+   * Tests that a command cannot be fired before a controller has set the action listener.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testFireWithoutListener() {
+    new HeadlessTeamView().fire("Submit");
+  }
+
+  /**
+   * Tests that a repeated display command is dropped within the debounce window,
+   * but not after it or after the roster has changed.
+   */
+  @Test
+  public void testDebounce() {
+    view.fire("View Team Details");
+    view.fire("View Team Details");
+    Assert.assertEquals(1, view.getCalls().size());
+    Assert.assertEquals(1, controller.getCoalescedCommands());
+
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    view.fire("View Team Details");
+    Assert.assertEquals(2, view.getCalls().size());
+    Assert.assertEquals(1, view.getTeamSize());
+
+    now = now.plusMillis(SwingTeamController.DEBOUNCE_WINDOW_MILLIS);
+    view.fire("View Team Details");
+    Assert.assertEquals(3, view.getCalls().size());
+
+    // another command in between ends the repetition
+    view.fire("Go Back");
+    view.fire("View Team Details");
+    Assert.assertEquals(5, view.getCalls().size());
+    Assert.assertEquals(1, controller.getCoalescedCommands());
+  }
+
+  /**
+   * Tests that commands changing the roster are never dropped.
+   */
+  @Test
+  public void testNoDebounceOfChanges() {
+    view.enterPlayerInfo("James", "Garcia", "2019", "5", "15", "Forward", "4");
+    view.fire("Submit");
+    view.enterPlayerInfo("Jane", "Gardner", "2019", "7", "1", "Defender", "3");
+    view.fire("Submit");
+    view.fire("Undo");
+    view.fire("Undo");
+    Assert.assertEquals(0, team.getTeamSize());
+    Assert.assertEquals(0, controller.getCoalescedCommands());
+  }
+
+  /**
+   * Tests that the execution time of every command that ran is recorded.
+   */
+  @Test
+  public void testCommandTimes() {
+    view.fire("Add New Player");
+    view.fire("Go Back");
+    view.fire("Add New Player");
+    view.fire("Unknown");
+    Map<String, LongSummaryStatistics> times = controller.getCommandTimes();
+    Assert.assertEquals(2, times.size());
+    Assert.assertEquals(2, times.get("Add New Player").getCount());
+    Assert.assertEquals(1, times.get("Go Back").getCount());
+    Assert.assertTrue(times.get("Add New Player").getMin() >= 0);
+  }
+}
@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the TeamHttpServer class.
+ */
+public class TeamHttpServerTest {
+
+  TeamModel team;
+  TeamHttpServer server;
+  HttpClient client;
+
+  /**
+   * Starts a server for an empty U10 team on a free port.
+   */
+  @Before
+  public void setUp() throws IOException {
+    team = new Team(Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC));
+    server = new TeamHttpServer(team, 0, 2, 16);
+    server.start();
+    client = HttpClient.newHttpClient();
+  }
+
+  /**
+   * Stops the server.
+   */
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  /**
+   * Sends a request and returns the response.
+   */
+  private HttpResponse<String> send(String method, String path, String body)
+      throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + server.getPort() + path))
+        .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(body))
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  /**
+   * Tests adding, looking up and removing a player.
+   */
+  @Test
+  public void testAddGetRemove() throws IOException, InterruptedException {
+    HttpResponse<String> added = send("POST", "/players", "firstName=Jos%C3%A9&lastName=O%22Neil"
+        + "&year=2019&month=5&day=15&position=forward&skilledLevel=4");
+    Assert.assertEquals(201, added.statusCode());
+    Assert.assertEquals("{\"teamSize\":1}", added.body());
+
+    int jerseyNumber = team.getPlayers().keySet().iterator().next();
+    HttpResponse<String> player = send("GET", "/players/" + jerseyNumber, null);
+    Assert.assertEquals(200, player.statusCode());
+    Assert.assertEquals("{\"jerseyNumber\":" + jerseyNumber + ",\"firstName\":\"Jos\u00e9\","
+        + "\"lastName\":\"O\\\"Neil\",\"dateOfBirth\":\"2019-05-15\","
+        + "\"preferredPosition\":\"FORWARD\",\"skilledLevel\":4}", player.body());
+
+    Assert.assertEquals(200, send("DELETE", "/players/" + jerseyNumber, null).statusCode());
+    Assert.assertEquals(404, send("GET", "/players/" + jerseyNumber, null).statusCode());
+    Assert.assertEquals("[]", send("GET", "/players", null).body());
+  }
+
+  /**
+   * Tests that invalid requests are answered with client errors.
+   */
+  @Test
+  public void testErrors() throws IOException, InterruptedException {
+    Assert.assertEquals(400, send("POST", "/players", "firstName=James").statusCode());
+    Assert.assertEquals(400, send("POST", "/players", "firstName=James&lastName=Garcia"
+        + "&year=2019&month=5&day=15&position=FORWARD&skilledLevel=9").statusCode());
+    Assert.assertEquals(400, send("GET", "/players/abc", null).statusCode());
+    Assert.assertEquals(409, send("DELETE", "/players/3", null).statusCode());
+    Assert.assertEquals(400, send("GET", "/lineup", null).statusCode());
+    Assert.assertEquals(404, send("GET", "/teams", null).statusCode());
+  }
+
+  /**
+   * Tests the lineup and the bench of a full team.
+   */
+  @Test
+  public void testLineupAndBench() throws IOException, InterruptedException {
+    for (int i = 0; i < 12; i++) {
+      team.addPlayer("First" + (char) ('A' + i), "Last", 2019, 1, 1 + i, "MIDFIELDER", 3);
+    }
+    String lineup = send("GET", "/lineup", null).body();
+    String bench = send("GET", "/bench", null).body();
+    Assert.assertEquals(7, lineup.split("\"position\"").length - 1);
+    Assert.assertEquals(5, bench.split("\"position\":\"BENCH\"").length - 1);
+  }
+
+  /**
+   * Tests that a request is answered at once with 503 while the worker thread is busy and
+   * the queue is full, and that the accepted requests are still answered.
+   */
+  @Test
+  public void testOverloaded() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    TeamModel slow = new Team() {
+      @Override
+      public Map<Integer, PlayerInterface> getPlayers() {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.getPlayers();
+      }
+    };
+    server.stop(0);
+    server = new TeamHttpServer(slow, 0, 1, 1);
+    server.start();
+    HttpRequest request = HttpRequest.newBuilder(
+        URI.create("http://localhost:" + server.getPort() + "/players")).build();
+    CompletableFuture<HttpResponse<String>> running =
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    CompletableFuture<HttpResponse<String>> waiting =
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    for (int i = 0; i < 500 && server.getWaitingRequests() == 0; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(1, server.getWaitingRequests());
+
+    try {
+      HttpResponse<String> rejected = send("GET", "/players", null);
+      Assert.assertEquals(503, rejected.statusCode());
+      Assert.assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+    } finally {
+      release.countDown();
+    }
+    Assert.assertEquals(200, running.get().statusCode());
+    Assert.assertEquals(200, waiting.get().statusCode());
+  }
+
+  /**
+   * Tests the quoting of JSON strings.
+   */
+  @Test
+  public void testQuote() {
+    Assert.assertEquals("\"a\\\\b\\n\\u0001\"", TeamHttpServer.quote("a\\b\n\u0001"));
+  }
+}
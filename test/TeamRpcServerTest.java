@@ -0,0 +1,217 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the TeamRpcServer and TeamRpcClient classes.
+ */
+public class TeamRpcServerTest {
+
+  TeamModel team;
+  TeamRpcServer server;
+  TeamRpcClient client;
+
+  /**
+   * Starts a server for an empty U10 team on a free local port and connects a client.
+   */
+  @Before
+  public void setUp() throws IOException {
+    team = new Team(Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC));
+    server = new TeamRpcServer(team, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    server.start();
+    client = new TeamRpcClient(server.getLocalAddress());
+  }
+
+  /**
+   * Closes the client and the server.
+   */
+  @After
+  public void tearDown() throws IOException {
+    client.close();
+    server.close();
+  }
+
+  /**
+   * Tests single requests.
+   */
+  @Test
+  public void testSingleRequests() throws IOException {
+    Assert.assertEquals(1, client.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4));
+    int jerseyNumber = team.getPlayers().keySet().iterator().next();
+
+    TeamRpcClient.PlayerData player = client.getPlayerByJerseyNumber(jerseyNumber);
+    Assert.assertEquals("James", player.getFirstName());
+    Assert.assertEquals("Garcia", player.getLastName());
+    Assert.assertEquals("2019-05-15", player.getDateOfBirth());
+    Assert.assertEquals(Position.FORWARD, player.getPreferredPosition());
+    Assert.assertEquals(4, player.getSkilledLevel());
+
+    Assert.assertEquals("Player with jersey number " + jerseyNumber + " has been removed.",
+        client.removePlayer(jerseyNumber));
+    Assert.assertNull(client.getPlayerByJerseyNumber(jerseyNumber));
+    Assert.assertEquals(0, client.getTeamSize());
+  }
+
+  /**
+   * Tests that the errors of the team are reported to the caller.
+   */
+  @Test
+  public void testErrors() throws IOException {
+    try {
+      client.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 9);
+      Assert.fail("The skill level is invalid.");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().length() > 0);
+    }
+    try {
+      client.removePlayer(3);
+      Assert.fail("The team is empty.");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Cannot remove player. The team is empty.", e.getMessage());
+    }
+    // the connection is still usable after errors
+    Assert.assertEquals(0, client.getTeamSize());
+  }
+
+  /**
+   * Tests a pipeline of many requests sent together.
+   */
+  @Test
+  public void testPipeline() throws IOException {
+    TeamRpcClient.Pipeline pipeline = client.pipeline();
+    for (int i = 0; i < 12; i++) {
+      pipeline.addPlayer("First" + (char) ('A' + i), "Last", 2019, 1, 1 + i, "MIDFIELDER", 3);
+    }
+    pipeline.addPlayer("Bad", "Skill", 2019, 1, 1, "MIDFIELDER", 0);
+    pipeline.computeStartingLineup().getTeamSize();
+
+    List<Object> results = pipeline.execute();
+    Assert.assertEquals(15, results.size());
+    Assert.assertEquals(12, results.get(11));
+    Assert.assertTrue(results.get(12) instanceof IllegalArgumentException);
+    LineupAssignment lineup = (LineupAssignment) results.get(13);
+    Assert.assertEquals(7, lineup.getStarters().size());
+    Assert.assertEquals(5, lineup.getBench().size());
+    Assert.assertEquals(12, results.get(14));
+
+    // a second pipeline on the same connection
+    Assert.assertEquals(12, client.pipeline().getTeamSize().execute().get(0));
+  }
+
+  /**
+   * Tests a pipeline whose requests and responses are far larger than the socket buffers,
+   * which the server only keeps reading while the client reads the responses.
+   */
+  @Test
+  public void testLargePipeline() throws IOException {
+    client.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    TeamRpcClient.Pipeline pipeline = client.pipeline();
+    for (int i = 0; i < 1_000_000; i++) {
+      pipeline.getTeamSize();
+    }
+    List<Object> results = pipeline.execute();
+    Assert.assertEquals(1_000_000, results.size());
+    for (Object result : results) {
+      Assert.assertEquals(1, result);
+    }
+    Assert.assertEquals(1, client.getTeamSize());
+  }
+
+  /**
+   * Tests the protocol over a Unix domain socket, and that its file is deleted on close.
+   */
+  @Test
+  public void testUnixDomainSocket() throws IOException {
+    Path directory = Files.createTempDirectory("team-rpc");
+    Path socket = directory.resolve("team.sock");
+    try {
+      TeamRpcServer unixServer = new TeamRpcServer(team, UnixDomainSocketAddress.of(socket));
+      try {
+        unixServer.start();
+        try (TeamRpcClient unixClient = new TeamRpcClient(unixServer.getLocalAddress())) {
+          Assert.assertEquals(1,
+              unixClient.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4));
+        }
+        Assert.assertTrue(Files.exists(socket));
+      } finally {
+        unixServer.close();
+      }
+      // closing the server deletes the file of the socket
+      Assert.assertFalse(Files.exists(socket));
+    } finally {
+      Files.deleteIfExists(socket);
+      Files.delete(directory);
+    }
+  }
+
+  /**
+   * Tests that the server stops reading from a client that does not read its responses,
+   * and serves the held requests in order once the client reads them.
+   */
+  @Test
+  public void testSlowReader() throws IOException, InterruptedException {
+    final int batch = 4096;
+    final int requestLength = 9; // length, request id, operation
+    final int responseLength = 13; // length, request id, status, team size
+    final long maxRequests = (16L << 20) / requestLength;
+    ByteBuffer requests = ByteBuffer.allocate(batch * requestLength);
+    ByteBuffer responses = ByteBuffer.allocate(batch * responseLength);
+    try (SocketChannel channel = SocketChannel.open()) {
+      // small buffers on the client keep the bytes in flight in the kernel small
+      channel.setOption(StandardSocketOptions.SO_RCVBUF, 8192);
+      channel.setOption(StandardSocketOptions.SO_SNDBUF, 8192);
+      channel.connect(server.getLocalAddress());
+      channel.configureBlocking(false);
+      long sent = 0;
+      requests.flip();
+      for (int idle = 0; idle < 50 && sent < maxRequests; ) {
+        if (!requests.hasRemaining()) {
+          requests.clear();
+          for (int i = 0; i < batch; i++) {
+            requests.putInt(requestLength - 4).putInt((int) sent + i)
+                .put(TeamRpcProtocol.GET_TEAM_SIZE);
+          }
+          requests.flip();
+          sent += batch;
+        }
+        if (channel.write(requests) == 0) {
+          idle++;
+          Thread.sleep(10);
+        } else {
+          idle = 0;
+        }
+      }
+      // the server stopped reading long before the client could send everything
+      Assert.assertTrue(sent < maxRequests);
+
+      long received = 0;
+      while (received < sent) {
+        channel.write(requests);
+        channel.read(responses);
+        responses.flip();
+        while (responses.remaining() >= responseLength) {
+          Assert.assertEquals(responseLength - 4, responses.getInt());
+          Assert.assertEquals((int) received, responses.getInt());
+          Assert.assertEquals(TeamRpcProtocol.OK, responses.get());
+          Assert.assertEquals(0, responses.getInt());
+          received++;
+        }
+        responses.compact();
+      }
+    }
+  }
+}
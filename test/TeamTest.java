@@ -1,4 +1,12 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
@@ -9,6 +17,10 @@ import org.junit.Test;
  */
 public class TeamTest {
 
+  // the date on which the birth years of addTenPlayers() are all under ten
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2023-10-01T12:00:00Z"), ZoneOffset.UTC);
+
   TeamModel team, team2;
   /**
    * Set up some objects of type Team.
@@ -304,4 +316,419 @@ public class TeamTest {
 
 
 
+  /**
+   * Tests that computing the starting lineup does not change the actualPosition of any player,
+   * and that the bench is derived from the lineup without a previous lineup call.
+   */
+  @Test
+  public void testComputeStartingLineupHasNoSideEffects() {
+    team = new Team(CLOCK);
+    addTenPlayers();
+    PlayerInterface goalie = team.getPlayerByJerseyNumber(
+        team.computeStartingLineup().getStarters().get(0));
+    goalie.setActualPosition(Position.FORWARD);
+
+    LineupAssignment lineup = team.computeStartingLineup();
+    Assert.assertEquals(7, lineup.getStarters().size());
+    Assert.assertEquals(3, lineup.getBench().size());
+    Assert.assertEquals(Position.FORWARD, goalie.getActualPosition());
+    Assert.assertEquals(3, team.getBenchPlayers().split("\n").length);
+  }
+
+  /**
+   * Tests that committing a lineup sets the actualPosition of every player.
+   */
+  @Test
+  public void testCommitLineup() {
+    team = new Team(CLOCK);
+    addTenPlayers();
+    LineupAssignment lineup = team.computeStartingLineup();
+    team.commitLineup(lineup);
+    for (int jerseyNumber : lineup.asMap().keySet()) {
+      Assert.assertEquals(lineup.getPosition(jerseyNumber),
+          team.getPlayerByJerseyNumber(jerseyNumber).getActualPosition());
+    }
+  }
+
+  /**
+   * Tests that players are removed once they turn ten, relative to the reference date.
+   */
+  @Test
+  public void testRevalidateEligibility() {
+    Clock clock = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+    TeamModel team3 = new Team(clock);
+    team3.addPlayer("James", "Garcia", 2015, 1, 10, "FORWARD", 4);
+    team3.addPlayer("Kelvin", "Taylor", 2015, 3, 1, "DEFENDER", 3);
+    team3.addPlayer("Maria", "Johnson", 2017, 12, 10, "MIDFIELDER", 1);
+
+    Assert.assertTrue(team3.revalidateEligibility().isEmpty());
+    Assert.assertTrue(team3.revalidateEligibility(LocalDate.of(2025, 1, 9)).isEmpty());
+
+    Map<Integer, PlayerInterface> removed = team3.revalidateEligibility(LocalDate.of(2025, 1, 10));
+    Assert.assertEquals(1, removed.size());
+    Assert.assertEquals("James", removed.values().iterator().next().getFirstName());
+    Assert.assertEquals(2, team3.getTeamSize());
+
+    removed = team3.revalidateEligibility(LocalDate.of(2026, 1, 1));
+    Assert.assertEquals(1, removed.size());
+    Assert.assertEquals(1, team3.getTeamSize());
+  }
+
+  /**
+   * Tests that a child born on February 29 stays in the team until the age computed by Player
+   * reaches ten, which is on March 1 in a year that is not a leap year.
+   */
+  @Test
+  public void testRevalidateEligibilityLeapDay() {
+    Clock clock = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+    TeamModel team3 = new Team(clock);
+    team3.addPlayer("James", "Garcia", 2016, 2, 29, "FORWARD", 4);
+
+    Assert.assertTrue(team3.revalidateEligibility(LocalDate.of(2026, 2, 28)).isEmpty());
+    // Player still accepts the child on February 28, so the team must keep it too
+    new Player("James", "Garcia", 2016, 2, 29, Position.FORWARD, 4,
+        Clock.fixed(Instant.parse("2026-02-28T12:00:00Z"), ZoneOffset.UTC));
+    Assert.assertEquals(1, team3.revalidateEligibility(LocalDate.of(2026, 3, 1)).size());
+  }
+
+  /**
+   * Tests that the age of a new player is checked against the clock of the team.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddPlayerTooOldForClock() {
+    Clock clock = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+    new Team(clock).addPlayer("James", "Garcia", 2015, 1, 10, "FORWARD", 4);
+  }
+
+  /**
+   * Tests that the roster is listed by last name, then first name, after adds and removes.
+   */
+  @Test
+  public void testPlayersListedInNameOrder() {
+    team.addPlayer("Zoe", "Brown", 2019, 5, 15, "FORWARD", 4);
+    team.addPlayer("Adam", "Brown", 2019, 7, 1, "DEFENDER", 3);
+    team.addPlayer("Maria", "Adams", 2019, 12, 10, "MIDFIELDER", 1);
+    team.addPlayer("Carl", "Young", 2019, 2, 10, "GOALIE", 2);
+    team.removePlayer(team.getJerseyNumberByPlayer(findPlayer("Carl")));
+
+    String[] lines = team.getAllPlayersInTheTeam().split("\n");
+    Assert.assertEquals(3, lines.length);
+    Assert.assertTrue(lines[0].startsWith("Maria, Adams"));
+    Assert.assertTrue(lines[1].startsWith("Adam, Brown"));
+    Assert.assertTrue(lines[2].startsWith("Zoe, Brown"));
+  }
+
+  /**
+   * Returns the player of the team with the given first name.
+   */
+  private PlayerInterface findPlayer(String firstName) {
+    for (PlayerInterface player : team.getPlayers().values()) {
+      if (player.getFirstName().equals(firstName)) {
+        return player;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Tests the type-ahead search by first, last and full name.
+   */
+  @Test
+  public void testFindPlayersByNamePrefix() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    team.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+    team.addPlayer("Maria", "Jansen", 2019, 12, 10, "MIDFIELDER", 1);
+
+    Map<Integer, String> matches = team.findPlayersByNamePrefix("ja", 10);
+    Assert.assertEquals(3, matches.size());
+    Assert.assertEquals("James Garcia", matches.values().iterator().next());
+    Assert.assertEquals(1, team.findPlayersByNamePrefix("james g", 10).size());
+    Assert.assertEquals(2, team.findPlayersByNamePrefix("GAR", 10).size());
+    Assert.assertEquals(1, team.findPlayersByNamePrefix("ja", 1).size());
+
+    team.removePlayer(team.getJerseyNumberByPlayer(findPlayer("Jane")));
+    Assert.assertEquals(1, team.findPlayersByNamePrefix("gar", 10).size());
+  }
+
+  /**
+   * Tests that the same child cannot be added twice under different jersey numbers.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddDuplicatePlayer() {
+    team.addPlayer("Kelvin", "Taylor", 2019, 7, 1, "DEFENDER", 3);
+    team.addPlayer("kelvin", " Taylor", 2019, 7, 1, "FORWARD", 4);
+  }
+
+  /**
+   * Tests that a removal can be undone and redone, restoring the indexes of the team.
+   */
+  @Test
+  public void testUndoRedo() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    team.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+    int jerseyNumber = team.getJerseyNumberByPlayer(findPlayer("Jane"));
+    long versionWithJane = team.getSnapshot().getVersion();
+
+    team.removePlayer(jerseyNumber);
+    Assert.assertEquals(1, team.getTeamSize());
+    Assert.assertTrue(team.undo());
+    Assert.assertEquals(2, team.getTeamSize());
+    Assert.assertEquals("Jane", team.getPlayerByJerseyNumber(jerseyNumber).getFirstName());
+    Assert.assertEquals(1, team.findPlayersByNamePrefix("gardner", 10).size());
+    Assert.assertEquals(versionWithJane, team.getSnapshot().getVersion());
+
+    Assert.assertTrue(team.redo());
+    Assert.assertNull(team.getPlayerByJerseyNumber(jerseyNumber));
+    Assert.assertFalse(team.redo());
+    Assert.assertEquals(0, team.findPlayersByNamePrefix("gardner", 10).size());
+
+    // a new change after an undo discards the change that could have been redone
+    Assert.assertTrue(team.undo());
+    team.addPlayer("Maria", "Jansen", 2019, 12, 10, "MIDFIELDER", 1);
+    Assert.assertFalse(team.redo());
+    Assert.assertEquals(3, team.getTeamSize());
+  }
+
+  /**
+   * Tests that past versions of the roster can be looked up and do not change afterwards.
+   */
+  @Test
+  public void testSnapshots() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    RosterSnapshot first = team.getSnapshot();
+    Map<Integer, PlayerInterface> players = team.getPlayers();
+    team.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+
+    Assert.assertEquals(1, first.getTeamSize());
+    Assert.assertEquals(1, players.size());
+    Assert.assertSame(first, team.getSnapshot(first.getVersion()));
+    Assert.assertEquals(2, team.getSnapshot().getTeamSize());
+    Assert.assertEquals(0, team.getSnapshot(0).getTeamSize());
+    Assert.assertFalse(team.getSnapshot().getVersion() == first.getVersion());
+  }
+
+  /**
+   * Tests that a version that does not exist cannot be looked up.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingSnapshot() {
+    team.getSnapshot(42);
+  }
+
+  /**
+   * Tests that a team with a limited history drops its oldest versions,
+   * and can undo only back to the oldest version it kept.
+   */
+  @Test
+  public void testMaxHistory() {
+    Team limited = new Team(CLOCK);
+    limited.setMaxHistory(3);
+    limited.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    limited.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+    limited.addPlayer("Maria", "Jansen", 2019, 12, 10, "MIDFIELDER", 1);
+    long current = limited.getSnapshot().getVersion();
+    Assert.assertEquals(1, limited.getSnapshot(current - 2).getTeamSize());
+    try {
+      limited.getSnapshot(0);
+      Assert.fail("The empty roster has been dropped.");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(3, limited.getTeamSize());
+    }
+
+    Assert.assertTrue(limited.undo());
+    Assert.assertTrue(limited.undo());
+    Assert.assertFalse(limited.undo());
+    Assert.assertEquals(1, limited.getTeamSize());
+    Assert.assertTrue(limited.redo());
+    Assert.assertEquals(2, limited.getTeamSize());
+
+    // a lower limit drops the versions before the current one at once
+    limited.setMaxHistory(1);
+    Assert.assertFalse(limited.undo());
+    Assert.assertTrue(limited.redo());
+    Assert.assertEquals(current, limited.getSnapshot().getVersion());
+  }
+
+  /**
+   * Tests that at least one version of the roster must be kept.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testNoHistory() {
+    new Team(CLOCK).setMaxHistory(0);
+  }
+
+  /**
+   * Tests that a reader on another thread only sees complete versions of the roster,
+   * never an eviction that is half undone or redone.
+   */
+  @Test
+  public void testReadersSeeCompleteVersions() throws InterruptedException {
+    Team full = new Team(CLOCK);
+    for (int i = 0; i < 20; i++) {
+      full.addPlayer("First" + (char) ('A' + i), "Last", 2016, 1 + i % 12, 1 + i, "FORWARD", 3);
+    }
+    // the new player evicts one of the others, which undo and redo take back and do again
+    full.addPlayer("Maria", "Jansen", 2016, 12, 10, "MIDFIELDER", 5);
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 2000; i++) {
+        full.undo();
+        full.redo();
+      }
+    });
+    writer.start();
+    int reads = 0;
+    while (writer.isAlive() || reads == 0) {
+      Assert.assertEquals(20, full.getAllPlayersInTheTeam().split("\n").length);
+      reads++;
+    }
+    writer.join();
+  }
+
+  /**
+   * Tests the net changes between two versions, in both directions.
+   */
+  @Test
+  public void testDiff() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    team.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+    long start = team.getSnapshot().getVersion();
+
+    int jane = team.getJerseyNumberByPlayer(findPlayer("Jane"));
+    team.removePlayer(jane);
+    // a player who joins and leaves again in between is not a change
+    team.addPlayer("Maria", "Jansen", 2019, 12, 10, "MIDFIELDER", 1);
+    team.removePlayer(team.getJerseyNumberByPlayer(findPlayer("Maria")));
+    int james = team.getJerseyNumberByPlayer(findPlayer("James"));
+    team.commitLineup(new LineupAssignment(Collections.singletonMap(james, Position.FORWARD)));
+    long end = team.getSnapshot().getVersion();
+
+    List<RosterChange> changes = team.diff(start, end);
+    Assert.assertEquals(2, changes.size());
+    for (RosterChange change : changes) {
+      if (change.getJerseyNumber() == jane) {
+        Assert.assertEquals(RosterChange.Type.REMOVED, change.getType());
+      } else {
+        Assert.assertEquals(RosterChange.Type.POSITION_CHANGED, change.getType());
+        Assert.assertEquals(Position.BENCH, change.getPreviousPosition());
+        Assert.assertEquals(Position.FORWARD, change.getPosition());
+      }
+    }
+
+    // the same child coming back is either no change or a change of jersey number
+    team.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+    for (RosterChange change : team.diff(start, team.getSnapshot().getVersion())) {
+      Assert.assertNotEquals(RosterChange.Type.ADDED, change.getType());
+      Assert.assertNotEquals(RosterChange.Type.REMOVED, change.getType());
+    }
+
+    List<RosterChange> back = team.diff(end, 0);
+    Assert.assertEquals(1, back.size());
+    Assert.assertEquals(RosterChange.Type.REMOVED, back.get(0).getType());
+    Assert.assertEquals(james, back.get(0).getJerseyNumber());
+    Assert.assertTrue(team.diff(end, end).isEmpty());
+  }
+
+  /**
+   * Tests that undoing a committed lineup restores the previous positions, and that the
+   * versions before the commit keep the previous positions.
+   */
+  @Test
+  public void testUndoCommitLineup() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    PlayerInterface james = findPlayer("James");
+    int jerseyNumber = team.getJerseyNumberByPlayer(james);
+    long before = team.getSnapshot().getVersion();
+    team.commitLineup(new LineupAssignment(
+        Collections.singletonMap(jerseyNumber, Position.FORWARD)));
+    long after = team.getSnapshot().getVersion();
+    Assert.assertEquals(Position.FORWARD,
+        team.getPlayerByJerseyNumber(jerseyNumber).getActualPosition());
+    Assert.assertEquals(Position.BENCH, james.getActualPosition());
+    Assert.assertEquals(Position.BENCH,
+        team.getSnapshot(before).getPlayers().get(jerseyNumber).getActualPosition());
+
+    Assert.assertTrue(team.undo());
+    Assert.assertEquals(Position.BENCH,
+        team.getPlayerByJerseyNumber(jerseyNumber).getActualPosition());
+    Assert.assertEquals(Position.FORWARD,
+        team.getSnapshot(after).getPlayers().get(jerseyNumber).getActualPosition());
+    Assert.assertEquals(1, team.getTeamSize());
+
+    Assert.assertTrue(team.redo());
+    Assert.assertEquals(Position.FORWARD,
+        team.getPlayerByJerseyNumber(jerseyNumber).getActualPosition());
+  }
+
+  /**
+   * Tests that a batch of skill levels is one change of the roster, which can be undone
+   * and shows up in the diff.
+   */
+  @Test
+  public void testUpdateSkilledLevels() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    team.addPlayer("Jane", "Gardner", 2019, 7, 1, "DEFENDER", 3);
+    int james = team.getJerseyNumberByPlayer(findPlayer("James"));
+    int jane = team.getJerseyNumberByPlayer(findPlayer("Jane"));
+    long start = team.getSnapshot().getVersion();
+
+    Map<Integer, Integer> levels = new HashMap<>();
+    levels.put(james, 5);
+    levels.put(jane, 3);
+    Assert.assertEquals(1, team.updateSkilledLevels(levels));
+    Assert.assertEquals(5, team.getPlayerByJerseyNumber(james).getSkilledLevel());
+    List<RosterChange> changes = team.diff(start, team.getSnapshot().getVersion());
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(RosterChange.Type.SKILL_CHANGED, changes.get(0).getType());
+    Assert.assertEquals(4, changes.get(0).getPreviousSkilledLevel());
+    Assert.assertEquals(5, changes.get(0).getSkilledLevel());
+
+    Assert.assertTrue(team.undo());
+    Assert.assertEquals(4, team.getPlayerByJerseyNumber(james).getSkilledLevel());
+    Assert.assertEquals(start, team.getSnapshot().getVersion());
+  }
+
+  /**
+   * Tests that new skill levels leave the players of older versions unchanged,
+   * and that undo and redo swap the players rather than change them.
+   */
+  @Test
+  public void testUpdateSkilledLevelsKeepsHistory() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    int james = team.getJerseyNumberByPlayer(findPlayer("James"));
+    PlayerInterface before = team.getPlayerByJerseyNumber(james);
+    long start = team.getSnapshot().getVersion();
+
+    team.updateSkilledLevels(Collections.singletonMap(james, 2));
+    long end = team.getSnapshot().getVersion();
+    PlayerInterface after = team.getPlayerByJerseyNumber(james);
+    Assert.assertFalse(before == after);
+    Assert.assertEquals(2, after.getSkilledLevel());
+    Assert.assertEquals(4, before.getSkilledLevel());
+    Assert.assertEquals(4, team.getSnapshot(start).getPlayers().get(james).getSkilledLevel());
+
+    Assert.assertTrue(team.undo());
+    Assert.assertSame(before, team.getPlayerByJerseyNumber(james));
+    Assert.assertEquals(2, team.getSnapshot(end).getPlayers().get(james).getSkilledLevel());
+    Assert.assertTrue(team.redo());
+    Assert.assertSame(after, team.getPlayerByJerseyNumber(james));
+    Assert.assertEquals(4, team.getSnapshot(start).getPlayers().get(james).getSkilledLevel());
+  }
+
+  /**
+   * Tests that a batch with an invalid skill level changes nothing.
+   */
+  @Test
+  public void testUpdateInvalidSkilledLevel() {
+    team.addPlayer("James", "Garcia", 2019, 5, 15, "FORWARD", 4);
+    int james = team.getJerseyNumberByPlayer(findPlayer("James"));
+    Map<Integer, Integer> levels = new HashMap<>();
+    levels.put(james, 6);
+    try {
+      team.updateSkilledLevels(levels);
+      Assert.fail("The skill level is invalid.");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(4, team.getPlayerByJerseyNumber(james).getSkilledLevel());
+    }
+  }
+
 }